@@ -3,6 +3,8 @@ package me.sunmc.dodgeball;
 import me.sunmc.dodgeball.api.DodgeBallAPI;
 import me.sunmc.dodgeball.api.DodgeBallAPIImpl;
 import me.sunmc.dodgeball.component.ArenaManager;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.PowerUpManager;
 import me.sunmc.tools.Tools;
 import me.sunmc.tools.configuration.LoadConfigurations;
 import org.jetbrains.annotations.NotNull;
@@ -73,6 +75,8 @@ public class DodgeBall extends Tools {
     public void onReload() {
         super.onReload();
 
+        getComponent(MessageManager.class).reload();
+        getComponent(PowerUpManager.class).reload();
         getComponent(ArenaManager.class).reloadArenas();
 
         getLogger().info("DodgeBall configuration reloaded!");
@@ -200,6 +200,14 @@ public interface DodgeBallAPI {
      */
     boolean switchTeam(@NonNull Player player, @NonNull Team team);
 
+    /**
+     * Puts a player in a party; party members are always placed on the same team
+     *
+     * @param player  Player to update
+     * @param partyId Identifier shared by all party members, or null to play alone
+     */
+    void setParty(@NonNull Player player, @Nullable UUID partyId);
+
 
     /**
      * Gets player statistics
@@ -6,6 +6,7 @@ import me.sunmc.dodgeball.arena.ArenaState;
 import me.sunmc.dodgeball.component.ArenaManager;
 import me.sunmc.dodgeball.component.GameManager;
 import me.sunmc.dodgeball.component.PlayerManager;
+import me.sunmc.dodgeball.component.StatsManager;
 import me.sunmc.dodgeball.game.PlayMode;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
 import me.sunmc.dodgeball.stats.PlayerStats;
@@ -17,7 +18,6 @@ import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -192,21 +192,14 @@ public class DodgeBallAPIImpl implements DodgeBallAPI {
 
     @Override
     public boolean switchTeam(@NonNull Player player, @NonNull Team team) {
-        return getPlayerArena(player).map(arena -> {
-            DodgeBallPlayer dbPlayer = getDodgeBallPlayer(player);
-
-            // Remove from old team
-            Team oldTeam = dbPlayer.getTeam();
-            if (oldTeam != null) {
-                arena.getTeamPlayers(oldTeam).remove(dbPlayer);
-            }
-
-            // Add to new team
-            dbPlayer.setTeam(team);
-            arena.getTeamPlayers(team).add(dbPlayer);
+        return getPlayerArena(player)
+                .map(arena -> arena.setPlayerTeam(getDodgeBallPlayer(player), team))
+                .orElse(false);
+    }
 
-            return true;
-        }).orElse(false);
+    @Override
+    public void setParty(@NonNull Player player, @Nullable UUID partyId) {
+        getDodgeBallPlayer(player).setPartyId(partyId);
     }
 
     @Override
@@ -224,30 +217,7 @@ public class DodgeBallAPIImpl implements DodgeBallAPI {
             int limit
     ) {
         return CompletableFuture.supplyAsync(() -> {
-            File playerDataDir = new File(plugin.getDataFolder(), "playerdata");
-            if (!playerDataDir.exists()) {
-                return List.of();
-            }
-
-            File[] files = playerDataDir.listFiles((dir, name) -> name.endsWith(".yml"));
-            if (files == null) {
-                return List.of();
-            }
-
-            List<PlayerStats> allStats = new ArrayList<>();
-
-            for (File file : files) {
-                try {
-                    String uuidStr = file.getName().replace(".yml", "");
-                    UUID uuid = UUID.fromString(uuidStr);
-
-                    PlayerStats stats = new PlayerStats(uuid, plugin);
-                    stats.load();
-                    allStats.add(stats);
-                } catch (Exception e) {
-                    // Skip invalid files
-                }
-            }
+            List<PlayerStats> allStats = plugin.getComponent(StatsManager.class).getAllStats();
 
             // Sort by stat type
             Comparator<PlayerStats> comparator = switch (statType.toUpperCase()) {
@@ -258,6 +228,8 @@ public class DodgeBallAPIImpl implements DodgeBallAPI {
                 case "LOSSES" -> Comparator.comparingInt(PlayerStats::getLosses).reversed();
                 case "KD" -> Comparator.comparingDouble(PlayerStats::getKDRatio).reversed();
                 case "WINRATE" -> Comparator.comparingDouble(PlayerStats::getWinRate).reversed();
+                case "RATING" -> Comparator.comparingDouble(
+                        (PlayerStats stats) -> stats.getRating().getConservativeRating()).reversed();
                 default -> Comparator.comparingInt(PlayerStats::getGamesPlayed).reversed();
             };
 
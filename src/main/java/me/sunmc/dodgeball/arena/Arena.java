@@ -2,33 +2,49 @@ package me.sunmc.dodgeball.arena;
 
 import me.sunmc.dodgeball.game.Game;
 import me.sunmc.dodgeball.game.PlayMode;
+import me.sunmc.dodgeball.jfr.ArenaStateTransitionEvent;
+import me.sunmc.dodgeball.matchmaking.SkillRating;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
 import me.sunmc.dodgeball.team.Team;
+import me.sunmc.dodgeball.team.TeamBalancer;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Complete Arena Implementation - NO TODOs
  */
 public class Arena {
 
+    /**
+     * Every location an arena can have
+     */
+    public static final @NonNull List<String> LOCATION_TYPES = List.of("LOBBY", "CENTER", "TEAM1_SPAWN",
+            "TEAM2_SPAWN", "TEAM1_FLAG", "TEAM2_FLAG", "SPECTATOR", "MIN_BOUND", "MAX_BOUND");
+
+    private static final String[] ANCHOR_LOCATIONS = {"CENTER", "TEAM1_SPAWN", "TEAM2_SPAWN", "LOBBY"};
+    private static final @NonNull List<String> REQUIRED_LOCATIONS = List.of("LOBBY", "CENTER", "TEAM1_SPAWN",
+            "TEAM2_SPAWN", "MIN_BOUND", "MAX_BOUND");
+
     private final @NonNull String arenaId;
     private final @NonNull String displayName;
     private final int minPlayers;
     private final int maxPlayers;
     private final @NonNull PlayMode gameMode;
     private final @NonNull Map<String, Location> locations;
-    private final @NonNull List<DodgeBallPlayer> players;
-    private final @NonNull Map<Team, List<DodgeBallPlayer>> teams;
+    private final @NonNull ArenaRoster roster;
+    private final @NonNull ArenaAudience audience;
+    private final @NonNull ArenaTicker ticker;
+    private final @NonNull ArenaSpectators spectators;
     private final @NonNull ArenaSettings settings;
     private final @NonNull Object stateLock = new Object();
     private @NonNull ArenaState state;
@@ -49,13 +65,11 @@ public class Arena {
 
         this.state = ArenaState.WAITING;
         this.locations = new ConcurrentHashMap<>();
-        this.players = new CopyOnWriteArrayList<>();
-        this.teams = new ConcurrentHashMap<>();
+        this.roster = new ArenaRoster(this::onTeamEliminated);
+        this.audience = new ArenaAudience(this);
+        this.ticker = new ArenaTicker(this);
+        this.spectators = new ArenaSpectators(this);
         this.settings = new ArenaSettings();
-
-        teams.put(Team.RED, new CopyOnWriteArrayList<>());
-        teams.put(Team.BLUE, new CopyOnWriteArrayList<>());
-        teams.put(Team.SPECTATOR, new CopyOnWriteArrayList<>());
     }
 
     /**
@@ -63,7 +77,7 @@ public class Arena {
      */
     public boolean addPlayer(@NonNull DodgeBallPlayer player) {
         synchronized (stateLock) {
-            if (players.size() >= maxPlayers) {
+            if (roster.size() >= maxPlayers) {
                 return false;
             }
 
@@ -71,19 +85,17 @@ public class Arena {
                 return false;
             }
 
-            if (players.contains(player)) {
+            if (!roster.add(player, pickTeam(player))) {
                 return false;
             }
-
-            players.add(player);
-            balanceTeams();
+            player.setArena(this);
 
             // Broadcast join
-            broadcast(Component.text("§e" + player.getPlayer().getName() +
-                    " §7joined! §f(" + players.size() + "/" + maxPlayers + ")"));
+            broadcast("player-join-broadcast", "player", player.getPlayer().getName(),
+                    "current", roster.size(), "max", maxPlayers);
 
             // Check auto-start
-            if (players.size() >= minPlayers && state == ArenaState.WAITING) {
+            if (roster.size() >= minPlayers && state == ArenaState.WAITING) {
                 setState(ArenaState.STARTING);
             }
 
@@ -96,47 +108,65 @@ public class Arena {
      */
     public void removePlayer(@NonNull DodgeBallPlayer player) {
         synchronized (stateLock) {
-            players.remove(player);
-
-            for (List<DodgeBallPlayer> teamPlayers : teams.values()) {
-                teamPlayers.remove(player);
-            }
+            // Ends the game if this was the last alive player of a team
+            roster.remove(player);
+            player.setArena(null);
 
             // Broadcast leave
-            broadcast(Component.text("§e" + player.getPlayer().getName() +
-                    " §7left! §f(" + players.size() + "/" + maxPlayers + ")"));
-
-            // Check if game should end
-            if (state == ArenaState.IN_GAME) {
-                checkGameEnd();
-            }
+            broadcast("player-leave-broadcast", "player", player.getPlayer().getName(),
+                    "current", roster.size(), "max", maxPlayers);
 
             // Reset to waiting if not enough players
-            if (players.size() < minPlayers && state == ArenaState.STARTING) {
+            if (roster.size() < minPlayers && state == ArenaState.STARTING) {
                 setState(ArenaState.WAITING);
             }
         }
     }
 
     /**
-     * Balances teams evenly
+     * Picks the team of a joining player's party, or the smaller (then weaker) team
      */
-    private void balanceTeams() {
-        List<DodgeBallPlayer> redTeam = teams.get(Team.RED);
-        List<DodgeBallPlayer> blueTeam = teams.get(Team.BLUE);
-
-        redTeam.clear();
-        blueTeam.clear();
-
-        for (int i = 0; i < players.size(); i++) {
-            if (i % 2 == 0) {
-                redTeam.add(players.get(i));
-                players.get(i).setTeam(Team.RED);
-            } else {
-                blueTeam.add(players.get(i));
-                players.get(i).setTeam(Team.BLUE);
+    private @NonNull Team pickTeam(@NonNull DodgeBallPlayer player) {
+        ArenaRoster.Snapshot current = roster.getSnapshot();
+
+        UUID partyId = player.getPartyId();
+        if (partyId != null) {
+            for (Team team : List.of(Team.RED, Team.BLUE)) {
+                for (DodgeBallPlayer other : current.getTeam(team)) {
+                    if (partyId.equals(other.getPartyId())) {
+                        return team;
+                    }
+                }
             }
         }
+
+        List<DodgeBallPlayer> red = current.getTeam(Team.RED);
+        List<DodgeBallPlayer> blue = current.getTeam(Team.BLUE);
+        if (red.size() != blue.size()) {
+            return red.size() < blue.size() ? Team.RED : Team.BLUE;
+        }
+        return totalRating(red) <= totalRating(blue) ? Team.RED : Team.BLUE;
+    }
+
+    /**
+     * Splits all players into skill-balanced teams, keeping parties together
+     */
+    private void balanceTeams() {
+        TeamBalancer.Split<DodgeBallPlayer> split = TeamBalancer.split(roster.getSnapshot().getPlayers(),
+                player -> SkillRating.estimate(player.getStats()), DodgeBallPlayer::getPartyId);
+
+        Map<DodgeBallPlayer, Team> assignments = new HashMap<>();
+        split.getFirst().forEach(player -> assignments.put(player, Team.RED));
+        split.getSecond().forEach(player -> assignments.put(player, Team.BLUE));
+        roster.setTeams(assignments);
+    }
+
+    private double totalRating(@NonNull List<DodgeBallPlayer> team) {
+        double total = 0;
+        for (DodgeBallPlayer player : team) {
+            total += SkillRating.estimate(player.getStats());
+        }
+        return total;
     }
 
     /**
@@ -163,56 +193,70 @@ public class Arena {
     }
 
     private void resetArena() {
-        players.forEach(DodgeBallPlayer::reset);
+        roster.getSnapshot().getPlayers().forEach(DodgeBallPlayer::reset);
         currentGame = null;
         setState(ArenaState.WAITING);
     }
 
     /**
-     * Checks if game should end
+     * Called by the roster when the last alive player of a team was hit or left
      */
-    private void checkGameEnd() {
-        if (state != ArenaState.IN_GAME) {
-            return;
-        }
-
-        List<DodgeBallPlayer> redAlive = getAlivePlayers(Team.RED);
-        List<DodgeBallPlayer> blueAlive = getAlivePlayers(Team.BLUE);
-
-        if (redAlive.isEmpty() && !blueAlive.isEmpty()) {
-            winGame(Team.BLUE);
-        } else if (blueAlive.isEmpty() && !redAlive.isEmpty()) {
-            winGame(Team.RED);
-        } else if (redAlive.isEmpty() && blueAlive.isEmpty()) {
-            // Draw
-            if (currentGame != null) {
-                currentGame.setWinner(null);
-            }
-            setState(ArenaState.ENDING);
+    private void onTeamEliminated(@NonNull Team team) {
+        Game game = currentGame;
+        if (team != Team.SPECTATOR && game != null && getState() == ArenaState.IN_GAME) {
+            game.onTeamEliminated(team);
         }
     }
 
-    private void winGame(@NonNull Team winningTeam) {
-        if (currentGame != null) {
-            currentGame.setWinner(winningTeam);
-        }
-        setState(ArenaState.ENDING);
+    /**
+     * Updates the alive counters; called by the player whenever its alive flag flips
+     */
+    public void onAliveChanged(@NonNull DodgeBallPlayer player, boolean alive) {
+        roster.onAliveChanged(player, alive);
     }
 
     /**
-     * Gets alive players on team
+     * Gets the number of alive players on a team in O(1)
      */
-    private @NonNull List<DodgeBallPlayer> getAlivePlayers(@NonNull Team team) {
-        return teams.get(team).stream()
-                .filter(DodgeBallPlayer::isAlive)
-                .toList();
+    public int getAliveCount(@NonNull Team team) {
+        return roster.getAliveCount(team);
     }
 
     /**
-     * Broadcasts message to all players
+     * Broadcasts message to all players, serialized once per client version
      */
     public void broadcast(@NonNull Component message) {
-        players.forEach(p -> p.getPlayer().sendMessage(message));
+        audience.sendMessage(message);
+    }
+
+    /**
+     * Broadcasts a message from messages.yml, rendered once per language in use
+     *
+     * @param args Placeholder names and values, alternating
+     */
+    public void broadcast(@NonNull String key, @NonNull Object @NonNull ... args) {
+        audience.sendMessage(key, args);
+    }
+
+    /**
+     * Gets everyone in the arena as one audience
+     */
+    public @NonNull ArenaAudience getAudience() {
+        return audience;
+    }
+
+    /**
+     * Gets the tick context of the arena's balls
+     */
+    public @NonNull ArenaTicker getTicker() {
+        return ticker;
+    }
+
+    /**
+     * Gets eliminated players and outside watchers following the arena
+     */
+    public @NonNull ArenaSpectators getSpectators() {
+        return spectators;
     }
 
     /**
@@ -230,6 +274,41 @@ public class Arena {
         return loc != null ? loc.clone() : null;
     }
 
+    /**
+     * Gets the spawn of a team: TEAM1_SPAWN for red, TEAM2_SPAWN for blue
+     */
+    public @Nullable Location getTeamSpawn(@NonNull Team team) {
+        return switch (team) {
+            case RED -> getLocation("TEAM1_SPAWN");
+            case BLUE -> getLocation("TEAM2_SPAWN");
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the flag base of a team: TEAM1_FLAG for red, TEAM2_FLAG for blue
+     */
+    public @Nullable Location getFlagBase(@NonNull Team team) {
+        return switch (team) {
+            case RED -> getLocation("TEAM1_FLAG");
+            case BLUE -> getLocation("TEAM2_FLAG");
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the location whose region owns this arena: the center, else a team spawn, else the lobby
+     */
+    public @Nullable Location getAnchor() {
+        for (String type : ANCHOR_LOCATIONS) {
+            Location location = locations.get(type);
+            if (location != null) {
+                return location.clone();
+            }
+        }
+        return null;
+    }
+
     // Getters
     public @NonNull String getArenaId() {
         return arenaId;
@@ -266,19 +345,48 @@ public class Arena {
                 return;
             }
 
+            ArenaStateTransitionEvent event = new ArenaStateTransitionEvent();
+            event.begin();
+
             ArenaState oldState = this.state;
             this.state = newState;
 
             onStateChange(oldState, newState);
+
+            if (event.shouldCommit()) {
+                event.setArena(this);
+                event.from = oldState.name();
+                event.to = newState.name();
+                event.commit();
+            }
         }
     }
 
+    /**
+     * Gets the players in the arena as an immutable snapshot, cheap enough to call every tick
+     */
     public @NonNull List<DodgeBallPlayer> getPlayers() {
-        return new ArrayList<>(players);
+        return roster.getSnapshot().getPlayers();
     }
 
+    /**
+     * Gets the players on a team as an immutable snapshot
+     */
     public @NonNull List<DodgeBallPlayer> getTeamPlayers(@NonNull Team team) {
-        return new ArrayList<>(teams.get(team));
+        return roster.getSnapshot().getTeam(team);
+    }
+
+    /**
+     * Moves a player in this arena to another team
+     *
+     * @return False if the player is not in this arena
+     */
+    public boolean setPlayerTeam(@NonNull DodgeBallPlayer player, @NonNull Team team) {
+        return roster.setTeam(player, team);
+    }
+
+    public boolean hasPlayer(@NonNull UUID playerId) {
+        return roster.contains(playerId);
     }
 
     public @Nullable Game getCurrentGame() {
@@ -294,11 +402,11 @@ public class Arena {
     }
 
     public boolean isFull() {
-        return players.size() >= maxPlayers;
+        return roster.size() >= maxPlayers;
     }
 
     public boolean canStart() {
-        return players.size() >= minPlayers && state == ArenaState.WAITING;
+        return roster.size() >= minPlayers && state == ArenaState.WAITING;
     }
 
     public boolean hasLocation(@NonNull String type) {
@@ -306,12 +414,27 @@ public class Arena {
     }
 
     public boolean isSetup() {
-        return hasLocation("LOBBY") &&
-                hasLocation("CENTER") &&
-                hasLocation("TEAM1_SPAWN") &&
-                hasLocation("TEAM2_SPAWN") &&
-                hasLocation("MIN_BOUND") &&
-                hasLocation("MAX_BOUND");
+        return getMissingLocations().isEmpty();
+    }
+
+    /**
+     * Gets the locations the arena's mode needs that are not set yet
+     */
+    public @NonNull List<String> getMissingLocations() {
+        List<String> missing = new ArrayList<>();
+        for (String type : REQUIRED_LOCATIONS) {
+            if (!hasLocation(type)) {
+                missing.add(type);
+            }
+        }
+        if (gameMode == PlayMode.CAPTURE_THE_FLAG) {
+            for (String type : List.of("TEAM1_FLAG", "TEAM2_FLAG")) {
+                if (!hasLocation(type)) {
+                    missing.add(type);
+                }
+            }
+        }
+        return missing;
     }
 
     @Override
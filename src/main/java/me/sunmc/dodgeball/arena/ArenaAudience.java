@@ -0,0 +1,189 @@
+package me.sunmc.dodgeball.arena;
+
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSetTitleSubtitle;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSetTitleText;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSetTitleTimes;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSystemChatMessage;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.TimerManager;
+import me.sunmc.dodgeball.message.MessageCatalog;
+import me.sunmc.dodgeball.packet.PacketFanOut;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.tools.Tools;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everyone in an arena as one Adventure {@link Audience}.
+ * <p>
+ * A message is encoded once per client protocol version and the same bytes
+ * are written to every member through {@link PacketFanOut}, instead of each
+ * player serializing the component again. Messages given to {@link #queue}
+ * are collected and sent together, with one flush per player, on the thread
+ * owning the arena: at the end of the arena's ball update, or otherwise on
+ * the next tick through the {@link TimerManager}. No global tick event is
+ * involved, so this works the same on Folia.
+ * <p>
+ * Messages given by key are rendered once per distinct message catalog among
+ * the members, i.e. once per client language in use, and each rendering is
+ * fanned out to the members speaking that language.
+ */
+public class ArenaAudience implements Audience {
+
+    private static final @NonNull Object @NonNull [] NO_ARGS = new Object[0];
+
+    private final @NonNull Arena arena;
+    private final @NonNull List<Pending> pending = new ArrayList<>();
+    private volatile boolean dirty;
+    private @Nullable TaskHandle flushTask;
+
+    public ArenaAudience(@NonNull Arena arena) {
+        this.arena = arena;
+    }
+
+    @Override
+    public void sendMessage(@NonNull Component message) {
+        send(List.of(new WrapperPlayServerSystemChatMessage(false, message)));
+    }
+
+    @Override
+    public void sendActionBar(@NonNull Component message) {
+        send(List.of(new WrapperPlayServerSystemChatMessage(true, message)));
+    }
+
+    @Override
+    public void showTitle(@NonNull Title title) {
+        List<PacketWrapper<?>> packets = new ArrayList<>(3);
+
+        Title.Times times = title.times();
+        if (times != null) {
+            packets.add(new WrapperPlayServerSetTitleTimes(ticks(times.fadeIn()), ticks(times.stay()), ticks(times.fadeOut())));
+        }
+        packets.add(new WrapperPlayServerSetTitleSubtitle(title.subtitle()));
+        packets.add(new WrapperPlayServerSetTitleText(title.title()));
+
+        send(packets);
+    }
+
+    /**
+     * Sends a message from messages.yml in each member's language
+     *
+     * @param args Placeholder names and values, alternating
+     */
+    public void sendMessage(@NonNull String key, @NonNull Object @NonNull ... args) {
+        Pending message = new Pending(null, key, args);
+        for (Map.Entry<MessageCatalog, List<Player>> group : byCatalog().entrySet()) {
+            PacketFanOut.send(message.packet(group.getKey()), group.getValue());
+        }
+    }
+
+    /**
+     * Queues a chat message to go out with the rest of this tick's messages
+     */
+    public void queue(@NonNull Component message) {
+        enqueue(new Pending(message, null, NO_ARGS));
+    }
+
+    /**
+     * Queues a message from messages.yml, rendered in each member's language at flush time
+     */
+    public void queue(@NonNull String key, @NonNull Object @NonNull ... args) {
+        enqueue(new Pending(null, key, args));
+    }
+
+    private void enqueue(@NonNull Pending message) {
+        synchronized (pending) {
+            pending.add(message);
+            dirty = true;
+
+            // One flush per batch; a flush the arena's reset cancelled is replaced
+            if (flushTask == null || flushTask.isCancelled()) {
+                flushTask = Tools.getComponent(TimerManager.class).schedule(arena, this::flush, 1L);
+            }
+        }
+    }
+
+    /**
+     * Sends all queued messages as one batch; thread owning the arena only
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        List<Pending> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            dirty = false;
+            flushTask = null;
+        }
+
+        for (Map.Entry<MessageCatalog, List<Player>> group : byCatalog().entrySet()) {
+            List<PacketWrapper<?>> packets = new ArrayList<>(batch.size());
+            for (Pending message : batch) {
+                packets.add(message.packet(group.getKey()));
+            }
+            PacketFanOut.send(packets, group.getValue());
+        }
+    }
+
+    /**
+     * Groups the members by the catalog of their language; catalogs are shared, so identity is enough
+     */
+    private @NonNull Map<MessageCatalog, List<Player>> byCatalog() {
+        MessageManager messages = Tools.getComponent(MessageManager.class);
+        Map<MessageCatalog, List<Player>> groups = new IdentityHashMap<>(4);
+        for (DodgeBallPlayer member : arena.getPlayers()) {
+            Player player = member.getPlayer();
+            groups.computeIfAbsent(messages.getCatalog(player), catalog -> new ArrayList<>()).add(player);
+        }
+        return groups;
+    }
+
+    private void send(@NonNull List<PacketWrapper<?>> packets) {
+        List<DodgeBallPlayer> members = arena.getPlayers();
+        List<Player> players = new ArrayList<>(members.size());
+        for (DodgeBallPlayer member : members) {
+            players.add(member.getPlayer());
+        }
+        PacketFanOut.send(packets, players);
+    }
+
+    /**
+     * A queued message: either a fixed component or a key rendered per catalog
+     */
+    private static final class Pending {
+        private final @Nullable Component component;
+        private final @Nullable String key;
+        private final @NonNull Object @NonNull [] args;
+
+        private Pending(@Nullable Component component, @Nullable String key, @NonNull Object @NonNull [] args) {
+            this.component = component;
+            this.key = key;
+            this.args = args;
+        }
+
+        private @NonNull PacketWrapper<?> packet(@NonNull MessageCatalog catalog) {
+            Component message = component != null ? component : catalog.render(Objects.requireNonNull(key), args);
+            return new WrapperPlayServerSystemChatMessage(false, message);
+        }
+    }
+
+    private static int ticks(@NonNull Duration duration) {
+        return (int) (duration.toMillis() / 50);
+    }
+}
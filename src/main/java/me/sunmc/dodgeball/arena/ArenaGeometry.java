@@ -0,0 +1,104 @@
+package me.sunmc.dodgeball.arena;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Block solidity around an arena, readable from any thread.
+ * <p>
+ * Chunks are captured as {@link ChunkSnapshot}s on the tick thread, for the
+ * chunks balls are in or about to enter, and read by the arena worker during
+ * physics. A lookup in a chunk that was not captured counts as air and asks
+ * for that chunk on the next tick. Players cannot change arena blocks, so
+ * snapshots are only refreshed now and then.
+ */
+public class ArenaGeometry {
+
+    private static final int REFRESH_TICKS = 600;
+
+    private final @NonNull Map<Long, ChunkSnapshot> chunks = new ConcurrentHashMap<>();
+    private final @NonNull Set<Long> requested = ConcurrentHashMap.newKeySet();
+    private volatile @Nullable World world;
+    private volatile int minHeight;
+    private volatile int maxHeight;
+    private int age;
+
+    /**
+     * Captures the chunks a ball moving between two points needs; tick thread only
+     */
+    public void prepare(@NonNull World world, double fromX, double fromZ, double toX, double toZ) {
+        if (this.world != world) {
+            chunks.clear();
+            this.world = world;
+            this.minHeight = world.getMinHeight();
+            this.maxHeight = world.getMaxHeight();
+        }
+
+        int minChunkX = (int) Math.floor(Math.min(fromX, toX)) >> 4;
+        int maxChunkX = (int) Math.floor(Math.max(fromX, toX)) >> 4;
+        int minChunkZ = (int) Math.floor(Math.min(fromZ, toZ)) >> 4;
+        int maxChunkZ = (int) Math.floor(Math.max(fromZ, toZ)) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                capture(world, chunkX, chunkZ);
+            }
+        }
+    }
+
+    /**
+     * Captures chunks the worker missed and ages the cache; called once per update on the tick thread
+     */
+    public void refresh(int ticks) {
+        World world = this.world;
+        if (world == null) {
+            return;
+        }
+
+        age += ticks;
+        if (age >= REFRESH_TICKS) {
+            age = 0;
+            chunks.clear();
+        }
+
+        for (Long key : requested) {
+            requested.remove(key);
+            capture(world, (int) (key >> 32), (int) (long) key);
+        }
+    }
+
+    private void capture(@NonNull World world, int chunkX, int chunkZ) {
+        long key = key(chunkX, chunkZ);
+        if (!chunks.containsKey(key) && world.isChunkLoaded(chunkX, chunkZ)) {
+            chunks.put(key, world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+        }
+    }
+
+    /**
+     * Checks whether the block at a position is solid; safe from any thread
+     */
+    public boolean isSolid(int x, int y, int z) {
+        ChunkSnapshot chunk = chunks.get(key(x >> 4, z >> 4));
+        if (chunk == null) {
+            requested.add(key(x >> 4, z >> 4));
+            return false;
+        }
+        if (y < minHeight || y >= maxHeight) {
+            return false;
+        }
+        return chunk.getBlockType(x & 15, y, z & 15).isSolid();
+    }
+
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
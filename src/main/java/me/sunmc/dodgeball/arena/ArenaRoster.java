@@ -0,0 +1,314 @@
+package me.sunmc.dodgeball.arena;
+
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+/**
+ * Who is in an arena and on which team.
+ * <p>
+ * Writers keep a UUID index plus one dense array per team (and one for
+ * everyone), so joins, leaves and team changes are O(1) swap-removes. A change
+ * only marks the lists it touched as stale; the next reader rebuilds just those
+ * into a fresh immutable {@link Snapshot}, so a burst of changes within a tick,
+ * such as infections, costs one rebuild instead of one per change. Readers on
+ * the hot path iterate the snapshot without locking or copying.
+ * <p>
+ * The roster also counts the alive players of every team. Counters change
+ * only when a player's alive flag flips or an alive player joins, leaves or
+ * switches a team, and the callback fires when a team drops to zero; it is
+ * never invoked while the roster lock is held.
+ */
+public class ArenaRoster {
+
+    private static final Team[] TEAMS = Team.values();
+    private static final int STALE_ALL = 1;
+
+    private final @NonNull Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final @NonNull Members all = new Members();
+    private final @NonNull Members[] teams = new Members[TEAMS.length];
+    private final @NonNull AtomicIntegerArray alive = new AtomicIntegerArray(TEAMS.length);
+    private final @NonNull Consumer<Team> onEliminated;
+    private volatile @NonNull Snapshot snapshot;
+    // Bit 0: everyone, bit 1 + ordinal: that team
+    private volatile int stale;
+
+    /**
+     * @param onEliminated Called with a team whose alive count just dropped to zero
+     */
+    public ArenaRoster(@NonNull Consumer<Team> onEliminated) {
+        this.onEliminated = onEliminated;
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = new Members();
+        }
+        snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Adds a player on a team
+     *
+     * @return False if the player is already on the roster
+     */
+    public synchronized boolean add(@NonNull DodgeBallPlayer player, @NonNull Team team) {
+        if (entries.containsKey(player.getUuid())) {
+            return false;
+        }
+
+        Entry entry = new Entry(player);
+        entries.put(player.getUuid(), entry);
+        entry.allIndex = all.add(player);
+        join(entry, team);
+
+        stale |= STALE_ALL;
+        return true;
+    }
+
+    public boolean remove(@NonNull DodgeBallPlayer player) {
+        Team eliminated;
+        synchronized (this) {
+            Entry entry = entries.remove(player.getUuid());
+            if (entry == null) {
+                return false;
+            }
+
+            eliminated = leaveTeam(entry);
+            DodgeBallPlayer moved = all.removeAt(entry.allIndex);
+            if (moved != null) {
+                entries.get(moved.getUuid()).allIndex = entry.allIndex;
+            }
+
+            stale |= STALE_ALL;
+        }
+
+        notifyEliminated(eliminated);
+        return true;
+    }
+
+    /**
+     * Moves a player to another team
+     *
+     * @return False if the player is not on the roster
+     */
+    public boolean setTeam(@NonNull DodgeBallPlayer player, @NonNull Team team) {
+        Team eliminated;
+        synchronized (this) {
+            Entry entry = entries.get(player.getUuid());
+            if (entry == null) {
+                return false;
+            }
+            if (entry.team == team) {
+                return true;
+            }
+
+            eliminated = leaveTeam(entry);
+            join(entry, team);
+        }
+
+        notifyEliminated(eliminated);
+        return true;
+    }
+
+    /**
+     * Reassigns many players at once
+     */
+    public synchronized void setTeams(@NonNull Map<DodgeBallPlayer, Team> assignments) {
+        for (Map.Entry<DodgeBallPlayer, Team> assignment : assignments.entrySet()) {
+            Entry entry = entries.get(assignment.getKey().getUuid());
+            if (entry != null && entry.team != assignment.getValue()) {
+                // Only used before a game starts, so no team can be eliminated here
+                leaveTeam(entry);
+                join(entry, assignment.getValue());
+            }
+        }
+    }
+
+    /**
+     * Updates the alive counters after a player's alive flag flipped
+     */
+    public void onAliveChanged(@NonNull DodgeBallPlayer player, boolean nowAlive) {
+        Entry entry = entries.get(player.getUuid());
+        Team team = entry != null ? entry.team : null;
+        if (team == null) {
+            return;
+        }
+
+        if (nowAlive) {
+            alive.incrementAndGet(team.ordinal());
+        } else if (alive.decrementAndGet(team.ordinal()) == 0) {
+            onEliminated.accept(team);
+        }
+    }
+
+    /**
+     * Gets the number of alive players on a team without locking
+     */
+    public int getAliveCount(@NonNull Team team) {
+        return alive.get(team.ordinal());
+    }
+
+    private void join(@NonNull Entry entry, @NonNull Team team) {
+        entry.teamIndex = teams[team.ordinal()].add(entry.player);
+        entry.team = team;
+        stale |= staleBit(team);
+        entry.player.setTeam(team);
+        if (entry.player.isAlive()) {
+            alive.incrementAndGet(team.ordinal());
+        }
+    }
+
+    /**
+     * @return The team if this left it without alive players, otherwise null
+     */
+    private @Nullable Team leaveTeam(@NonNull Entry entry) {
+        Team team = entry.team;
+        if (team == null) {
+            return null;
+        }
+
+        DodgeBallPlayer moved = teams[team.ordinal()].removeAt(entry.teamIndex);
+        if (moved != null) {
+            entries.get(moved.getUuid()).teamIndex = entry.teamIndex;
+        }
+        entry.team = null;
+        entry.teamIndex = -1;
+        stale |= staleBit(team);
+
+        if (entry.player.isAlive() && alive.decrementAndGet(team.ordinal()) == 0) {
+            return team;
+        }
+        return null;
+    }
+
+    private void notifyEliminated(@Nullable Team team) {
+        if (team != null) {
+            onEliminated.accept(team);
+        }
+    }
+
+    private static int staleBit(@NonNull Team team) {
+        return 2 << team.ordinal();
+    }
+
+    /**
+     * Gets the current roster; never changes after it is returned
+     */
+    public @NonNull Snapshot getSnapshot() {
+        if (stale == 0) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            int mask = stale;
+            if (mask != 0) {
+                Snapshot previous = snapshot;
+                List<DodgeBallPlayer>[] teamLists = previous.teams.clone();
+                for (int i = 0; i < teams.length; i++) {
+                    if ((mask & staleBit(TEAMS[i])) != 0) {
+                        teamLists[i] = teams[i].toList();
+                    }
+                }
+                snapshot = new Snapshot((mask & STALE_ALL) != 0 ? all.toList() : previous.players, teamLists);
+                stale = 0;
+            }
+            return snapshot;
+        }
+    }
+
+    public boolean contains(@NonNull UUID playerId) {
+        return get(playerId) != null;
+    }
+
+    public @Nullable DodgeBallPlayer get(@NonNull UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.player : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Immutable view of the roster at one point in time
+     */
+    public static final class Snapshot {
+
+        private static final @NonNull Snapshot EMPTY = new Snapshot(List.of(), emptyTeams());
+
+        private final @NonNull List<DodgeBallPlayer> players;
+        private final @NonNull List<DodgeBallPlayer>[] teams;
+
+        private Snapshot(@NonNull List<DodgeBallPlayer> players, @NonNull List<DodgeBallPlayer>[] teams) {
+            this.players = players;
+            this.teams = teams;
+        }
+
+        public @NonNull List<DodgeBallPlayer> getPlayers() {
+            return players;
+        }
+
+        public @NonNull List<DodgeBallPlayer> getTeam(@NonNull Team team) {
+            return teams[team.ordinal()];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static @NonNull List<DodgeBallPlayer>[] emptyTeams() {
+            List<DodgeBallPlayer>[] teams = new List[TEAMS.length];
+            Arrays.fill(teams, List.of());
+            return teams;
+        }
+    }
+
+    private static class Entry {
+        private final @NonNull DodgeBallPlayer player;
+        private volatile @Nullable Team team;
+        private int allIndex = -1;
+        private int teamIndex = -1;
+
+        private Entry(@NonNull DodgeBallPlayer player) {
+            this.player = player;
+        }
+    }
+
+    /**
+     * Dense array with swap-remove
+     */
+    private static class Members {
+        private DodgeBallPlayer @NonNull [] elements = new DodgeBallPlayer[8];
+        private int size;
+
+        private int add(@NonNull DodgeBallPlayer player) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size] = player;
+            return size++;
+        }
+
+        /**
+         * @return The player moved into {@code index} to fill the gap, or null if it was the last one
+         */
+        private @Nullable DodgeBallPlayer removeAt(int index) {
+            int last = --size;
+            DodgeBallPlayer moved = null;
+            if (index != last) {
+                moved = elements[last];
+                elements[index] = moved;
+            }
+            elements[last] = null;
+            return moved;
+        }
+
+        private @NonNull List<DodgeBallPlayer> toList() {
+            return size == 0 ? List.of() : List.of(Arrays.copyOf(elements, size));
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package me.sunmc.dodgeball.arena;
+
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.packet.PacketFanOut;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.scheduler.ServerScheduler;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Everyone watching an arena instead of playing in it.
+ * <p>
+ * Spectators are eliminated players, who stay on the roster, and watchers
+ * who joined through {@code /db spectate}, who never do. Neither is a viewer
+ * of any ball, so balls keep sending their per-update teleports to the
+ * players alone. Instead, every few ticks the arena builds one packet group
+ * with a spawn, teleport or destroy for each of its balls and fans it out to
+ * all spectators at once; the cost of a ball update stays the same however
+ * many are watching. Watchers also get the arena's HUD.
+ */
+public class ArenaSpectators {
+
+    private final @NonNull Arena arena;
+    private final @NonNull Map<UUID, DodgeBallPlayer> watchers = new ConcurrentHashMap<>();
+    private final @NonNull Map<UUID, Return> returns = new ConcurrentHashMap<>();
+    // Relay state: who has the balls shown, and which balls those are
+    private final @NonNull Set<UUID> synced = ConcurrentHashMap.newKeySet();
+    private final @NonNull Map<Integer, Ball> shown = new ConcurrentHashMap<>();
+    private volatile int interval = 4;
+    private int sinceRelay;
+
+    public ArenaSpectators(@NonNull Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * @param interval Ticks between ball updates sent to spectators
+     */
+    public void configure(int interval) {
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Lets a player from outside watch the arena
+     *
+     * @return False if they already do
+     */
+    public boolean addWatcher(@NonNull DodgeBallPlayer player) {
+        if (watchers.putIfAbsent(player.getUuid(), player) != null) {
+            return false;
+        }
+        enter(player);
+        return true;
+    }
+
+    public boolean removeWatcher(@NonNull DodgeBallPlayer player) {
+        if (watchers.remove(player.getUuid()) == null) {
+            return false;
+        }
+        leave(player, true);
+        return true;
+    }
+
+    /**
+     * Turns an eliminated player into a spectator; thread owning the arena only
+     */
+    public void spectate(@NonNull DodgeBallPlayer player) {
+        if (player.isSpectating()) {
+            return;
+        }
+
+        // From now on they see balls through the relay instead
+        for (Ball ball : DodgeBall.getInstance().getComponent(BallManager.class).getArenaBalls(arena)) {
+            ball.despawnForPlayer(player.getPlayer());
+        }
+        enter(player);
+
+        Player bukkitPlayer = player.getPlayer();
+        bukkitPlayer.sendMessage(DodgeBall.getInstance().getComponent(MessageManager.class)
+                .get(bukkitPlayer, "spectating-eliminated"));
+    }
+
+    /**
+     * Brings an eliminated player back from spectating, e.g. when the game ends or they leave
+     */
+    public void release(@NonNull DodgeBallPlayer player) {
+        if (!watchers.containsKey(player.getUuid()) && player.isSpectating()) {
+            leave(player, false);
+        }
+    }
+
+    /**
+     * Brings every eliminated player back from spectating; watchers keep watching
+     */
+    public void releaseAll() {
+        for (DodgeBallPlayer player : arena.getPlayers()) {
+            release(player);
+        }
+    }
+
+    private void enter(@NonNull DodgeBallPlayer player) {
+        Player bukkitPlayer = player.getPlayer();
+        player.setSpectating(true);
+        returns.put(player.getUuid(), new Return(bukkitPlayer.getGameMode(), bukkitPlayer.getLocation()));
+
+        ServerScheduler scheduler = scheduler();
+        scheduler.runFor(bukkitPlayer, () -> bukkitPlayer.setGameMode(GameMode.SPECTATOR), 0L);
+        Location view = arena.getLocation("SPECTATOR");
+        if (view == null) {
+            view = arena.getLocation("CENTER");
+        }
+        if (view != null) {
+            scheduler.teleport(bukkitPlayer, view);
+        }
+    }
+
+    /**
+     * @param teleport Whether to send them back where they started watching; eliminated players stay put
+     */
+    private void leave(@NonNull DodgeBallPlayer player, boolean teleport) {
+        Player bukkitPlayer = player.getPlayer();
+        player.setSpectating(false);
+
+        // The relay's balls go away with spectating
+        if (synced.remove(player.getUuid()) && !shown.isEmpty()) {
+            PacketFanOut.send(new WrapperPlayServerDestroyEntities(entityIds(shown.keySet())), List.of(bukkitPlayer));
+        }
+
+        Return back = returns.remove(player.getUuid());
+        if (back != null && bukkitPlayer.isOnline()) {
+            ServerScheduler scheduler = scheduler();
+            scheduler.runFor(bukkitPlayer, () -> bukkitPlayer.setGameMode(back.gameMode), 0L);
+            if (teleport) {
+                scheduler.teleport(bukkitPlayer, back.location);
+            }
+        }
+    }
+
+    /**
+     * Sends spectators the arena's balls when an update is due; thread owning the arena only
+     *
+     * @param balls The arena's balls as of this tick
+     */
+    public void relay(@NonNull List<Ball> balls) {
+        List<Player> viewers = getViewers();
+        if (viewers.isEmpty()) {
+            synced.clear();
+            shown.clear();
+            return;
+        }
+
+        List<PacketWrapper<?>> updates = new ArrayList<>();
+
+        // Destroys go out right away, so nothing lingers once the arena stops ticking
+        List<Integer> removed = new ArrayList<>(0);
+        for (Map.Entry<Integer, Ball> entry : shown.entrySet()) {
+            if (!entry.getValue().isActive()) {
+                removed.add(entry.getKey());
+            }
+        }
+        if (!removed.isEmpty()) {
+            removed.forEach(shown::remove);
+            updates.add(new WrapperPlayServerDestroyEntities(entityIds(removed)));
+        }
+
+        boolean due = ++sinceRelay >= interval;
+        if (due) {
+            sinceRelay = 0;
+            for (Ball ball : shown.values()) {
+                updates.add(ball.teleportPacket());
+            }
+        }
+
+        // New balls show up without waiting for the next update
+        List<Ball> added = new ArrayList<>(0);
+        for (Ball ball : balls) {
+            if (ball.isActive() && shown.putIfAbsent(ball.getEntityId(), ball) == null) {
+                added.add(ball);
+            }
+        }
+        updates.addAll(Ball.spawnPackets(added));
+
+        List<Player> present = new ArrayList<>(viewers.size());
+        List<Player> joined = new ArrayList<>(0);
+        for (Player viewer : viewers) {
+            (synced.contains(viewer.getUniqueId()) ? present : joined).add(viewer);
+        }
+        if (!updates.isEmpty()) {
+            PacketFanOut.send(updates, present);
+        }
+        if (!joined.isEmpty()) {
+            // New spectators get every ball at once
+            PacketFanOut.send(Ball.spawnPackets(shown.values()), joined);
+            joined.forEach(viewer -> synced.add(viewer.getUniqueId()));
+        }
+    }
+
+    /**
+     * Gets everyone spectating: eliminated players first, then watchers
+     */
+    public @NonNull List<Player> getViewers() {
+        List<DodgeBallPlayer> players = arena.getPlayers();
+        List<Player> viewers = new ArrayList<>(watchers.size());
+        for (DodgeBallPlayer player : players) {
+            if (player.isSpectating()) {
+                viewers.add(player.getPlayer());
+            }
+        }
+        for (DodgeBallPlayer watcher : watchers.values()) {
+            viewers.add(watcher.getPlayer());
+        }
+        return viewers;
+    }
+
+    /**
+     * Gets the players plus the watchers, for things both should see such as the HUD
+     */
+    public @NonNull List<DodgeBallPlayer> withWatchers(@NonNull List<DodgeBallPlayer> players) {
+        if (watchers.isEmpty()) {
+            return players;
+        }
+
+        List<DodgeBallPlayer> all = new ArrayList<>(players.size() + watchers.size());
+        all.addAll(players);
+        all.addAll(watchers.values());
+        return all;
+    }
+
+    public boolean isWatching(@NonNull UUID playerId) {
+        return watchers.containsKey(playerId);
+    }
+
+    public int getWatcherCount() {
+        return watchers.size();
+    }
+
+    /**
+     * Sends every watcher back; called when the arena goes away
+     */
+    public void clear() {
+        for (DodgeBallPlayer watcher : new ArrayList<>(watchers.values())) {
+            removeWatcher(watcher);
+        }
+        releaseAll();
+    }
+
+    private static int @NonNull [] entityIds(@NonNull Collection<Integer> ids) {
+        int[] array = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) {
+            array[i++] = id;
+        }
+        return array;
+    }
+
+    private static @NonNull ServerScheduler scheduler() {
+        return DodgeBall.getInstance().getComponent(SchedulerManager.class).getScheduler();
+    }
+
+    /**
+     * Where a spectator goes back to, and in which game mode
+     */
+    private static final class Return {
+        private final @NonNull GameMode gameMode;
+        private final @NonNull Location location;
+
+        private Return(@NonNull GameMode gameMode, @NonNull Location location) {
+            this.gameMode = gameMode;
+            this.location = location;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package me.sunmc.dodgeball.arena;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.ball.BallStep;
+import me.sunmc.dodgeball.ball.BallTarget;
+import me.sunmc.dodgeball.component.MetricsManager;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.jfr.BallTickEvent;
+import me.sunmc.dodgeball.metrics.ArenaMetrics;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.tools.Tools;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tick context of one arena: its balls, the geometry they collide with and
+ * the worker thread that simulates them.
+ * <p>
+ * An update has three phases. On the tick thread, {@link #begin()} snapshots
+ * the eye positions of alive players and captures the geometry the balls
+ * need. The arena's worker then simulates every ball against that snapshot.
+ * Back on the tick thread, {@link #finish()} applies the resulting steps,
+ * which moves the balls, sends packets and plays the buffered effects.
+ * Modes that track where players are, such as King of the Hill, and power-ups
+ * get the same snapshot on every update, and keep the arena updating while it
+ * has no balls.
+ * <p>
+ * The tick thread waits for the worker at most the arena's budget. An arena
+ * that keeps exceeding it is throttled: it updates only every few ticks and
+ * simulates the skipped ticks in one go. It speeds up again after a while
+ * under budget, so a single busy arena slows down itself rather than the
+ * server.
+ */
+public class ArenaTicker {
+
+    private static final int RECOVER_UPDATES = 100;
+
+    private final @NonNull Arena arena;
+    private final @NonNull Queue<Ball> incoming = new ConcurrentLinkedQueue<>();
+    private final @NonNull List<Ball> balls = new ArrayList<>();
+    private final @NonNull ArenaGeometry geometry = new ArenaGeometry();
+
+    private @Nullable ExecutorService worker;
+    private @Nullable Future<Batch> pending;
+    private long pendingSince;
+    private int sinceUpdate;
+    private int underBudget;
+
+    private long budgetNanos = 2_000_000;
+    private int baseInterval = 1;
+    private int maxInterval = 4;
+    private boolean parallel = true;
+    private volatile int interval = 1;
+
+    public ArenaTicker(@NonNull Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * @param budgetNanos  Time an update may take before the arena is throttled
+     * @param baseInterval Ticks between updates when within budget
+     * @param maxInterval  Ticks between updates when throttled the most
+     * @param parallel     Whether to simulate on the arena worker rather than the tick thread
+     */
+    public void configure(long budgetNanos, int baseInterval, int maxInterval, boolean parallel) {
+        this.budgetNanos = budgetNanos;
+        this.baseInterval = Math.max(1, baseInterval);
+        this.maxInterval = Math.max(this.baseInterval, maxInterval);
+        this.parallel = parallel;
+        this.interval = Math.max(this.baseInterval, Math.min(interval, this.maxInterval));
+    }
+
+    /**
+     * Adds a ball, ticked from the next update on; safe from any thread
+     */
+    public void add(@NonNull Ball ball) {
+        incoming.add(ball);
+    }
+
+    /**
+     * Starts an update if one is due; tick thread only
+     */
+    public void begin() {
+        for (Ball ball; (ball = incoming.poll()) != null; ) {
+            balls.add(ball);
+        }
+        balls.removeIf(ball -> !ball.isActive());
+        arena.getSpectators().relay(balls);
+
+        Game watching = watchingGame();
+        if (balls.isEmpty() && watching == null) {
+            sinceUpdate = 0;
+            return;
+        }
+        sinceUpdate++;
+        if (pending != null || sinceUpdate < interval) {
+            return;
+        }
+
+        int ticks = sinceUpdate;
+        sinceUpdate = 0;
+
+        BallTarget[] targets = snapshotTargets();
+        if (watching != null) {
+            watching.onUpdate(targets, ticks);
+        }
+        if (balls.isEmpty()) {
+            return;
+        }
+        prepareGeometry(ticks);
+
+        List<Ball> batch = List.copyOf(balls);
+        pendingSince = System.nanoTime();
+        if (parallel) {
+            pending = worker().submit(() -> simulate(batch, targets, ticks));
+        } else {
+            commit(simulate(batch, targets, ticks));
+        }
+    }
+
+    /**
+     * Applies the update started by {@link #begin()}, waiting for the worker
+     * at most the budget; an update not done by then is applied on a later tick
+     */
+    public void finish() {
+        Future<Batch> future = pending;
+        if (future == null) {
+            return;
+        }
+
+        Batch batch;
+        try {
+            batch = future.get(Math.max(0, pendingSince + budgetNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            slowDown();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            pending = null;
+            DodgeBall.getInstance().getLogger().severe("Error ticking balls in arena " + arena.getArenaId() +
+                    ": " + e.getCause());
+            return;
+        }
+
+        pending = null;
+        commit(batch);
+    }
+
+    /**
+     * Gets the running game if its mode needs updates regardless of balls
+     */
+    private @Nullable Game watchingGame() {
+        Game game = arena.getCurrentGame();
+        return game != null && game.isActive() && game.watchesPlayers() ? game : null;
+    }
+
+    private @NonNull BallTarget @NonNull [] snapshotTargets() {
+        List<DodgeBallPlayer> players = arena.getPlayers();
+        List<BallTarget> targets = new ArrayList<>(players.size());
+        for (DodgeBallPlayer player : players) {
+            if (player.isAlive()) {
+                targets.add(new BallTarget(player, player.getPlayer().getEyeLocation()));
+            }
+        }
+        return targets.toArray(new BallTarget[0]);
+    }
+
+    private void prepareGeometry(int ticks) {
+        for (Ball ball : balls) {
+            Location location = ball.getLocation();
+            World world = location.getWorld();
+            if (world == null) {
+                continue;
+            }
+
+            Vector velocity = ball.getVelocity();
+            geometry.prepare(world, location.getX(), location.getZ(),
+                    location.getX() + velocity.getX() * ticks, location.getZ() + velocity.getZ() * ticks);
+        }
+        geometry.refresh(ticks);
+    }
+
+    /**
+     * Runs on the worker: touches nothing but the balls' own physics state and the snapshots
+     */
+    private @NonNull Batch simulate(@NonNull List<Ball> batch, @NonNull BallTarget @NonNull [] targets, int ticks) {
+        long start = System.nanoTime();
+        Batch result = new Batch();
+        for (Ball ball : batch) {
+            if (!ball.isActive()) {
+                continue;
+            }
+
+            BallTickEvent event = new BallTickEvent();
+            event.begin();
+            long ballStart = System.nanoTime();
+            try {
+                result.steps.add(ball.simulate(geometry, targets, ticks));
+            } catch (Exception e) {
+                result.failed.add(ball);
+                result.error = e;
+            }
+            ball.getMetrics().recordBallTick(System.nanoTime() - ballStart);
+
+            if (event.shouldCommit()) {
+                event.setArena(arena);
+                event.commit();
+            }
+        }
+        result.nanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void commit(@NonNull Batch batch) {
+        // Applying moves balls and may teleport the hit players; in debug mode, report doing so off their region
+        SchedulerManager schedulers = Tools.getComponent(SchedulerManager.class);
+        for (BallStep step : batch.steps) {
+            schedulers.checkOwnership(step.getBall().getLocation(), "ball update");
+            DodgeBallPlayer hit = step.getHit();
+            if (hit != null) {
+                schedulers.checkOwnership(hit.getPlayer(), "ball hit");
+            }
+            step.getBall().apply(step);
+        }
+
+        if (!batch.failed.isEmpty()) {
+            DodgeBall.getInstance().getLogger().severe("Error ticking ball: " + batch.error);
+            batch.failed.forEach(Ball::despawnForAll);
+        }
+
+        // Hits and catches announce themselves in the same tick
+        arena.getAudience().flush();
+
+        ArenaMetrics metrics = Tools.getComponent(MetricsManager.class).forArena(arena);
+        metrics.completeTick();
+        adapt(batch.nanos, metrics);
+    }
+
+    /**
+     * Throttles the arena while updates exceed the budget, and lifts it after a run of cheap ones
+     */
+    private void adapt(long nanos, @NonNull ArenaMetrics metrics) {
+        if (nanos > budgetNanos) {
+            slowDown();
+        } else if (nanos < budgetNanos / 2 && interval > baseInterval && ++underBudget >= RECOVER_UPDATES) {
+            underBudget = 0;
+            interval--;
+        }
+        metrics.setUpdateInterval(interval);
+    }
+
+    private void slowDown() {
+        underBudget = 0;
+        if (interval < maxInterval) {
+            interval++;
+        }
+    }
+
+    private @NonNull ExecutorService worker() {
+        ExecutorService executor = worker;
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DodgeBall-Arena-" + arena.getArenaId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            worker = executor;
+        }
+        return executor;
+    }
+
+    /**
+     * Checks whether the arena has nothing left to tick
+     */
+    public boolean isIdle() {
+        return incoming.isEmpty() && balls.isEmpty() && pending == null && watchingGame() == null;
+    }
+
+    /**
+     * Stops the worker; a later ball starts a new one
+     */
+    public void close() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (worker != null) {
+            worker.shutdown();
+            worker = null;
+        }
+    }
+
+    /**
+     * Gets the number of ticks between updates; above the configured rate while throttled
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    private static class Batch {
+        private final @NonNull List<BallStep> steps = new ArrayList<>();
+        private final @NonNull List<Ball> failed = new ArrayList<>(0);
+        private @Nullable Exception error;
+        private long nanos;
+    }
+}
@@ -7,11 +7,24 @@ import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
 import com.github.retrooper.packetevents.protocol.player.Equipment;
 import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
 import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import com.github.retrooper.packetevents.wrapper.play.server.*;
 import io.github.retrooper.packetevents.util.SpigotConversionUtil;
 import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.arena.ArenaGeometry;
+import me.sunmc.dodgeball.component.JournalManager;
+import me.sunmc.dodgeball.component.MetricsManager;
+import me.sunmc.dodgeball.component.ReplayManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.jfr.BallCollisionEvent;
+import me.sunmc.dodgeball.journal.JournalEventType;
+import me.sunmc.dodgeball.metrics.ArenaMetrics;
+import me.sunmc.dodgeball.packet.PacketFanOut;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.replay.ReplayRecorder;
 import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.Tools;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
@@ -23,6 +36,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -46,8 +60,10 @@ public class Ball {
     private final long spawnTime;
     private final @NonNull Set<UUID> viewers;
     private final @NonNull Map<UUID, Long> lastHitPlayers;
+    private final @Nullable ReplayRecorder recorder;
+    private final @NonNull ArenaMetrics metrics;
     private @NonNull Location location;
-    private boolean active;
+    private volatile boolean active;
     private int ticksLived;
     private boolean onGround;
 
@@ -58,8 +74,22 @@ public class Ball {
             @NonNull Vector initialVelocity,
             @NonNull ItemStack ballItem
     ) {
-        this.entityId = ENTITY_ID_COUNTER.incrementAndGet();
-        this.ballId = UUID.randomUUID();
+        this(arena, thrower, spawnLocation, initialVelocity, ballItem, ENTITY_ID_COUNTER.incrementAndGet());
+    }
+
+    /**
+     * Creates a ball with an entity ID taken from {@link #reserveEntityIds(int)}
+     */
+    public Ball(
+            @NonNull Arena arena,
+            @Nullable DodgeBallPlayer thrower,
+            @NonNull Location spawnLocation,
+            @NonNull Vector initialVelocity,
+            @NonNull ItemStack ballItem,
+            int entityId
+    ) {
+        this.entityId = entityId;
+        this.ballId = newBallId();
         this.arena = arena;
         this.thrower = thrower;
         this.team = thrower != null ? thrower.getTeam() : null;
@@ -75,6 +105,77 @@ public class Ball {
 
         this.viewers = ConcurrentHashMap.newKeySet();
         this.lastHitPlayers = new ConcurrentHashMap<>();
+        this.recorder = Tools.getComponent(ReplayManager.class).getRecorder(arena);
+        this.metrics = Tools.getComponent(MetricsManager.class).forArena(arena);
+    }
+
+    /**
+     * Reserves a block of consecutive entity IDs, e.g. for a burst of balls
+     *
+     * @return The first ID of the block
+     */
+    public static int reserveEntityIds(int count) {
+        return ENTITY_ID_COUNTER.getAndAdd(count) + 1;
+    }
+
+    /**
+     * Random version 4 UUID without going through {@link java.security.SecureRandom}
+     */
+    private static @NonNull UUID newBallId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(most, least);
+    }
+
+    /**
+     * Shows several balls to players with one packet group per player
+     */
+    public static void spawnAll(@NonNull List<Ball> balls, @NonNull Collection<Player> players) {
+        if (balls.isEmpty() || players.isEmpty()) {
+            return;
+        }
+
+        PacketFanOut.send(spawnPackets(balls), players);
+        for (Ball ball : balls) {
+            for (Player player : players) {
+                ball.viewers.add(player.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Builds the packets showing several balls without tracking anyone as a
+     * viewer; balls sharing the first ball's item only convert it once
+     */
+    public static @NonNull List<PacketWrapper<?>> spawnPackets(@NonNull Collection<Ball> balls) {
+        if (balls.isEmpty()) {
+            return List.of();
+        }
+
+        ItemStack firstItem = balls.iterator().next().ballItem;
+        List<EntityData<?>> metadata = List.of(
+                // Invisible
+                new EntityData<>(0, EntityDataTypes.BYTE, (byte) 0x20),
+                // Small + marker
+                new EntityData<>(15, EntityDataTypes.BYTE, (byte) (0x01 | 0x10))
+        );
+        List<Equipment> equipment = List.of(new Equipment(EquipmentSlot.HELMET,
+                SpigotConversionUtil.fromBukkitItemStack(firstItem)));
+
+        List<PacketWrapper<?>> packets = new ArrayList<>(balls.size() * 3);
+        for (Ball ball : balls) {
+            Location location = ball.location;
+            packets.add(new WrapperPlayServerSpawnEntity(ball.entityId, Optional.of(ball.ballId),
+                    EntityTypes.ARMOR_STAND, new Vector3d(location.getX(), location.getY(), location.getZ()),
+                    0f, 0f, 0f, 0, Optional.empty()));
+            packets.add(new WrapperPlayServerEntityMetadata(ball.entityId, metadata));
+            packets.add(new WrapperPlayServerEntityEquipment(ball.entityId, ball.ballItem.isSimilar(firstItem)
+                    ? equipment
+                    : List.of(new Equipment(EquipmentSlot.HELMET,
+                    SpigotConversionUtil.fromBukkitItemStack(ball.ballItem)))));
+        }
+        return packets;
     }
 
     public void spawnForPlayer(@NonNull Player player) {
@@ -86,7 +187,7 @@ public class Ball {
             // Spawn armor stand entity
             WrapperPlayServerSpawnEntity spawnPacket = new WrapperPlayServerSpawnEntity(
                     entityId,
-                    Optional.of(UUID.randomUUID()),
+                    Optional.of(ballId),
                     EntityTypes.ARMOR_STAND,
                     SpigotConversionUtil.fromBukkitLocation(location).getPosition(),
                     0f, 0f, 0f,
@@ -157,87 +258,167 @@ public class Ball {
         arena.getPlayers().forEach(p -> despawnForPlayer(p.getPlayer()));
         viewers.clear();
         active = false;
-    }
 
-    public void tick() {
-        if (!active) {
-            return;
-        }
-
-        ticksLived++;
-
-        // Apply gravity
-        if (!onGround) {
-            velocity.setY(velocity.getY() - GRAVITY);
+        if (recorder != null) {
+            recorder.onBallRemoved(entityId);
         }
+    }
 
-        // Apply air resistance
-        velocity.multiply(AIR_RESISTANCE);
+    /**
+     * Simulates the ball without touching the world; runs on the arena worker.
+     * Only reads state that {@link #apply} changes, and never at the same time.
+     *
+     * @param ticks Ticks since the last update; more than one while the arena is throttled
+     */
+    public @NonNull BallStep simulate(@NonNull ArenaGeometry geometry, @NonNull BallTarget @NonNull [] targets, int ticks) {
+        BallStep step = new BallStep(this);
+
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        double velocityX = velocity.getX();
+        double velocityY = velocity.getY();
+        double velocityZ = velocity.getZ();
+        boolean grounded = onGround;
+        int lived = ticksLived;
+        int floor = geometry.getMinHeight() + 1;
+
+        double fromX = x;
+        double fromY = y;
+        double fromZ = z;
+        for (int i = 0; i < ticks; i++) {
+            lived++;
+
+            // Apply gravity
+            if (!grounded) {
+                velocityY -= GRAVITY;
+            }
 
-        // Move ball
-        Location newLocation = location.clone().add(velocity);
+            // Apply air resistance
+            velocityX *= AIR_RESISTANCE;
+            velocityY *= AIR_RESISTANCE;
+            velocityZ *= AIR_RESISTANCE;
+
+            // Move ball, unless it hits the ground
+            double nextX = x + velocityX;
+            double nextY = y + velocityY;
+            double nextZ = z + velocityZ;
+            if (nextY <= floor || geometry.isSolid((int) Math.floor(nextX), (int) Math.floor(nextY), (int) Math.floor(nextZ))) {
+                if (!grounded) {
+                    grounded = true;
+                    step.bounced = true;
+
+                    // Bounce
+                    velocityY = Math.abs(velocityY) * BOUNCE_FACTOR;
+                    if (velocityY < 0.1) {
+                        velocityY = 0;
+                        velocityX *= 0.8;
+                        velocityZ *= 0.8;
+                    }
+                } else {
+                    velocityY = 0;
+                    velocityX *= 0.9;
+                    velocityZ *= 0.9;
+                }
+            } else {
+                x = nextX;
+                y = nextY;
+                z = nextZ;
+            }
 
-        // Check ground collision
-        if (newLocation.getY() <= location.getWorld().getMinHeight() + 1 ||
-                newLocation.getBlock().getType().isSolid()) {
-            handleGroundCollision();
-        } else {
-            location = newLocation;
+            if (lived % 2 == 0 && velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ > 0.01) {
+                step.trail = true;
+            }
         }
 
-        // Check player collisions
-        checkPlayerCollisions();
+        checkPlayerCollisions(step, targets, fromX, fromY, fromZ, x, y, z);
 
-        // Update position
-        updatePosition();
+        step.x = x;
+        step.y = y;
+        step.z = z;
+        step.velocityX = velocityX;
+        step.velocityY = velocityY;
+        step.velocityZ = velocityZ;
+        step.onGround = grounded;
+        step.ticksLived = lived;
 
-        // Spawn particle trail
-        if (ticksLived % 2 == 0 && velocity.lengthSquared() > 0.01) {
-            spawnParticleTrail();
+        // Despawn conditions
+        double speedSquared = velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ;
+        step.expired = lived > 200 || (grounded && speedSquared < 0.001);
+        return step;
+    }
+
+    /**
+     * Moves the ball to a simulated state and plays what happened; tick thread only
+     */
+    public void apply(@NonNull BallStep step) {
+        if (!active) {
+            return;
         }
 
-        // Despawn conditions
-        if (ticksLived > 200 || (onGround && velocity.lengthSquared() < 0.001)) {
-            despawnForAll();
+        location.setX(step.x);
+        location.setY(step.y);
+        location.setZ(step.z);
+        velocity.setX(step.velocityX);
+        velocity.setY(step.velocityY);
+        velocity.setZ(step.velocityZ);
+        onGround = step.onGround;
+        ticksLived = step.ticksLived;
+
+        // Play bounce sound
+        if (step.bounced) {
+            location.getWorld().playSound(location, Sound.ENTITY_SLIME_SQUISH, 0.5f, 1.5f);
         }
-    }
 
-    private void handleGroundCollision() {
-        if (!onGround) {
-            onGround = true;
+        // The player may have been hit by another ball since the snapshot
+        DodgeBallPlayer hit = step.hit;
+        if (hit != null && hit.isAlive()) {
+            handlePlayerHit(hit);
+        }
 
-            // Bounce
-            velocity.setY(Math.abs(velocity.getY()) * BOUNCE_FACTOR);
+        if (active) {
+            // Update position
+            updatePosition();
 
-            if (velocity.getY() < 0.1) {
-                velocity.setY(0);
-                velocity.multiply(0.8);
+            // Spawn particle trail
+            if (step.trail) {
+                spawnParticleTrail();
             }
 
-            // Play bounce sound
-            location.getWorld().playSound(location, Sound.ENTITY_SLIME_SQUISH, 0.5f, 1.5f);
-        } else {
-            velocity.setY(0);
-            velocity.multiply(0.9);
+            if (step.expired) {
+                despawnForAll();
+            }
         }
     }
 
-    private void checkPlayerCollisions() {
-        for (DodgeBallPlayer player : arena.getPlayers()) {
-            if (!player.isAlive()) {
+    /**
+     * Finds the first player whose eye is within reach of the path travelled this update
+     */
+    private void checkPlayerCollisions(@NonNull BallStep step, @NonNull BallTarget @NonNull [] targets,
+                                       double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        BallCollisionEvent event = new BallCollisionEvent();
+        event.begin();
+
+        int checks = 0;
+        double radiusSquared = HIT_RADIUS * HIT_RADIUS;
+        for (BallTarget target : targets) {
+            if (target.isSpawnProtected()) {
                 continue;
             }
-
-            Player bukkitPlayer = player.getPlayer();
-            Location playerLoc = bukkitPlayer.getEyeLocation();
-
-            // Check distance
-            double distance = location.distance(playerLoc);
-            if (distance < HIT_RADIUS) {
-                handlePlayerHit(player);
+            checks++;
+            if (target.distanceSquared(fromX, fromY, fromZ, toX, toY, toZ) < radiusSquared) {
+                step.hit = target.getPlayer();
                 break;
             }
         }
+        metrics.recordCollisionChecks(checks);
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.playersChecked = checks;
+            event.hit = step.hit != null;
+            event.commit();
+        }
     }
 
     private void handlePlayerHit(@NonNull DodgeBallPlayer player) {
@@ -269,9 +450,20 @@ public class Ball {
 
         // Hit opponent
         lastHitPlayers.put(player.getUuid(), System.currentTimeMillis());
+        metrics.recordHit();
 
-        player.onHit(thrower, this);
-        thrower.onSuccessfulHit(player);
+        // The mode decides what a hit does
+        Game game = arena.getCurrentGame();
+        boolean counted = true;
+        if (game != null) {
+            counted = game.onHit(player, thrower, this);
+        } else {
+            player.onHit(thrower, this);
+            thrower.onSuccessfulHit(player);
+        }
+        if (counted) {
+            journal(JournalEventType.HIT, thrower, player);
+        }
 
         spawnHitEffect();
         despawnForAll();
@@ -282,6 +474,7 @@ public class Ball {
 
         catcher.onCatch(this);
         thrower.onBallCaught(catcher);
+        journal(JournalEventType.CATCH, catcher, thrower);
 
         spawnCatchEffect();
         despawnForAll();
@@ -291,39 +484,48 @@ public class Ball {
     }
 
     private void handlePickup(@NonNull DodgeBallPlayer picker) {
+        journal(JournalEventType.PICKUP, picker, null);
         picker.getPlayer().getInventory().addItem(ballItem.clone());
         picker.getPlayer().playSound(picker.getPlayer().getLocation(),
                 Sound.ENTITY_ITEM_PICKUP, 0.5f, 1.0f);
         despawnForAll();
     }
 
+    private void journal(@NonNull JournalEventType type, @NonNull DodgeBallPlayer actor,
+                         @Nullable DodgeBallPlayer target) {
+        Game game = arena.getCurrentGame();
+        Tools.getComponent(JournalManager.class).record(type, game != null ? game.getMatchId() : 0,
+                actor, target, entityId, location);
+    }
+
     private void updatePosition() {
-        Vector3d position = new Vector3d(location.getX(), location.getY(), location.getZ());
+        if (recorder != null) {
+            recorder.onBallMoved(entityId, location.getX(), location.getY(), location.getZ());
+        }
 
-        WrapperPlayServerEntityTeleport teleportPacket = new WrapperPlayServerEntityTeleport(
-                entityId,
-                position,
-                location.getYaw(),
-                location.getPitch(),
-                false
-        );
+        PacketWrapper<?> teleportPacket = teleportPacket();
 
+        List<Player> targets = new ArrayList<>(viewers.size());
         for (UUID viewerId : viewers) {
-            Player viewer = arena.getPlayers().stream()
-                    .map(DodgeBallPlayer::getPlayer)
-                    .filter(p -> p.getUniqueId().equals(viewerId))
-                    .findFirst()
-                    .orElse(null);
-
+            Player viewer = arena.hasPlayer(viewerId) ? Bukkit.getPlayer(viewerId) : null;
             if (viewer != null) {
-                try {
-                    PacketEvents.getAPI().getPlayerManager().sendPacket(viewer, teleportPacket);
-                } catch (Exception e) {
-                    // Player disconnected
-                    viewers.remove(viewerId);
-                }
+                targets.add(viewer);
             }
         }
+        PacketFanOut.send(teleportPacket, targets);
+    }
+
+    /**
+     * Builds the packet moving this ball to where it is now
+     */
+    public @NonNull PacketWrapper<?> teleportPacket() {
+        return new WrapperPlayServerEntityTeleport(
+                entityId,
+                new Vector3d(location.getX(), location.getY(), location.getZ()),
+                location.getYaw(),
+                location.getPitch(),
+                false
+        );
     }
 
     private void spawnParticleTrail() {
@@ -385,6 +587,10 @@ public class Ball {
         return active;
     }
 
+    public @NonNull ArenaMetrics getMetrics() {
+        return metrics;
+    }
+
     public int getTicksLived() {
         return ticksLived;
     }
@@ -0,0 +1,45 @@
+package me.sunmc.dodgeball.ball;
+
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Outcome of simulating one ball for one update.
+ * <p>
+ * Computed by {@link Ball#simulate} on the arena worker without touching the
+ * world, then handed back to the tick thread, where {@link Ball#apply} moves
+ * the ball and plays the buffered effects.
+ */
+public final class BallStep {
+
+    final @NonNull Ball ball;
+    double x;
+    double y;
+    double z;
+    double velocityX;
+    double velocityY;
+    double velocityZ;
+    boolean onGround;
+    int ticksLived;
+
+    boolean bounced;
+    boolean trail;
+    boolean expired;
+    @Nullable DodgeBallPlayer hit;
+
+    BallStep(@NonNull Ball ball) {
+        this.ball = ball;
+    }
+
+    public @NonNull Ball getBall() {
+        return ball;
+    }
+
+    /**
+     * Gets the first alive player the ball touched during the update, if any
+     */
+    public @Nullable DodgeBallPlayer getHit() {
+        return hit;
+    }
+}
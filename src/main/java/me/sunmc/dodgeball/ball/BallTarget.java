@@ -0,0 +1,67 @@
+package me.sunmc.dodgeball.ball;
+
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An alive player as balls see them during one update: the eye position
+ * captured on the tick thread, so physics never reads live entity state
+ */
+public final class BallTarget {
+
+    private final @NonNull DodgeBallPlayer player;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final boolean spawnProtected;
+
+    public BallTarget(@NonNull DodgeBallPlayer player, @NonNull Location eye) {
+        this.player = player;
+        this.x = eye.getX();
+        this.y = eye.getY();
+        this.z = eye.getZ();
+        this.spawnProtected = player.isSpawnProtected();
+    }
+
+    /**
+     * Squared distance from the eye to the segment a ball travelled this update
+     */
+    double distanceSquared(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double dz = toZ - fromZ;
+        double length = dx * dx + dy * dy + dz * dz;
+
+        double t = length == 0 ? 0 : ((x - fromX) * dx + (y - fromY) * dy + (z - fromZ) * dz) / length;
+        t = Math.max(0, Math.min(1, t));
+
+        double px = fromX + t * dx - x;
+        double py = fromY + t * dy - y;
+        double pz = fromZ + t * dz - z;
+        return px * px + py * py + pz * pz;
+    }
+
+    public @NonNull DodgeBallPlayer getPlayer() {
+        return player;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * Whether balls pass through this player during the update
+     */
+    public boolean isSpawnProtected() {
+        return spawnProtected;
+    }
+}
@@ -7,11 +7,16 @@ import me.sunmc.dodgeball.DodgeBall;
 import me.sunmc.dodgeball.arena.Arena;
 import me.sunmc.dodgeball.component.ArenaManager;
 import me.sunmc.dodgeball.component.GameManager;
+import me.sunmc.dodgeball.component.MatchmakingService;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.MetricsManager;
+import me.sunmc.dodgeball.component.ReplayManager;
 import me.sunmc.dodgeball.game.PlayMode;
+import me.sunmc.dodgeball.metrics.ArenaMetrics;
+import me.sunmc.dodgeball.metrics.LatencyHistogram;
 import me.sunmc.dodgeball.menu.ArenaListMenu;
 import me.sunmc.dodgeball.menu.StatsMenu;
 import me.sunmc.tools.command.CommandFactory;
-import me.sunmc.tools.configuration.ConfigurationProvider;
 import me.sunmc.tools.registry.AutoRegister;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -19,7 +24,9 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -48,6 +55,8 @@ public class DodgeBallCommands implements CommandFactory {
                 .withPermission("dodgeball.use")
                 .withSubcommand(buildJoinCommand())
                 .withSubcommand(buildLeaveCommand())
+                .withSubcommand(buildQueueCommand())
+                .withSubcommand(buildSpectateCommand())
                 .withSubcommand(buildListCommand())
                 .withSubcommand(buildStatsCommand())
                 .executesPlayer((PlayerCommandExecutor) (player, args) -> sendHelpMessage(player));
@@ -64,6 +73,8 @@ public class DodgeBallCommands implements CommandFactory {
                 .withSubcommand(buildStopCommand())
                 .withSubcommand(buildReloadCommand())
                 .withSubcommand(buildInfoCommand())
+                .withSubcommand(buildReplayCommand())
+                .withSubcommand(buildMetricsCommand())
                 .executesPlayer((PlayerCommandExecutor) (player, args) -> sendAdminHelpMessage(player));
     }
 
@@ -84,7 +95,7 @@ public class DodgeBallCommands implements CommandFactory {
 
                     Arena arena = manager.getArena(arenaId);
                     if (arena == null) {
-                        player.sendMessage(msg("arena-not-found"));
+                        player.sendMessage(msg(player, "arena-not-found"));
                         return;
                     }
 
@@ -94,14 +105,12 @@ public class DodgeBallCommands implements CommandFactory {
                     }
 
                     if (arena.isFull()) {
-                        player.sendMessage(msg("arena-full"));
+                        player.sendMessage(msg(player, "arena-full"));
                         return;
                     }
 
                     if (manager.addPlayer(player, arena)) {
-                        player.sendMessage(msg("join-success")
-                                .replaceText(builder -> builder.matchLiteral("{arena}")
-                                        .replacement(arena.getDisplayName())));
+                        player.sendMessage(msg(player, "join-success", "arena", arena.getDisplayName()));
                         player.playSound(player.getLocation(),
                                 org.bukkit.Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
                     } else {
@@ -117,17 +126,106 @@ public class DodgeBallCommands implements CommandFactory {
                     Arena arena = manager.getPlayerArena(player);
 
                     if (arena == null) {
-                        player.sendMessage(msg("not-in-arena"));
+                        player.sendMessage(msg(player, "not-in-arena"));
                         return;
                     }
 
                     manager.removePlayer(player.getUniqueId());
-                    player.sendMessage(msg("leave-success"));
+                    player.sendMessage(msg(player, "leave-success"));
                     player.playSound(player.getLocation(),
                             org.bukkit.Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
                 });
     }
 
+    private @NonNull CommandAPICommand buildSpectateCommand() {
+        return new CommandAPICommand("spectate")
+                .withArguments(new StringArgument("arena")
+                        .replaceSuggestions(ArgumentSuggestions.strings(info -> {
+                            List<String> suggestions = new ArrayList<>();
+                            suggestions.add("leave");
+                            plugin.getComponent(ArenaManager.class).getArenas()
+                                    .forEach(arena -> suggestions.add(arena.getArenaId()));
+                            return suggestions.toArray(String[]::new);
+                        })))
+                .executesPlayer((player, args) -> {
+                    ArenaManager manager = plugin.getComponent(ArenaManager.class);
+                    String option = (String) args.get("arena");
+
+                    if ("leave".equalsIgnoreCase(option)) {
+                        if (manager.stopSpectating(player.getUniqueId())) {
+                            player.sendMessage(msg(player, "spectate-left"));
+                        } else {
+                            player.sendMessage(msg(player, "not-spectating"));
+                        }
+                        return;
+                    }
+
+                    boolean enabled = plugin.getRegisteredConfig("config")
+                            .map(config -> config.getNode("settings", "spectator-mode-enabled").getBoolean(true))
+                            .orElse(true);
+                    if (!enabled) {
+                        player.sendMessage(msg(player, "spectate-disabled"));
+                        return;
+                    }
+
+                    Arena arena = manager.getArena(Objects.requireNonNull(option));
+                    if (arena == null) {
+                        player.sendMessage(msg(player, "arena-not-found"));
+                        return;
+                    }
+
+                    if (!manager.spectate(player, arena)) {
+                        player.sendMessage(msg(player, "already-in-arena"));
+                        return;
+                    }
+                    player.sendMessage(msg(player, "spectate-joined", "arena", arena.getDisplayName()));
+                });
+    }
+
+    private @NonNull CommandAPICommand buildQueueCommand() {
+        return new CommandAPICommand("queue")
+                .withOptionalArguments(new StringArgument("mode")
+                        .replaceSuggestions(ArgumentSuggestions.strings(info -> {
+                            List<String> suggestions = new ArrayList<>();
+                            suggestions.add("leave");
+                            for (PlayMode mode : PlayMode.values()) {
+                                suggestions.add(mode.name().toLowerCase(Locale.ROOT));
+                            }
+                            return suggestions.toArray(String[]::new);
+                        })))
+                .executesPlayer((player, args) -> {
+                    MatchmakingService matchmaking = plugin.getComponent(MatchmakingService.class);
+                    String option = (String) args.getOptional("mode").orElse(null);
+
+                    if ("leave".equalsIgnoreCase(option)) {
+                        if (matchmaking.dequeue(player.getUniqueId())) {
+                            player.sendMessage(msg(player, "queue-left"));
+                        } else {
+                            player.sendMessage(msg(player, "not-in-queue"));
+                        }
+                        return;
+                    }
+
+                    PlayMode mode = null;
+                    if (option != null) {
+                        try {
+                            mode = PlayMode.valueOf(option.toUpperCase(Locale.ROOT));
+                        } catch (IllegalArgumentException e) {
+                            player.sendMessage(Component.text("§cUnknown game mode: §e" + option, NamedTextColor.RED));
+                            return;
+                        }
+                    }
+
+                    if (matchmaking.enqueue(player, mode) == null) {
+                        player.sendMessage(msg(player, "already-in-arena"));
+                        return;
+                    }
+
+                    String modeName = mode != null ? mode.getDisplayName() : "Any";
+                    player.sendMessage(msg(player, "queue-joined", "mode", modeName, "size", matchmaking.getQueueSize()));
+                });
+    }
+
     private @NonNull CommandAPICommand buildListCommand() {
         return new CommandAPICommand("list")
                 .executesPlayer((player, args) -> {
@@ -227,8 +325,7 @@ public class DodgeBallCommands implements CommandFactory {
                                 )),
                         new StringArgument("type")
                                 .replaceSuggestions(ArgumentSuggestions.strings(
-                                        "LOBBY", "CENTER", "TEAM1_SPAWN", "TEAM2_SPAWN",
-                                        "SPECTATOR", "MIN_BOUND", "MAX_BOUND"
+                                        Arena.LOCATION_TYPES.toArray(String[]::new)
                                 ))
                 )
                 .executesPlayer((player, args) -> {
@@ -253,11 +350,8 @@ public class DodgeBallCommands implements CommandFactory {
                         player.sendMessage(Component.text("§a✓ Arena is fully set up!", NamedTextColor.GREEN));
                     } else {
                         player.sendMessage(Component.text("§7Missing locations:", NamedTextColor.GRAY));
-                        for (String locType : List.of("LOBBY", "CENTER", "TEAM1_SPAWN", "TEAM2_SPAWN",
-                                "MIN_BOUND", "MAX_BOUND")) {
-                            if (!arena.hasLocation(locType)) {
-                                player.sendMessage(Component.text("  §c✗ " + locType, NamedTextColor.RED));
-                            }
+                        for (String locType : arena.getMissingLocations()) {
+                            player.sendMessage(Component.text("  §c✗ " + locType, NamedTextColor.RED));
                         }
                     }
                 });
@@ -362,19 +456,129 @@ public class DodgeBallCommands implements CommandFactory {
                 });
     }
 
-    private @NonNull Component msg(@NonNull String key) {
-        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
-        if (messages == null) {
-            return Component.text("Missing messages config!");
+    private @NonNull CommandAPICommand buildReplayCommand() {
+        return new CommandAPICommand("replay")
+                .withArguments(new StringArgument("match")
+                        .replaceSuggestions(ArgumentSuggestions.strings(info -> {
+                            List<String> suggestions = new ArrayList<>();
+                            suggestions.add("stop");
+                            plugin.getComponent(ReplayManager.class).getReplayIds().stream()
+                                    .limit(20)
+                                    .forEach(id -> suggestions.add(String.valueOf(id)));
+                            return suggestions.toArray(String[]::new);
+                        })))
+                .executesPlayer((player, args) -> {
+                    String match = (String) Objects.requireNonNull(args.get("match"));
+                    ReplayManager replayManager = plugin.getComponent(ReplayManager.class);
+
+                    if (match.equalsIgnoreCase("stop")) {
+                        if (!replayManager.isWatching(player)) {
+                            player.sendMessage(Component.text("§cYou are not watching a replay!", NamedTextColor.RED));
+                            return;
+                        }
+                        replayManager.stopPlayback(player);
+                        player.sendMessage(Component.text("§aStopped replay", NamedTextColor.GREEN));
+                        return;
+                    }
+
+                    if (plugin.getComponent(ArenaManager.class).getPlayerArena(player) != null) {
+                        player.sendMessage(Component.text("§cLeave your arena before watching a replay!", NamedTextColor.RED));
+                        return;
+                    }
+
+                    long matchId;
+                    try {
+                        matchId = Long.parseLong(match);
+                    } catch (NumberFormatException e) {
+                        player.sendMessage(Component.text("§cInvalid match id!", NamedTextColor.RED));
+                        return;
+                    }
+
+                    if (!replayManager.play(player, matchId)) {
+                        player.sendMessage(Component.text("§cReplay not found: §e" + matchId, NamedTextColor.RED));
+                    }
+                });
+    }
+
+    private @NonNull CommandAPICommand buildMetricsCommand() {
+        return new CommandAPICommand("metrics")
+                .withOptionalArguments(new StringArgument("arena")
+                        .replaceSuggestions(ArgumentSuggestions.strings(info ->
+                                plugin.getComponent(MetricsManager.class).getArenaMetrics().stream()
+                                        .map(ArenaMetrics::getArenaId)
+                                        .toArray(String[]::new)
+                        )))
+                .executesPlayer((player, args) -> {
+                    MetricsManager metricsManager = plugin.getComponent(MetricsManager.class);
+                    String arenaId = (String) args.getOptional("arena").orElse(null);
+
+                    player.sendMessage(Component.text("§6§l=== DodgeBall Metrics ==="));
+
+                    if (arenaId != null) {
+                        ArenaMetrics metrics = metricsManager.getArenaMetrics(arenaId);
+                        if (metrics == null) {
+                            player.sendMessage(Component.text("§cNo metrics for arena: §e" + arenaId, NamedTextColor.RED));
+                            return;
+                        }
+
+                        sendArenaMetrics(player, metrics);
+                        player.sendMessage(Component.text("§7Packets by type (total):"));
+                        metrics.getPackets().entrySet().stream()
+                                .sorted((a, b) -> Long.compare(b.getValue().getBytes(), a.getValue().getBytes()))
+                                .limit(10)
+                                .forEach(entry -> player.sendMessage(Component.text(
+                                        "§8 - §f" + entry.getKey() + " §7x" + entry.getValue().getPackets() +
+                                                " §8(§f" + formatBytes(entry.getValue().getBytes()) + "§8)")));
+                        return;
+                    }
+
+                    if (metricsManager.getArenaMetrics().isEmpty()) {
+                        player.sendMessage(Component.text("§7No arena activity recorded yet"));
+                    }
+                    metricsManager.getArenaMetrics().forEach(metrics -> sendArenaMetrics(player, metrics));
+
+                    LatencyHistogram statsSave = metricsManager.getStatsSave();
+                    player.sendMessage(Component.text("§7Stats save: §f" + formatNanos(statsSave.getValueAtQuantile(0.5)) +
+                            " §7p50, §f" + formatNanos(statsSave.getValueAtQuantile(0.99)) +
+                            " §7p99 §8(" + statsSave.getCount() + " saves)"));
+                });
+    }
+
+    private void sendArenaMetrics(@NonNull Player player, @NonNull ArenaMetrics metrics) {
+        LatencyHistogram tickTime = metrics.getTickTime();
+        player.sendMessage(Component.text("§e" + metrics.getArenaId() + " §8- §f" + metrics.getActiveBalls() + " §7balls"));
+        player.sendMessage(Component.text("§7  Tick: §f" + formatNanos(tickTime.getValueAtQuantile(0.5)) +
+                " §7p50, §f" + formatNanos(tickTime.getValueAtQuantile(0.99)) +
+                " §7p99, §f" + formatNanos(tickTime.getMax()) + " §7max"));
+        player.sendMessage(Component.text(String.format(Locale.ROOT,
+                "§7  Per tick: §f%.1f §7collision checks, §f%.2f §7hits, §f%.1f §7packets, §f%s",
+                metrics.getCollisionChecksPerTick(), metrics.getHitsPerTick(),
+                metrics.getPacketsPerTick(), formatBytes((long) metrics.getBytesPerTick()))));
+        if (metrics.getUpdateInterval() > 1) {
+            player.sendMessage(Component.text("§c  Over tick budget: §fupdating every " +
+                    metrics.getUpdateInterval() + " ticks"));
         }
+    }
 
-        String msg = messages.getString("messages." + key);
-        if (msg == null) {
-            return Component.text("Missing message: " + key);
+    private @NonNull String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
         }
+        return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+    }
+
+    private @NonNull String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1fMB", bytes / (1024.0 * 1024.0));
+        }
+        if (bytes >= 1024) {
+            return String.format(Locale.ROOT, "%.1fKB", bytes / 1024.0);
+        }
+        return bytes + "B";
+    }
 
-        String prefix = messages.getString("prefix", "§6[DodgeBall] §r");
-        return Component.text(prefix + msg);
+    private @NonNull Component msg(@NonNull Player player, @NonNull String key, @NonNull Object @NonNull ... args) {
+        return plugin.getComponent(MessageManager.class).prefixed(player, key, args);
     }
 
     private void sendHelpMessage(@NonNull Player player) {
@@ -383,6 +587,8 @@ public class DodgeBallCommands implements CommandFactory {
         player.sendMessage(Component.text("§6§l═══════════════════════════════"));
         player.sendMessage(Component.text("§b/dodgeball join <arena> §7- Join an arena"));
         player.sendMessage(Component.text("§b/dodgeball leave §7- Leave current arena"));
+        player.sendMessage(Component.text("§b/dodgeball queue [mode|leave] §7- Find a match automatically"));
+        player.sendMessage(Component.text("§b/dodgeball spectate <arena|leave> §7- Watch an arena"));
         player.sendMessage(Component.text("§b/dodgeball list §7- List all arenas"));
         player.sendMessage(Component.text("§b/dodgeball stats [player] §7- View statistics"));
         player.sendMessage(Component.text("§6§l═══════════════════════════════"));
@@ -399,6 +605,8 @@ public class DodgeBallCommands implements CommandFactory {
         player.sendMessage(Component.text("§b/dba start <arena>"));
         player.sendMessage(Component.text("§b/dba stop <arena>"));
         player.sendMessage(Component.text("§b/dba info <arena>"));
+        player.sendMessage(Component.text("§b/dba replay <match|stop>"));
+        player.sendMessage(Component.text("§b/dba metrics [arena]"));
         player.sendMessage(Component.text("§b/dba reload"));
         player.sendMessage(Component.text("§6§l═══════════════════════════════"));
     }
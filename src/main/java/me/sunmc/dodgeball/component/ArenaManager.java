@@ -2,8 +2,10 @@ package me.sunmc.dodgeball.component;
 
 import me.sunmc.dodgeball.DodgeBall;
 import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.game.Game;
 import me.sunmc.dodgeball.game.PlayMode;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.powerup.ArenaPowerUps;
 import me.sunmc.tools.Tools;
 import me.sunmc.tools.component.Component;
 import me.sunmc.tools.configuration.ConfigurationProvider;
@@ -28,6 +30,7 @@ public class ArenaManager implements Component {
     private final @NonNull DodgeBall plugin;
     private final @NonNull Map<String, Arena> arenas;
     private final @NonNull Map<UUID, Arena> playerArenas;
+    private final @NonNull Map<UUID, Arena> watchedArenas = new ConcurrentHashMap<>();
 
     public ArenaManager(@NonNull DodgeBall plugin) {
         this.plugin = plugin;
@@ -49,6 +52,7 @@ public class ArenaManager implements Component {
 
         // Remove all players from arenas
         new ArrayList<>(playerArenas.keySet()).forEach(this::removePlayer);
+        new ArrayList<>(watchedArenas.keySet()).forEach(this::stopSpectating);
         arenas.clear();
     }
 
@@ -165,7 +169,7 @@ public class ArenaManager implements Component {
         config.set(arena.getMaxPlayers(), path + ".max-players");
 
         // Save locations
-        for (String locType : List.of("LOBBY", "CENTER", "TEAM1_SPAWN", "TEAM2_SPAWN", "SPECTATOR", "MIN_BOUND", "MAX_BOUND")) {
+        for (String locType : Arena.LOCATION_TYPES) {
             Location loc = arena.getLocation(locType);
             if (loc != null) {
                 String locPath = path + ".locations." + locType.toLowerCase().replace("_", "-");
@@ -193,7 +197,10 @@ public class ArenaManager implements Component {
         // Save current arenas first
         saveArenas();
 
-        // Clear and reload
+        // Clear and reload; timers of the old arena objects must not outlive them
+        TimerManager timers = plugin.getComponent(TimerManager.class);
+        arenas.values().forEach(timers::cancelAll);
+        new ArrayList<>(watchedArenas.keySet()).forEach(this::stopSpectating);
         arenas.clear();
         loadArenas();
     }
@@ -220,6 +227,12 @@ public class ArenaManager implements Component {
 
         // Remove all players
         new ArrayList<>(arena.getPlayers()).forEach(p -> removePlayer(p.getUuid()));
+        watchedArenas.forEach((playerId, watched) -> {
+            if (watched == arena) {
+                stopSpectating(playerId);
+            }
+        });
+        plugin.getComponent(TimerManager.class).cancelAll(arena);
 
         // Remove from config
         Optional<ConfigurationProvider> configOpt = plugin.getRegisteredConfig("arenas");
@@ -247,11 +260,17 @@ public class ArenaManager implements Component {
         return playerArenas.get(player.getUniqueId());
     }
 
+    public @Nullable Arena getPlayerArena(@NonNull UUID playerId) {
+        return playerArenas.get(playerId);
+    }
+
     public boolean addPlayer(@NonNull Player player, @NonNull Arena arena) {
         DodgeBallPlayer dbPlayer = Tools.getComponent(me.sunmc.dodgeball.component.PlayerManager.class).getPlayer(player);
 
+        stopSpectating(player.getUniqueId());
         if (arena.addPlayer(dbPlayer)) {
             playerArenas.put(player.getUniqueId(), arena);
+            Tools.getComponent(MatchmakingService.class).dequeue(player.getUniqueId());
             return true;
         }
         return false;
@@ -262,8 +281,55 @@ public class ArenaManager implements Component {
         if (arena != null) {
             DodgeBallPlayer dbPlayer = Tools.getComponent(me.sunmc.dodgeball.component.PlayerManager.class).getPlayer(playerId);
             if (dbPlayer != null) {
+                arena.getSpectators().release(dbPlayer);
+                Game game = arena.getCurrentGame();
+                ArenaPowerUps powerUps = game != null ? game.getPowerUps() : null;
+                if (powerUps != null) {
+                    powerUps.onLeave(dbPlayer);
+                }
                 arena.removePlayer(dbPlayer);
             }
         }
+        stopSpectating(playerId);
+    }
+
+    /**
+     * Lets a player outside any arena watch one
+     *
+     * @return False if they are playing in an arena
+     */
+    public boolean spectate(@NonNull Player player, @NonNull Arena arena) {
+        if (playerArenas.containsKey(player.getUniqueId())) {
+            return false;
+        }
+
+        stopSpectating(player.getUniqueId());
+        DodgeBallPlayer dbPlayer = Tools.getComponent(me.sunmc.dodgeball.component.PlayerManager.class).getPlayer(player);
+        if (arena.getSpectators().addWatcher(dbPlayer)) {
+            watchedArenas.put(player.getUniqueId(), arena);
+        }
+        return true;
+    }
+
+    /**
+     * Stops a player watching an arena, if they are
+     *
+     * @return False if they were not watching
+     */
+    public boolean stopSpectating(@NonNull UUID playerId) {
+        Arena arena = watchedArenas.remove(playerId);
+        if (arena == null) {
+            return false;
+        }
+
+        DodgeBallPlayer dbPlayer = Tools.getComponent(me.sunmc.dodgeball.component.PlayerManager.class).getPlayer(playerId);
+        if (dbPlayer != null) {
+            arena.getSpectators().removeWatcher(dbPlayer);
+        }
+        return true;
+    }
+
+    public @Nullable Arena getSpectatedArena(@NonNull UUID playerId) {
+        return watchedArenas.get(playerId);
     }
 }
\ No newline at end of file
@@ -3,27 +3,55 @@ package me.sunmc.dodgeball.component;
 
 import me.sunmc.dodgeball.DodgeBall;
 import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.arena.ArenaTicker;
 import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.jfr.BallSpawnBroadcastEvent;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.scheduler.ServerScheduler;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
 import me.sunmc.tools.component.Component;
+import me.sunmc.tools.configuration.ConfigurationProvider;
 import me.sunmc.tools.component.DependencyComponent;
 import me.sunmc.tools.registry.AutoRegister;
-import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages all active balls - FULLY IMPLEMENTED
+ * <p>
+ * Every arena simulates its own balls through its {@link ArenaTicker}, so a
+ * crowded arena only throttles itself. On Paper one task drives all arenas:
+ * it starts every due update first, so the arena workers run in parallel,
+ * and then applies the results. On Folia each arena with balls gets its own
+ * task on the region owning the arena, which stops again once the arena has
+ * no balls left.
  */
 @AutoRegister(Component.class)
-@DependencyComponent({ArenaManager.class})
+@DependencyComponent({ArenaManager.class, MetricsManager.class, SchedulerManager.class})
 public class BallManager implements Component {
 
     private final @NonNull DodgeBall plugin;
     private final @NonNull List<Ball> activeBalls;
-    private int taskId = -1;
+    private final @NonNull Set<Arena> tickingArenas = ConcurrentHashMap.newKeySet();
+    private final @NonNull Map<Arena, TaskHandle> arenaTasks = new HashMap<>();
+    private @Nullable TaskHandle task;
+    private long budgetNanos = 2_000_000;
+    private int tickRate = 1;
+    private int maxInterval = 4;
+    private boolean parallel = true;
+    private int spectatorInterval = 4;
 
     public BallManager(@NonNull DodgeBall plugin) {
         this.plugin = plugin;
@@ -32,26 +60,127 @@ public class BallManager implements Component {
 
     @Override
     public void onEnable() {
-        // Start ball physics task
-        taskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin,
-                this::tickAllBalls, 0L, 1L);
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        if (config != null) {
+            budgetNanos = (long) (config.getNode("performance", "arena-tick-budget-ms").getDouble(2.0) * 1_000_000);
+            tickRate = config.getNode("performance", "ball-tick-rate").getInt(1);
+            maxInterval = config.getNode("performance", "max-arena-tick-interval").getInt(4);
+            parallel = config.getNode("performance", "parallel-ball-physics").getBoolean(true);
+            spectatorInterval = config.getNode("performance", "spectator-update-interval").getInt(4);
+        }
+
+        // Start ball physics task; on Folia arenas start their own when balls spawn
+        ServerScheduler scheduler = plugin.getComponent(SchedulerManager.class).getScheduler();
+        if (!scheduler.isRegionThreaded()) {
+            task = scheduler.runGlobalTimer(this::tickAllArenas, 0L, 1L);
+        }
 
         plugin.getLogger().info("Ball manager enabled with physics task");
     }
 
     @Override
     public void onDisable() {
-        if (taskId != -1) {
-            Bukkit.getScheduler().cancelTask(taskId);
+        if (task != null) {
+            task.cancel();
         }
+        synchronized (arenaTasks) {
+            arenaTasks.values().forEach(TaskHandle::cancel);
+            arenaTasks.clear();
+        }
+        tickingArenas.forEach(arena -> arena.getTicker().close());
+        tickingArenas.clear();
 
         activeBalls.forEach(Ball::despawnForAll);
         activeBalls.clear();
     }
 
     public void spawnBall(@NonNull Ball ball) {
+        BallSpawnBroadcastEvent event = new BallSpawnBroadcastEvent();
+        event.begin();
+
+        Arena arena = ball.getArena();
         activeBalls.add(ball);
-        ball.getArena().getPlayers().forEach(p -> ball.spawnForPlayer(p.getPlayer()));
+        arena.getTicker().add(ball);
+        startTicking(arena);
+
+        // Spectators get balls from the arena's relay
+        int viewers = 0;
+        for (DodgeBallPlayer player : arena.getPlayers()) {
+            if (!player.isSpectating()) {
+                ball.spawnForPlayer(player.getPlayer());
+                viewers++;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.viewers = viewers;
+            event.commit();
+        }
+    }
+
+    /**
+     * Throws several balls at once, fanned out to both sides of the velocity
+     * <p>
+     * The balls take consecutive entity IDs from one reservation, join the
+     * arena's ticker together, and every viewer gets all of their spawn
+     * packets in one group.
+     *
+     * @param count  Number of balls, at least one
+     * @param spread Angle between neighbouring balls, in radians
+     */
+    public @NonNull List<Ball> spawnBurst(@NonNull Arena arena, @Nullable DodgeBallPlayer thrower,
+                                          @NonNull Location origin, @NonNull Vector velocity,
+                                          @NonNull ItemStack ballItem, int count, double spread) {
+        BallSpawnBroadcastEvent event = new BallSpawnBroadcastEvent();
+        event.begin();
+
+        int size = Math.max(1, count);
+        int firstId = Ball.reserveEntityIds(size);
+        List<Ball> balls = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // 0, -1, +1, -2, +2, ... steps from the middle
+            double angle = spread * ((i + 1) / 2) * (i % 2 == 0 ? 1 : -1);
+            balls.add(new Ball(arena, thrower, origin, velocity.clone().rotateAroundY(angle), ballItem, firstId + i));
+        }
+
+        activeBalls.addAll(balls);
+        ArenaTicker ticker = arena.getTicker();
+        balls.forEach(ticker::add);
+        startTicking(arena);
+
+        List<DodgeBallPlayer> members = arena.getPlayers();
+        List<Player> viewers = new ArrayList<>(members.size());
+        for (DodgeBallPlayer member : members) {
+            if (!member.isSpectating()) {
+                viewers.add(member.getPlayer());
+            }
+        }
+        Ball.spawnAll(balls, viewers);
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.viewers = viewers.size();
+            event.commit();
+        }
+        return balls;
+    }
+
+    /**
+     * Makes sure an arena is updated every tick; it stops again once its ticker is idle
+     */
+    public void startTicking(@NonNull Arena arena) {
+        arena.getTicker().configure(budgetNanos, tickRate, maxInterval, parallel);
+        arena.getSpectators().configure(spectatorInterval);
+
+        SchedulerManager schedulers = plugin.getComponent(SchedulerManager.class);
+        if (schedulers.getScheduler().isRegionThreaded()) {
+            synchronized (arenaTasks) {
+                arenaTasks.computeIfAbsent(arena, key -> schedulers.runAtTimer(key, () -> tickArena(key), 1L, 1L));
+            }
+        } else {
+            tickingArenas.add(arena);
+        }
     }
 
     public void removeBall(@NonNull Ball ball) {
@@ -59,18 +188,46 @@ public class BallManager implements Component {
         ball.despawnForAll();
     }
 
-    private void tickAllBalls() {
-        activeBalls.parallelStream().forEach(ball -> {
-            try {
-                ball.tick();
-                if (!ball.isActive()) {
-                    activeBalls.remove(ball);
+    /**
+     * Paper: starts the due update of every arena, then applies them all
+     */
+    private void tickAllArenas() {
+        for (Arena arena : tickingArenas) {
+            arena.getTicker().begin();
+        }
+        for (Arena arena : tickingArenas) {
+            ArenaTicker ticker = arena.getTicker();
+            ticker.finish();
+            if (ticker.isIdle()) {
+                tickingArenas.remove(arena);
+                ticker.close();
+            }
+        }
+
+        activeBalls.removeIf(ball -> !ball.isActive());
+    }
+
+    /**
+     * Folia: ticks the balls of one arena on its region thread
+     */
+    private void tickArena(@NonNull Arena arena) {
+        ArenaTicker ticker = arena.getTicker();
+        ticker.begin();
+        ticker.finish();
+        activeBalls.removeIf(ball -> ball.getArena() == arena && !ball.isActive());
+
+        if (ticker.isIdle()) {
+            synchronized (arenaTasks) {
+                // A ball spawned after the check lands in the ticker's queue, so re-check under the lock
+                if (ticker.isIdle()) {
+                    TaskHandle arenaTask = arenaTasks.remove(arena);
+                    if (arenaTask != null) {
+                        arenaTask.cancel();
+                    }
+                    ticker.close();
                 }
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error ticking ball: " + e.getMessage());
-                activeBalls.remove(ball);
             }
-        });
+        }
     }
 
     public @NonNull List<Ball> getActiveBalls() {
@@ -45,6 +45,7 @@ public class GameManager implements Component {
         }
 
         Game game = new Game(arena, arena.getGameMode(), plugin);
+        arena.setCurrentGame(game);
         game.start();
         activeGames.put(arena, game);
     }
@@ -56,6 +57,13 @@ public class GameManager implements Component {
         }
     }
 
+    /**
+     * Forgets a game that ended by itself; called from {@link Game#end()}
+     */
+    public void removeGame(@NonNull Game game) {
+        activeGames.remove(game.getArena(), game);
+    }
+
     public @Nullable Game getGame(@NonNull Arena arena) {
         return activeGames.get(arena);
     }
@@ -0,0 +1,127 @@
+package me.sunmc.dodgeball.component;
+
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.journal.JournalEventType;
+import me.sunmc.dodgeball.journal.JournalRecord;
+import me.sunmc.dodgeball.journal.JournalRingBuffer;
+import me.sunmc.dodgeball.journal.JournalWriter;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Append-only match journal - FULLY IMPLEMENTED
+ * <p>
+ * Game code records throws, hits, catches and pickups into a lock-free ring;
+ * a background {@link JournalWriter} drains it to size-rotated segment files.
+ */
+@AutoRegister(Component.class)
+public class JournalManager implements Component {
+
+    private final @NonNull DodgeBall plugin;
+    private @Nullable JournalRingBuffer ring;
+    private @Nullable JournalWriter writer;
+
+    public JournalManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onEnable() {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+
+        boolean enabled = config == null || config.getNode("journal", "enabled").getBoolean(true);
+        if (!enabled) {
+            plugin.getLogger().info("Match journal disabled");
+            return;
+        }
+
+        int bufferSize = config == null ? 8192 : config.getNode("journal", "buffer-size").getInt(8192);
+        long segmentSize = (config == null ? 16 : config.getNode("journal", "segment-size-mb").getLong(16)) * 1024 * 1024;
+
+        ring = new JournalRingBuffer(bufferSize, JournalRecord.RECORD_SIZE);
+        writer = new JournalWriter(new File(plugin.getDataFolder(), "journal"), ring, plugin.getLogger(), segmentSize);
+        writer.start();
+
+        plugin.getLogger().info("Match journal enabled");
+    }
+
+    @Override
+    public void onDisable() {
+        if (writer != null) {
+            writer.stop();
+        }
+
+        if (ring != null && ring.getDropped() > 0) {
+            plugin.getLogger().warning("Match journal dropped " + ring.getDropped() + " records (ring buffer full)");
+        }
+    }
+
+    /**
+     * Records a player event; safe to call from any thread and never blocks
+     */
+    public void record(@NonNull JournalEventType type, long matchId,
+                       @Nullable DodgeBallPlayer actor, @Nullable DodgeBallPlayer target,
+                       int ballEntityId, @NonNull Location location) {
+        write(type, matchId,
+                actor != null ? actor.getUuid() : null, actor != null ? actor.getTeam() : null,
+                target != null ? target.getUuid() : null, target != null ? target.getTeam() : null,
+                null, ballEntityId, location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Records the start or end of a match; for MATCH_END the winner goes into the flags byte
+     */
+    public void recordMatch(@NonNull JournalEventType type, long matchId, @Nullable Team winner) {
+        write(type, matchId, null, null, null, null, winner, 0, 0, 0, 0);
+    }
+
+    private void write(@NonNull JournalEventType type, long matchId,
+                       @Nullable UUID actor, @Nullable Team actorTeam,
+                       @Nullable UUID target, @Nullable Team targetTeam,
+                       @Nullable Team flagTeam, int ballEntityId, double x, double y, double z) {
+        JournalRingBuffer current = ring;
+        if (current == null) {
+            return;
+        }
+
+        long sequence = current.claim();
+        if (sequence < 0) {
+            return;
+        }
+
+        ByteBuffer buffer = current.buffer();
+        int base = current.offsetOf(sequence);
+
+        buffer.put(base + JournalRecord.OFF_TYPE, (byte) type.getId());
+        buffer.put(base + JournalRecord.OFF_ACTOR_TEAM, teamId(actorTeam));
+        buffer.put(base + JournalRecord.OFF_TARGET_TEAM, teamId(targetTeam));
+        buffer.put(base + JournalRecord.OFF_FLAGS, teamId(flagTeam));
+        buffer.putInt(base + JournalRecord.OFF_BALL, ballEntityId);
+        buffer.putLong(base + JournalRecord.OFF_TIMESTAMP, System.currentTimeMillis());
+        buffer.putLong(base + JournalRecord.OFF_MATCH, matchId);
+        buffer.putLong(base + JournalRecord.OFF_ACTOR, actor != null ? actor.getMostSignificantBits() : 0);
+        buffer.putLong(base + JournalRecord.OFF_ACTOR + 8, actor != null ? actor.getLeastSignificantBits() : 0);
+        buffer.putLong(base + JournalRecord.OFF_TARGET, target != null ? target.getMostSignificantBits() : 0);
+        buffer.putLong(base + JournalRecord.OFF_TARGET + 8, target != null ? target.getLeastSignificantBits() : 0);
+        buffer.putFloat(base + JournalRecord.OFF_X, (float) x);
+        buffer.putFloat(base + JournalRecord.OFF_Y, (float) y);
+        buffer.putFloat(base + JournalRecord.OFF_Z, (float) z);
+
+        current.publish(sequence);
+    }
+
+    private static byte teamId(@Nullable Team team) {
+        return team == null ? 0 : (byte) (team.ordinal() + 1);
+    }
+}
@@ -0,0 +1,182 @@
+package me.sunmc.dodgeball.component;
+
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.arena.ArenaState;
+import me.sunmc.dodgeball.game.PlayMode;
+import me.sunmc.dodgeball.matchmaking.MatchmakingQueue;
+import me.sunmc.dodgeball.matchmaking.QueueEntry;
+import me.sunmc.dodgeball.matchmaking.SkillRating;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.component.DependencyComponent;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.Bukkit;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Global matchmaking queue across arenas - FULLY IMPLEMENTED
+ * <p>
+ * Queued players are bucketed by {@link SkillRating}. Periodically every ready
+ * arena, least loaded first, is topped up from the bucket nearest its players'
+ * rating (or the first player in line for an empty arena). The search widens
+ * by one bucket for every {@code spread-seconds} the first player has waited.
+ * Players with {@code dodgeball.vip.priority} are always first in line.
+ * <p>
+ * The pass only picks arenas and players, on the global region; each arena's
+ * placements then run on the thread owning that arena, and each player is
+ * told on their own thread.
+ */
+@AutoRegister(Component.class)
+@DependencyComponent({ArenaManager.class, PlayerManager.class, SchedulerManager.class})
+public class MatchmakingService implements Component {
+
+    public static final String VIP_PERMISSION = "dodgeball.vip.priority";
+
+    private final @NonNull DodgeBall plugin;
+    private @NonNull MatchmakingQueue queue = new MatchmakingQueue(100);
+    private int spreadSeconds = 15;
+    private int maxSpread = 5;
+    private @Nullable TaskHandle task;
+
+    public MatchmakingService(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onEnable() {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+
+        long interval = 20;
+        if (config != null) {
+            queue = new MatchmakingQueue(config.getNode("matchmaking", "bucket-width").getInt(100));
+            spreadSeconds = Math.max(1, config.getNode("matchmaking", "spread-seconds").getInt(15));
+            maxSpread = config.getNode("matchmaking", "max-spread").getInt(5);
+            interval = Math.max(1, config.getNode("matchmaking", "interval-ticks").getLong(20));
+        }
+
+        task = plugin.getComponent(SchedulerManager.class).getScheduler().runGlobalTimer(this::match, interval, interval);
+
+        plugin.getLogger().info("Matchmaking service enabled");
+    }
+
+    @Override
+    public void onDisable() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Queues a player for the next fitting arena
+     *
+     * @param mode Wanted mode, or null for any
+     * @return The queue entry, or null if the player is already in an arena
+     */
+    public @Nullable QueueEntry enqueue(@NonNull Player player, @Nullable PlayMode mode) {
+        if (plugin.getComponent(ArenaManager.class).getPlayerArena(player) != null) {
+            return null;
+        }
+
+        DodgeBallPlayer dbPlayer = plugin.getComponent(PlayerManager.class).getPlayer(player);
+        return queue.enqueue(player.getUniqueId(), mode, SkillRating.estimate(dbPlayer.getStats()),
+                player.hasPermission(VIP_PERMISSION));
+    }
+
+    public boolean dequeue(@NonNull UUID playerId) {
+        return queue.remove(playerId) != null;
+    }
+
+    public boolean isQueued(@NonNull UUID playerId) {
+        return queue.contains(playerId);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * One matchmaking pass over every arena that can take players
+     */
+    private void match() {
+        if (queue.size() == 0) {
+            return;
+        }
+
+        ArenaManager arenaManager = plugin.getComponent(ArenaManager.class);
+        List<Arena> ready = arenaManager.getArenas().stream()
+                .filter(Arena::isSetup)
+                .filter(arena -> arena.getState() == ArenaState.WAITING || arena.getState() == ArenaState.STARTING)
+                .filter(arena -> !arena.isFull())
+                .sorted(Comparator.comparingDouble((Arena arena) -> (double) arena.getPlayers().size() / arena.getMaxPlayers())
+                        .thenComparing(Arena::getArenaId))
+                .toList();
+
+        SchedulerManager schedulers = plugin.getComponent(SchedulerManager.class);
+        long now = System.currentTimeMillis();
+        for (Arena arena : ready) {
+            if (queue.size() == 0) {
+                return;
+            }
+
+            QueueEntry first = queue.peekFirst(arena.getGameMode());
+            if (first == null) {
+                continue;
+            }
+
+            List<DodgeBallPlayer> present = arena.getPlayers();
+            int free = arena.getMaxPlayers() - present.size();
+            int spread = (int) Math.min(maxSpread, (now - first.getEnqueuedAt()) / 1000 / spreadSeconds);
+            int center = present.isEmpty() ? first.getBucket() : queue.bucketOf(averageRating(present));
+
+            // Only open an empty arena once there are enough similar players to start it
+            int needed = present.isEmpty() ? arena.getMinPlayers() : 1;
+            if (queue.countAvailable(arena.getGameMode(), center, spread) < needed) {
+                continue;
+            }
+
+            List<QueueEntry> picked = queue.poll(arena.getGameMode(), center, spread, free);
+            if (!picked.isEmpty()) {
+                schedulers.runAt(arena, () -> picked.forEach(entry -> place(entry, arena, arenaManager)), 0L);
+            }
+        }
+    }
+
+    /**
+     * Adds a matched player to the arena; on the thread owning the arena, so a failed add goes back in line
+     */
+    private void place(@NonNull QueueEntry entry, @NonNull Arena arena, @NonNull ArenaManager arenaManager) {
+        Player player = Bukkit.getPlayer(entry.getPlayerId());
+        if (player == null || !player.isOnline() || arenaManager.getPlayerArena(player) != null) {
+            return;
+        }
+
+        if (!arenaManager.addPlayer(player, arena)) {
+            queue.requeue(entry);
+            return;
+        }
+
+        plugin.getComponent(SchedulerManager.class).getScheduler().runFor(player, () -> {
+            player.sendMessage(plugin.getComponent(MessageManager.class).get(player, "queue-match-found", "arena", arena.getDisplayName()));
+            player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
+        }, 0L);
+    }
+
+    private double averageRating(@NonNull List<DodgeBallPlayer> players) {
+        double total = 0;
+        for (DodgeBallPlayer player : players) {
+            total += SkillRating.estimate(player.getStats());
+        }
+        return total / players.size();
+    }
+}
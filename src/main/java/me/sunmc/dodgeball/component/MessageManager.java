@@ -0,0 +1,212 @@
+package me.sunmc.dodgeball.component;
+
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.message.MessageCatalog;
+import me.sunmc.dodgeball.message.TranslationCache;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Serves the messages of messages.yml and its translations - FULLY IMPLEMENTED
+ * <p>
+ * messages.yml is compiled into a {@link MessageCatalog} on enable and on
+ * every reload, so sending a message never touches the configuration or
+ * parses colour codes again. Translations live in {@code lang/<locale>.yml}
+ * with the same layout; each is compiled on top of messages.yml the first
+ * time a player with that client locale needs a message, and kept in a
+ * bounded {@link TranslationCache}.
+ */
+@AutoRegister(Component.class)
+public class MessageManager implements Component {
+
+    private static final int DEFAULT_CACHE_SIZE = 8;
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull File langDirectory;
+    private volatile @NonNull MessageCatalog catalog = MessageCatalog.EMPTY;
+    private volatile @NonNull TranslationCache translations = new TranslationCache(1, locale -> null, MessageCatalog.EMPTY);
+    private volatile @NonNull NavigableMap<String, File> bundles = new TreeMap<>();
+    private volatile boolean perPlayer = true;
+
+    public MessageManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+        this.langDirectory = new File(plugin.getDataFolder(), "lang");
+    }
+
+    @Override
+    public void onEnable() {
+        if (!langDirectory.exists() && !langDirectory.mkdirs()) {
+            plugin.getLogger().warning("Failed to create lang directory");
+        }
+
+        reload();
+        plugin.getLogger().info("Message manager enabled with " + catalog.size() + " messages and " +
+                bundles.size() + " translations");
+    }
+
+    @Override
+    public void onDisable() {
+    }
+
+    /**
+     * Recompiles messages.yml and forgets every loaded translation
+     */
+    public void reload() {
+        String language = "en_us";
+        int cacheSize = DEFAULT_CACHE_SIZE;
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        if (config != null) {
+            language = config.getNode("settings", "language").getString(language).toLowerCase(Locale.ROOT);
+            cacheSize = config.getNode("settings", "language-cache-size").getInt(DEFAULT_CACHE_SIZE);
+            perPlayer = config.getNode("settings", "per-player-language").getBoolean(true);
+        }
+
+        bundles = scanBundles();
+
+        MessageCatalog base = MessageCatalog.EMPTY;
+        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
+        if (messages == null) {
+            plugin.getLogger().warning("messages.yml not found!");
+        } else {
+            base = MessageCatalog.compile(messages.getNode("prefix"), messages.getNode("messages"));
+        }
+
+        // The configured language replaces messages.yml where it has a bundle of its own
+        MessageCatalog fallback = base;
+        MessageCatalog configured = loadBundle(language, base);
+        if (configured != null) {
+            fallback = configured;
+        }
+
+        MessageCatalog parent = base;
+        translations = new TranslationCache(cacheSize, locale -> loadBundle(locale, parent), fallback);
+        catalog = fallback;
+    }
+
+    /**
+     * Renders a message in the server language
+     *
+     * @param key  Key below {@code messages}, e.g. {@code hit-player}
+     * @param args Placeholder names and values, alternating
+     */
+    public net.kyori.adventure.text.@NonNull Component get(@NonNull String key, @NonNull Object @NonNull ... args) {
+        return catalog.render(key, args);
+    }
+
+    /**
+     * Renders a message in the server language behind the configured prefix
+     */
+    public net.kyori.adventure.text.@NonNull Component prefixed(@NonNull String key, @NonNull Object @NonNull ... args) {
+        return catalog.renderPrefixed(key, args);
+    }
+
+    /**
+     * Renders a message in a player's language
+     */
+    public net.kyori.adventure.text.@NonNull Component get(@NonNull Player player, @NonNull String key,
+                                                           @NonNull Object @NonNull ... args) {
+        return getCatalog(player).render(key, args);
+    }
+
+    /**
+     * Renders a message in a player's language behind the configured prefix
+     */
+    public net.kyori.adventure.text.@NonNull Component prefixed(@NonNull Player player, @NonNull String key,
+                                                                @NonNull Object @NonNull ... args) {
+        return getCatalog(player).renderPrefixed(key, args);
+    }
+
+    /**
+     * Gets the catalog for a player's client locale
+     */
+    public @NonNull MessageCatalog getCatalog(@NonNull Player player) {
+        if (!perPlayer || bundles.isEmpty()) {
+            return catalog;
+        }
+        return translations.get(key(player.locale()));
+    }
+
+    /**
+     * Gets the catalog in the server language
+     */
+    public @NonNull MessageCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Loads the translation for a locale off the main thread, so the first message in it does not read a file
+     */
+    public void preload(@NonNull Locale locale) {
+        if (perPlayer && !bundles.isEmpty()) {
+            TranslationCache translations = this.translations;
+            plugin.getSchedulerAdapter().async().execute(() -> translations.get(key(locale)));
+        }
+    }
+
+    private static @NonNull String key(@NonNull Locale locale) {
+        return locale.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds the bundle for a locale: an exact match, the bare language, or
+     * another country of the same language
+     */
+    private @Nullable File resolve(@NonNull String locale) {
+        NavigableMap<String, File> bundles = this.bundles;
+        File file = bundles.get(locale);
+        if (file != null) {
+            return file;
+        }
+
+        int separator = locale.indexOf('_');
+        String language = separator < 0 ? locale : locale.substring(0, separator);
+        file = bundles.get(language);
+        if (file != null) {
+            return file;
+        }
+
+        Map.Entry<String, File> sibling = bundles.ceilingEntry(language + "_");
+        return sibling != null && sibling.getKey().startsWith(language + "_") ? sibling.getValue() : null;
+    }
+
+    private @Nullable MessageCatalog loadBundle(@NonNull String locale, @NonNull MessageCatalog parent) {
+        File file = resolve(locale);
+        if (file == null) {
+            return null;
+        }
+
+        try {
+            ConfigurationNode root = YamlConfigurationLoader.builder().file(file).build().load();
+            return MessageCatalog.compile(root.node("prefix"), root.node("messages"), parent);
+        } catch (ConfigurateException e) {
+            plugin.getLogger().warning("Failed to load translation " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private @NonNull NavigableMap<String, File> scanBundles() {
+        NavigableMap<String, File> found = new TreeMap<>();
+        File[] files = langDirectory.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                found.put(name.substring(0, name.length() - 4).toLowerCase(Locale.ROOT), file);
+            }
+        }
+        return found;
+    }
+}
@@ -4,6 +4,7 @@ package me.sunmc.dodgeball.component;
 import me.sunmc.dodgeball.DodgeBall;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
 import me.sunmc.tools.component.Component;
+import me.sunmc.tools.component.DependencyComponent;
 import me.sunmc.tools.registry.AutoRegister;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -20,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Manages all players - FULLY IMPLEMENTED
  */
 @AutoRegister(Component.class)
+@DependencyComponent({StatsManager.class})
 public class PlayerManager implements Component {
 
     private final @NonNull DodgeBall plugin;
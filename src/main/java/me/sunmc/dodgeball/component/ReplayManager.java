@@ -0,0 +1,222 @@
+package me.sunmc.dodgeball.component;
+
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.replay.ReplayFormat;
+import me.sunmc.dodgeball.replay.ReplayPlayback;
+import me.sunmc.dodgeball.replay.ReplayReader;
+import me.sunmc.dodgeball.replay.ReplayRecorder;
+import me.sunmc.dodgeball.replay.ReplayWriter;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.component.DependencyComponent;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records match replays and plays them back - FULLY IMPLEMENTED
+ * <p>
+ * Each running game gets a {@link ReplayRecorder} writing {@code replays/<match id>.dbr};
+ * {@code /dba replay <id>} streams one back to the sender with fake entities.
+ * Frames are captured on the thread owning the arena, and each playback
+ * advances on the thread owning its viewer.
+ */
+@AutoRegister(Component.class)
+@DependencyComponent({SchedulerManager.class, TimerManager.class})
+public class ReplayManager implements Component {
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull Map<String, ReplayRecorder> recorders = new ConcurrentHashMap<>();
+    private final @NonNull Map<String, TaskHandle> frameTasks = new ConcurrentHashMap<>();
+    private final @NonNull Map<UUID, ReplayPlayback> playbacks = new ConcurrentHashMap<>();
+    private final @NonNull File replayDirectory;
+
+    private @Nullable ExecutorService writerExecutor;
+    private @Nullable Semaphore budget;
+    private boolean enabled;
+    private int ticksPerFrame;
+    private int chunkSize;
+
+    public ReplayManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+        this.replayDirectory = new File(plugin.getDataFolder(), "replays");
+    }
+
+    @Override
+    public void onEnable() {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+
+        enabled = config == null || config.getNode("replay", "enabled").getBoolean(true);
+        ticksPerFrame = config == null ? 2 : config.getNode("replay", "ticks-per-frame").getInt(2);
+        chunkSize = (config == null ? 16 : config.getNode("replay", "chunk-size-kb").getInt(16)) * 1024;
+        int maxPending = config == null ? 1024 : config.getNode("replay", "max-pending-kb").getInt(1024);
+
+        // Pending chunks across all recordings may never exceed max-pending-kb
+        budget = new Semaphore(Math.max(1, maxPending * 1024 / chunkSize));
+        writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DodgeBall-Replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        plugin.getLogger().info("Replay manager enabled" + (enabled ? "" : " (recording disabled)"));
+    }
+
+    @Override
+    public void onDisable() {
+        frameTasks.values().forEach(TaskHandle::cancel);
+        frameTasks.clear();
+
+        new ArrayList<>(playbacks.values()).forEach(ReplayPlayback::stop);
+        playbacks.clear();
+
+        recorders.values().forEach(ReplayRecorder::stop);
+        recorders.clear();
+
+        if (writerExecutor != null) {
+            writerExecutor.shutdown();
+            try {
+                if (!writerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Replay writer did not finish in time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Starts recording a game that is about to begin
+     */
+    public void startRecording(@NonNull Game game) {
+        if (!enabled || writerExecutor == null || budget == null) {
+            return;
+        }
+
+        Arena arena = game.getArena();
+        ReplayWriter writer = new ReplayWriter(getReplayFile(game.getMatchId()), writerExecutor,
+                budget, plugin.getLogger());
+        ReplayRecorder recorder = new ReplayRecorder(arena, game.getMatchId(), ticksPerFrame, chunkSize, writer);
+        ReplayRecorder previous = recorders.put(arena.getArenaId(), recorder);
+        if (previous != null) {
+            previous.stop();
+        }
+
+        // Frames read player locations, so they are captured on the thread owning the arena
+        TaskHandle previousTask = frameTasks.put(arena.getArenaId(),
+                plugin.getComponent(TimerManager.class).scheduleRepeating(arena, recorder::tick, 1L, 1L));
+        if (previousTask != null) {
+            previousTask.cancel();
+        }
+    }
+
+    public void stopRecording(@NonNull Game game) {
+        ReplayRecorder recorder = recorders.get(game.getArena().getArenaId());
+        if (recorder == null || recorder.getMatchId() != game.getMatchId()) {
+            return;
+        }
+
+        recorders.remove(game.getArena().getArenaId());
+        TaskHandle frameTask = frameTasks.remove(game.getArena().getArenaId());
+        if (frameTask != null) {
+            frameTask.cancel();
+        }
+        recorder.stop();
+        if (recorder.isTruncated()) {
+            plugin.getLogger().warning("Replay of match " + game.getMatchId() +
+                    " was cut short (replay writer fell behind)");
+        }
+    }
+
+    /**
+     * Gets the recorder of an arena's running game; balls cache this on spawn
+     */
+    public @Nullable ReplayRecorder getRecorder(@NonNull Arena arena) {
+        return recorders.get(arena.getArenaId());
+    }
+
+    /**
+     * Starts playing a replay to a player, replacing any replay they are watching
+     *
+     * @return False if no replay exists for that match id
+     */
+    public boolean play(@NonNull Player viewer, long matchId) {
+        File file = getReplayFile(matchId);
+        if (!file.exists()) {
+            return false;
+        }
+
+        ReplayReader reader;
+        try {
+            reader = new ReplayReader(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to open replay " + file.getName() + ": " + e.getMessage());
+            return false;
+        }
+
+        stopPlayback(viewer);
+
+        ReplayPlayback playback = new ReplayPlayback(plugin, viewer, reader);
+        playbacks.put(viewer.getUniqueId(), playback);
+        playback.start();
+
+        // Playback moves and teleports the viewer, so it advances on the viewer's own thread
+        playback.setTask(plugin.getComponent(SchedulerManager.class).getScheduler().runForTimer(viewer, () -> {
+            if (!playback.tick()) {
+                playbacks.remove(viewer.getUniqueId(), playback);
+            }
+        }, 1L, 1L));
+        return true;
+    }
+
+    public void stopPlayback(@NonNull Player viewer) {
+        ReplayPlayback playback = playbacks.remove(viewer.getUniqueId());
+        if (playback != null) {
+            playback.stop();
+        }
+    }
+
+    public boolean isWatching(@NonNull Player viewer) {
+        return playbacks.containsKey(viewer.getUniqueId());
+    }
+
+    /**
+     * Gets the match ids of every stored replay, newest first
+     */
+    public @NonNull List<Long> getReplayIds() {
+        File[] files = replayDirectory.listFiles((dir, name) -> name.endsWith(ReplayFormat.EXTENSION));
+        if (files == null) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                ids.add(Long.parseLong(name.substring(0, name.length() - ReplayFormat.EXTENSION.length())));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        ids.sort(Comparator.reverseOrder());
+        return ids;
+    }
+
+    public @NonNull File getReplayFile(long matchId) {
+        return new File(replayDirectory, matchId + ReplayFormat.EXTENSION);
+    }
+}
@@ -0,0 +1,96 @@
+package me.sunmc.dodgeball.component;
+
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.scheduler.ServerScheduler;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import me.sunmc.tools.registry.AutoRegister;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.logging.Level;
+
+/**
+ * Schedules arena work on the thread owning the arena - FULLY IMPLEMENTED
+ * <p>
+ * On Folia every arena ticks on the region holding its anchor location, so
+ * arenas in different regions run on different cores; on Paper everything
+ * stays on the main thread. In debug mode, callers can verify that they run
+ * on the owning thread before touching the world.
+ */
+@AutoRegister(Component.class)
+public class SchedulerManager implements Component {
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull ServerScheduler scheduler;
+    private volatile boolean debug;
+
+    public SchedulerManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+        // Created eagerly so components enabled earlier can already schedule
+        this.scheduler = ServerScheduler.create(plugin);
+    }
+
+    @Override
+    public void onEnable() {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        debug = config != null && config.getNode("settings", "debug-mode").getBoolean(false);
+
+        plugin.getLogger().info("Scheduler manager enabled" +
+                (scheduler.isRegionThreaded() ? " with Folia region scheduling" : ""));
+    }
+
+    @Override
+    public void onDisable() {
+    }
+
+    public @NonNull ServerScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Runs a task on the thread owning an arena
+     */
+    public @NonNull TaskHandle runAt(@NonNull Arena arena, @NonNull Runnable task, long delay) {
+        Location anchor = arena.getAnchor();
+        return anchor != null ? scheduler.runAt(anchor, task, delay) : scheduler.runGlobal(task, delay);
+    }
+
+    /**
+     * Runs a repeating task on the thread owning an arena
+     */
+    public @NonNull TaskHandle runAtTimer(@NonNull Arena arena, @NonNull Runnable task, long delay, long period) {
+        Location anchor = arena.getAnchor();
+        return anchor != null
+                ? scheduler.runAtTimer(anchor, task, delay, period)
+                : scheduler.runGlobalTimer(task, delay, period);
+    }
+
+    /**
+     * Logs when a location is touched from a thread that does not own it; only in debug mode
+     */
+    public void checkOwnership(@NonNull Location location, @NonNull String action) {
+        if (debug && !scheduler.isOwnedByCurrentThread(location)) {
+            reportCrossRegion(action + " at " + location.getWorld().getName() + " " +
+                    location.getBlockX() + "," + location.getBlockY() + "," + location.getBlockZ());
+        }
+    }
+
+    /**
+     * Logs when an entity is touched from a thread that does not own it; only in debug mode
+     */
+    public void checkOwnership(@NonNull Entity entity, @NonNull String action) {
+        if (debug && !scheduler.isOwnedByCurrentThread(entity)) {
+            reportCrossRegion(action + " on " + entity.getName());
+        }
+    }
+
+    private void reportCrossRegion(@NonNull String what) {
+        plugin.getLogger().log(Level.WARNING, "Cross-region access: " + what,
+                new IllegalStateException("Accessed from " + Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,210 @@
+package me.sunmc.dodgeball.component;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.dodgeball.timer.TimerWheel;
+import me.sunmc.tools.component.Component;
+import me.sunmc.tools.component.DependencyComponent;
+import me.sunmc.tools.registry.AutoRegister;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Runs game timers and delayed tasks off one shared timing wheel - FULLY IMPLEMENTED
+ * <p>
+ * A single repeating task advances a {@link TimerWheel} once per tick, so
+ * timers never become scheduler tasks of their own, and scheduling or
+ * cancelling one is O(1). Timers may belong to an arena; {@link #cancelAll(Arena)}
+ * drops every one of them when the arena resets or goes away. Due tasks run
+ * after the wheel is unlocked, and on Folia an arena's tasks are handed to the
+ * region owning it.
+ */
+@AutoRegister(Component.class)
+@DependencyComponent({SchedulerManager.class})
+public class TimerManager implements Component {
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull Object lock = new Object();
+    private final @NonNull TimerWheel wheel = new TimerWheel();
+    private final @NonNull Map<Arena, Set<ScheduledTask>> byArena = new HashMap<>();
+    private final @NonNull List<ScheduledTask> due = new ArrayList<>();
+
+    private @Nullable TaskHandle task;
+
+    public TimerManager(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onEnable() {
+        task = plugin.getComponent(SchedulerManager.class).getScheduler().runGlobalTimer(this::tick, 1L, 1L);
+        plugin.getLogger().info("Timer manager enabled");
+    }
+
+    @Override
+    public void onDisable() {
+        if (task != null) {
+            task.cancel();
+        }
+
+        synchronized (lock) {
+            wheel.cancelAll();
+            byArena.clear();
+            due.clear();
+        }
+    }
+
+    /**
+     * Runs a task once after a delay
+     *
+     * @param arena Arena the task belongs to, on whose thread it runs; null for a global task
+     * @param delay Ticks, where anything below one means the next tick
+     */
+    public @NonNull TaskHandle schedule(@Nullable Arena arena, @NonNull Runnable task, long delay) {
+        return add(new ScheduledTask(this, arena, task, 0L), delay);
+    }
+
+    /**
+     * Runs a task repeatedly
+     *
+     * @param period Ticks between runs
+     */
+    public @NonNull TaskHandle scheduleRepeating(@Nullable Arena arena, @NonNull Runnable task, long delay,
+                                                 long period) {
+        return add(new ScheduledTask(this, arena, task, Math.max(1L, period)), delay);
+    }
+
+    private @NonNull TaskHandle add(@NonNull ScheduledTask scheduled, long delay) {
+        synchronized (lock) {
+            if (scheduled.arena != null) {
+                byArena.computeIfAbsent(scheduled.arena, a -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                        .add(scheduled);
+            }
+            wheel.schedule(scheduled.timer, delay);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Cancels every timer of an arena
+     */
+    public void cancelAll(@NonNull Arena arena) {
+        synchronized (lock) {
+            Set<ScheduledTask> tasks = byArena.remove(arena);
+            if (tasks == null) {
+                return;
+            }
+            for (ScheduledTask scheduled : tasks) {
+                scheduled.cancelled = true;
+                scheduled.timer.cancel();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of timers waiting
+     */
+    public int size() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    private void tick() {
+        List<ScheduledTask> batch;
+        synchronized (lock) {
+            wheel.advance(1);
+            if (due.isEmpty()) {
+                return;
+            }
+
+            batch = new ArrayList<>(due);
+            due.clear();
+            for (ScheduledTask scheduled : batch) {
+                if (scheduled.period > 0 && !scheduled.cancelled) {
+                    wheel.schedule(scheduled.timer, scheduled.period);
+                } else {
+                    unscope(scheduled);
+                }
+            }
+        }
+
+        boolean regionThreaded = plugin.getComponent(SchedulerManager.class).getScheduler().isRegionThreaded();
+        for (ScheduledTask scheduled : batch) {
+            if (scheduled.cancelled) {
+                continue;
+            }
+            if (regionThreaded && scheduled.arena != null) {
+                plugin.getComponent(SchedulerManager.class).runAt(scheduled.arena, scheduled::execute, 0L);
+            } else {
+                scheduled.execute();
+            }
+        }
+    }
+
+    private void unscope(@NonNull ScheduledTask scheduled) {
+        if (scheduled.arena == null) {
+            return;
+        }
+
+        Set<ScheduledTask> tasks = byArena.get(scheduled.arena);
+        if (tasks != null && tasks.remove(scheduled) && tasks.isEmpty()) {
+            byArena.remove(scheduled.arena);
+        }
+    }
+
+    /**
+     * A task waiting in the wheel; its timer only queues it, the task itself runs outside the lock
+     */
+    private static final class ScheduledTask implements TaskHandle {
+        private final @NonNull TimerManager owner;
+        private final @Nullable Arena arena;
+        private final @NonNull Runnable task;
+        private final long period;
+        private final TimerWheel.@NonNull Timer timer;
+        private volatile boolean cancelled;
+
+        private ScheduledTask(@NonNull TimerManager owner, @Nullable Arena arena, @NonNull Runnable task, long period) {
+            this.owner = owner;
+            this.arena = arena;
+            this.task = task;
+            this.period = period;
+            this.timer = new TimerWheel.Timer(() -> owner.due.add(this));
+        }
+
+        private void execute() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                owner.plugin.getLogger().log(Level.SEVERE, "Timer task failed", e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (owner.lock) {
+                timer.cancel();
+                owner.unscope(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
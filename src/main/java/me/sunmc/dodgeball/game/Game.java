@@ -3,17 +3,34 @@ package me.sunmc.dodgeball.game;
 
 import me.sunmc.dodgeball.DodgeBall;
 import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.arena.ArenaAudience;
 import me.sunmc.dodgeball.arena.ArenaState;
 import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.ball.BallTarget;
 import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.GameManager;
+import me.sunmc.dodgeball.component.HudManager;
+import me.sunmc.dodgeball.component.JournalManager;
+import me.sunmc.dodgeball.component.PowerUpManager;
+import me.sunmc.dodgeball.component.ReplayManager;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.component.TimerManager;
+import me.sunmc.dodgeball.jfr.GameEndEvent;
+import me.sunmc.dodgeball.jfr.GameStartEvent;
+import me.sunmc.dodgeball.jfr.StatsSaveEvent;
+import me.sunmc.dodgeball.mode.GameRules;
+import me.sunmc.dodgeball.journal.JournalEventType;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.powerup.ArenaPowerUps;
+import me.sunmc.dodgeball.rating.RatingEngine;
+import me.sunmc.dodgeball.scheduler.ServerScheduler;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.dodgeball.stats.PlayerStats;
 import me.sunmc.dodgeball.team.Team;
 import me.sunmc.tools.Tools;
 import me.sunmc.tools.item.util.ItemStackBuilder;
-import me.sunmc.tools.scheduler.timer.SimpleTimer;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
@@ -23,84 +40,145 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Game instance - FULLY IMPLEMENTED
  */
 public class Game {
 
+    private static final @NonNull AtomicLong MATCH_ID_COUNTER = new AtomicLong(System.currentTimeMillis());
+
+    private final long matchId;
     private final @NonNull Arena arena;
     private final @NonNull PlayMode gameMode;
-    private final @NonNull SimpleTimer gameTimer;
     private final @NonNull DodgeBall plugin;
+    private final @NonNull GameRules rules;
+    private final @NonNull Respawns respawns;
+    private final boolean spectatorMode;
 
     private @Nullable Team winner;
     private long startTime;
     private boolean active;
+    private boolean ended;
+    private int secondsLeft;
+    private @Nullable TaskHandle timerTask;
+    private @Nullable ArenaPowerUps powerUps;
+    // Team each player started on; modes like Infection move players mid-match
+    private final @NonNull Map<UUID, Team> startingTeams = new HashMap<>();
 
     public Game(@NonNull Arena arena, @NonNull PlayMode gameMode, @NonNull DodgeBall plugin) {
         this.arena = arena;
         this.gameMode = gameMode;
         this.plugin = plugin;
         this.active = false;
-
-        this.gameTimer = new SimpleTimer("game-" + arena.getArenaId(),
-                arena.getSettings().getGameDuration(), 0);
-
-        gameTimer.setInterval(1, TimeUnit.SECONDS);
-        gameTimer.onTick(this::onTimerTick);
-        gameTimer.onComplete(this::onTimeUp);
+        this.matchId = MATCH_ID_COUNTER.incrementAndGet();
+        this.secondsLeft = arena.getSettings().getGameDuration();
+        this.rules = GameRules.create(gameMode);
+        this.respawns = new Respawns(plugin, this);
+        this.spectatorMode = plugin.getRegisteredConfig("config")
+                .map(config -> config.getNode("settings", "spectator-mode-enabled").getBoolean(true))
+                .orElse(true);
     }
 
     /**
      * Starts the game - FULLY IMPLEMENTED
      */
     public void start() {
+        GameStartEvent event = new GameStartEvent();
+        event.begin();
+
         active = true;
         startTime = System.currentTimeMillis();
+        for (DodgeBallPlayer player : arena.getPlayers()) {
+            if (player.getTeam() != null) {
+                startingTeams.put(player.getUuid(), player.getTeam());
+            }
+        }
 
         arena.setState(ArenaState.IN_GAME);
 
+        Tools.getComponent(JournalManager.class).recordMatch(JournalEventType.MATCH_START, matchId, null);
+        Tools.getComponent(ReplayManager.class).startRecording(this);
+
         // Teleport players to spawns
         teleportPlayersToSpawns();
 
         // Give starting equipment
         giveStartingEquipment();
 
-        // Start timer
-        gameTimer.startTimer(SimpleTimer.TimeChange.DECREMENT);
+        // Start timer on the thread owning the arena
+        timerTask = plugin.getComponent(TimerManager.class).scheduleRepeating(arena, this::tickTimer, 20L, 20L);
 
         // Spawn initial balls
         spawnInitialBalls();
 
+        rules.onStart(this);
+
+        // Power-ups spawn and expire with the arena's updates
+        powerUps = plugin.getComponent(PowerUpManager.class).create(arena);
+        if (powerUps != null) {
+            Tools.getComponent(BallManager.class).startTicking(arena);
+        }
+
         // Broadcast start
-        arena.broadcast(Component.text("§a§lGAME STARTED!"));
-        arena.getPlayers().forEach(p -> {
-            p.getPlayer().playSound(p.getPlayer().getLocation(),
-                    Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f);
-
-            p.getPlayer().showTitle(Title.title(
-                    Component.text("§a§lSTART!"),
-                    Component.text("§7Good luck!"),
-                    Title.Times.times(
-                            Duration.ofMillis(500),
-                            Duration.ofMillis(2000),
-                            Duration.ofMillis(500)
-                    )
-            ));
-        });
+        arena.broadcast("game-started");
+        arena.getAudience().showTitle(Title.title(
+                Component.text("§a§lSTART!"),
+                Component.text("§7Good luck!"),
+                Title.Times.times(
+                        Duration.ofMillis(500),
+                        Duration.ofMillis(2000),
+                        Duration.ofMillis(500)
+                )
+        ));
+        arena.getPlayers().forEach(p -> p.getPlayer().playSound(p.getPlayer().getLocation(),
+                Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f));
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.matchId = matchId;
+            event.players = arena.getPlayers().size();
+            event.commit();
+        }
     }
 
     /**
      * Ends the game - FULLY IMPLEMENTED
      */
     public void end() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+
+        GameEndEvent event = new GameEndEvent();
+        event.begin();
+
         active = false;
-        gameTimer.stopTimer();
+        if (timerTask != null) {
+            timerTask.cancel();
+        }
+        plugin.getComponent(GameManager.class).removeGame(this);
+        plugin.getComponent(HudManager.class).clear(arena);
 
         arena.setState(ArenaState.ENDING);
 
+        rules.onEnd(this);
+        respawns.clear();
+        arena.getSpectators().releaseAll();
+        if (powerUps != null) {
+            powerUps.clear();
+            powerUps = null;
+        }
+        Tools.getComponent(JournalManager.class).recordMatch(JournalEventType.MATCH_END, matchId, winner);
+        Tools.getComponent(ReplayManager.class).stopRecording(this);
+
         // Show results
         showResults();
 
@@ -111,35 +189,47 @@ public class Game {
         cleanup();
 
         // Schedule arena reset
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        ServerScheduler scheduler = plugin.getComponent(SchedulerManager.class).getScheduler();
+        TimerManager timers = plugin.getComponent(TimerManager.class);
+        timers.schedule(arena, () -> {
             arena.setState(ArenaState.RESETTING);
+            // Nothing of this game may fire into the next one
+            timers.cancelAll(arena);
 
             // Teleport players to lobby
             Location lobby = arena.getLocation("LOBBY");
             if (lobby != null) {
-                arena.getPlayers().forEach(p -> p.getPlayer().teleport(lobby));
+                arena.getPlayers().forEach(p -> scheduler.teleport(p.getPlayer(), lobby));
             }
 
             // Reset arena
             arena.setState(ArenaState.WAITING);
         }, 200L); // 10 seconds
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.matchId = matchId;
+            event.players = arena.getPlayers().size();
+            event.commit();
+        }
     }
 
     private void teleportPlayersToSpawns() {
-        Location redSpawn = arena.getLocation("TEAM1_SPAWN");
-        Location blueSpawn = arena.getLocation("TEAM2_SPAWN");
+        Location redSpawn = arena.getTeamSpawn(Team.RED);
+        Location blueSpawn = arena.getTeamSpawn(Team.BLUE);
 
         if (redSpawn == null || blueSpawn == null) {
             plugin.getLogger().warning("Arena " + arena.getArenaId() + " missing spawn locations!");
             return;
         }
 
+        ServerScheduler scheduler = plugin.getComponent(SchedulerManager.class).getScheduler();
         for (DodgeBallPlayer player : arena.getTeamPlayers(Team.RED)) {
-            player.getPlayer().teleport(redSpawn);
+            scheduler.teleport(player.getPlayer(), redSpawn);
         }
 
         for (DodgeBallPlayer player : arena.getTeamPlayers(Team.BLUE)) {
-            player.getPlayer().teleport(blueSpawn);
+            scheduler.teleport(player.getPlayer(), blueSpawn);
         }
     }
 
@@ -193,6 +283,18 @@ public class Game {
                 .build();
     }
 
+    private void tickTimer() {
+        if (!active) {
+            return;
+        }
+
+        secondsLeft--;
+        onTimerTick(secondsLeft);
+        if (secondsLeft <= 0) {
+            onTimeUp();
+        }
+    }
+
     private void onTimerTick(int secondsLeft) {
         // Show time warnings
         if (secondsLeft == 60 || secondsLeft == 30 || secondsLeft == 10 || secondsLeft == 5) {
@@ -202,37 +304,94 @@ public class Game {
             );
         }
 
-        // Update action bar
-        arena.getPlayers().forEach(p -> {
-            p.getPlayer().sendActionBar(
-                    Component.text("§6Time: §f" + formatTime(secondsLeft) +
-                            " §8| §cRed: §f" + getAliveCount(Team.RED) +
-                            " §8| §9Blue: §f" + getAliveCount(Team.BLUE))
-            );
-        });
+        // Update action bar and sidebar
+        plugin.getComponent(HudManager.class).render(this, secondsLeft);
     }
 
     private void onTimeUp() {
         arena.broadcast(Component.text("§c§lTIME'S UP!"));
 
-        // Determine winner by alive players
-        int redAlive = getAliveCount(Team.RED);
-        int blueAlive = getAliveCount(Team.BLUE);
+        // The mode decides; null is a draw
+        winner = rules.decideWinner(this);
 
-        if (redAlive > blueAlive) {
-            winner = Team.RED;
-        } else if (blueAlive > redAlive) {
-            winner = Team.BLUE;
+        end();
+    }
+
+    /**
+     * Resolves a ball hitting an opponent according to the mode
+     *
+     * @return False if a shield took the hit instead
+     */
+    public boolean onHit(@NonNull DodgeBallPlayer target, @NonNull DodgeBallPlayer thrower, @NonNull Ball ball) {
+        if (powerUps != null && powerUps.absorbHit(target)) {
+            return false;
+        }
+        rules.onHit(this, target, thrower, ball);
+        if (!target.isAlive() && !respawns.onEliminated(target) && spectatorMode) {
+            // Out for good: watch the rest from the spectator point
+            arena.getSpectators().spectate(target);
         }
-        // else draw (winner remains null)
+        return true;
+    }
 
-        end();
+    /**
+     * Passes an arena update to the mode; tick thread only
+     */
+    public void onUpdate(@NonNull BallTarget @NonNull [] players, int ticks) {
+        if (!active) {
+            return;
+        }
+
+        rules.onUpdate(this, players, ticks);
+        if (powerUps != null) {
+            powerUps.update(players, ticks);
+        }
     }
 
-    private int getAliveCount(@NonNull Team team) {
-        return (int) arena.getTeamPlayers(team).stream()
-                .filter(DodgeBallPlayer::isAlive)
-                .count();
+    /**
+     * Whether the arena has to update while it has no balls
+     */
+    public boolean watchesPlayers() {
+        return rules.watchesPlayers() || powerUps != null;
+    }
+
+    /**
+     * Ends the game with a winner on the next tick, e.g. when a mode's goal is reached
+     */
+    public void endWith(@Nullable Team team) {
+        plugin.getComponent(TimerManager.class).schedule(arena, () -> {
+            if (active) {
+                winner = team;
+                end();
+            }
+        }, 1L);
+    }
+
+    /**
+     * Ends the game once a team has no alive players left; safe to call from any thread
+     */
+    public void onTeamEliminated(@NonNull Team team) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+
+        // Hits are detected while balls tick, so end on the next tick rather than mid-physics
+        plugin.getComponent(TimerManager.class).schedule(arena, () -> {
+            if (!active) {
+                return;
+            }
+
+            // Players waiting to respawn still hold their team up
+            int redAlive = arena.getAliveCount(Team.RED) + respawns.getPending(Team.RED);
+            int blueAlive = arena.getAliveCount(Team.BLUE) + respawns.getPending(Team.BLUE);
+            if (redAlive > 0 && blueAlive > 0) {
+                // Someone came back in the meantime
+                return;
+            }
+
+            winner = redAlive > 0 ? Team.RED : blueAlive > 0 ? Team.BLUE : null;
+            end();
+        }, 1L);
     }
 
     private void showResults() {
@@ -244,50 +403,66 @@ public class Game {
             winMessage = Component.text("§e§lDRAW!");
         }
 
-        arena.broadcast(Component.empty());
-        arena.broadcast(winMessage);
-        arena.broadcast(Component.empty());
+        // Sent together with one flush per player on the arena's thread
+        ArenaAudience audience = arena.getAudience();
+        audience.queue(Component.empty());
+        if (winner != null) {
+            audience.queue("team-win", "team", winner.name());
+        } else {
+            audience.queue("game-draw");
+        }
+        audience.queue(Component.empty());
 
         long duration = (System.currentTimeMillis() - startTime) / 1000;
-        arena.broadcast(Component.text("§7Duration: §f" + formatTime((int) duration)));
+        audience.queue(Component.text("§7Duration: §f" + formatTime((int) duration)));
 
         // Show title
-        arena.getPlayers().forEach(p -> {
-            p.getPlayer().showTitle(Title.title(
-                    winMessage,
-                    Component.text("§7Game Over"),
-                    Title.Times.times(
-                            Duration.ofMillis(500),
-                            Duration.ofMillis(3000),
-                            Duration.ofMillis(500)
-                    )
-            ));
-
-            p.getPlayer().playSound(p.getPlayer().getLocation(),
-                    winner != null ? Sound.UI_TOAST_CHALLENGE_COMPLETE : Sound.ENTITY_VILLAGER_NO,
-                    1.0f, 1.0f);
-        });
+        audience.showTitle(Title.title(
+                winMessage,
+                Component.text("§7Game Over"),
+                Title.Times.times(
+                        Duration.ofMillis(500),
+                        Duration.ofMillis(3000),
+                        Duration.ofMillis(500)
+                )
+        ));
+        arena.getPlayers().forEach(p -> p.getPlayer().playSound(p.getPlayer().getLocation(),
+                winner != null ? Sound.UI_TOAST_CHALLENGE_COMPLETE : Sound.ENTITY_VILLAGER_NO,
+                1.0f, 1.0f));
 
         // Show individual stats
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            arena.broadcast(Component.text("§6§l=== Match Statistics ==="));
-            arena.getPlayers().forEach(p -> {
-                arena.broadcast(Component.text(
-                        "§e" + p.getPlayer().getName() + " §8- " +
-                                "§cK: " + p.getSuccessfulHits() + " " +
-                                "§aC: " + p.getBallsCaught() + " " +
-                                "§7T: " + p.getBallsThrown()
-                ));
-            });
+        plugin.getComponent(TimerManager.class).schedule(arena, () -> {
+            audience.queue(Component.text("§6§l=== Match Statistics ==="));
+            arena.getPlayers().forEach(p -> audience.queue(Component.text(
+                    "§e" + p.getPlayer().getName() + " §8- " +
+                            "§cK: " + p.getSuccessfulHits() + " " +
+                            "§aC: " + p.getBallsCaught() + " " +
+                            "§7T: " + p.getBallsThrown()
+            )));
         }, 60L);
     }
 
     private void updateStatistics() {
-        long playtime = System.currentTimeMillis() - startTime;
+        StatsSaveEvent event = new StatsSaveEvent();
+        event.begin();
+
+        long now = System.currentTimeMillis();
+        long playtime = now - startTime;
+        int saved = 0;
+        List<PlayerStats> red = new ArrayList<>();
+        List<PlayerStats> blue = new ArrayList<>();
 
         for (DodgeBallPlayer player : arena.getPlayers()) {
+            // Wins, losses and ratings go to the team a player started on, not the one they ended on
+            Team team = startingTeams.getOrDefault(player.getUuid(), player.getTeam());
+            if (team == Team.RED) {
+                red.add(player.getStats());
+            } else if (team == Team.BLUE) {
+                blue.add(player.getStats());
+            }
+
             // Update wins/losses
-            if (winner != null && player.getTeam() == winner) {
+            if (winner != null && team == winner) {
                 player.getStats().incrementWins();
             } else if (winner != null) {
                 player.getStats().incrementLosses();
@@ -298,6 +473,17 @@ public class Game {
 
             // Save stats
             player.save();
+            saved++;
+        }
+
+        // Rate the whole match at once, off the main thread
+        double redScore = winner == Team.RED ? 1 : winner == Team.BLUE ? 0 : 0.5;
+        plugin.getSchedulerAdapter().async().execute(() -> RatingEngine.rateMatch(red, blue, redScore, now));
+
+        if (event.shouldCommit()) {
+            event.setArena(arena);
+            event.players = saved;
+            event.commit();
         }
     }
 
@@ -331,4 +517,24 @@ public class Game {
     public @NonNull Arena getArena() {
         return arena;
     }
+
+    public @NonNull GameRules getRules() {
+        return rules;
+    }
+
+    public @NonNull PlayMode getGameMode() {
+        return gameMode;
+    }
+
+    public @Nullable ArenaPowerUps getPowerUps() {
+        return powerUps;
+    }
+
+    public int getSecondsLeft() {
+        return secondsLeft;
+    }
+
+    public long getMatchId() {
+        return matchId;
+    }
 }
\ No newline at end of file
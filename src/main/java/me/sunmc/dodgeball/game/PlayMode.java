@@ -1,18 +1,20 @@
 package me.sunmc.dodgeball.game;
 
 public enum PlayMode {
-    CLASSIC("Classic", "Last team standing wins"),
-    ELIMINATION("Elimination", "Eliminated players don't respawn"),
-    INFECTION("Infection", "Hit players join the other team"),
-    KING_OF_THE_HILL("King of the Hill", "Control the center area"),
-    CAPTURE_THE_FLAG("Capture the Flag", "Capture enemy's flag");
+    CLASSIC("Classic", "Last team standing wins", true),
+    ELIMINATION("Elimination", "Eliminated players don't respawn", false),
+    INFECTION("Infection", "Hit players join the other team", false),
+    KING_OF_THE_HILL("King of the Hill", "Control the center area", true),
+    CAPTURE_THE_FLAG("Capture the Flag", "Capture enemy's flag", true);
 
     private final String displayName;
     private final String description;
+    private final boolean respawnable;
 
-    PlayMode(String displayName, String description) {
+    PlayMode(String displayName, String description, boolean respawnable) {
         this.displayName = displayName;
         this.description = description;
+        this.respawnable = respawnable;
     }
 
     public String getDisplayName() {
@@ -22,4 +24,11 @@ public enum PlayMode {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Whether hit players may respawn in this mode, when the arena or config allows it
+     */
+    public boolean allowsRespawn() {
+        return respawnable;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package me.sunmc.dodgeball.game;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.component.TimerManager;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Brings hit players back into a running game.
+ * <p>
+ * {@code game.respawn} in config.yml turns respawning on for every arena,
+ * {@code allow-respawn} for a single one; modes like Elimination never
+ * respawn. Delays are timers in the shared {@link TimerManager} wheel, so a
+ * death costs no scheduler task. A respawned player is protected for a
+ * moment, during which balls fly through them, and comes back at whichever
+ * point around their team spawn is furthest from the balls in play. Players
+ * waiting to respawn still count for their team, so a team is only
+ * eliminated once nobody is left to come back. Runs on the thread owning
+ * the arena.
+ */
+public class Respawns {
+
+    // Candidate points: the spawn itself and this many around it
+    private static final int RING_POINTS = 8;
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull Game game;
+    private final boolean enabled;
+    private final int delayTicks;
+    private final int maxRespawns;
+    private final int protectionTicks;
+    private final double spread;
+    private final @NonNull Map<UUID, Integer> used = new HashMap<>();
+    private final @NonNull Map<UUID, DodgeBallPlayer> pending = new HashMap<>();
+
+    public Respawns(@NonNull DodgeBall plugin, @NonNull Game game) {
+        this.plugin = plugin;
+        this.game = game;
+
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        boolean globally = false;
+        int delay = 5;
+        int max = 3;
+        double protection = 3;
+        double radius = 4;
+        if (config != null) {
+            globally = config.getNode("game", "respawn", "enabled").getBoolean(false);
+            delay = config.getNode("game", "respawn", "delay").getInt(delay);
+            max = config.getNode("game", "respawn", "max-respawns").getInt(max);
+            protection = config.getNode("game", "respawn", "protection").getDouble(protection);
+            radius = config.getNode("game", "respawn", "spawn-spread").getDouble(radius);
+        }
+
+        Arena arena = game.getArena();
+        this.enabled = game.getGameMode().allowsRespawn() && (globally || arena.getSettings().isAllowRespawn());
+        this.delayTicks = Math.max(1, delay * 20);
+        this.maxRespawns = max;
+        this.protectionTicks = (int) Math.max(0, protection * 20);
+        this.spread = Math.max(0, radius);
+    }
+
+    /**
+     * Schedules a respawn for a player who was just hit out, if they have any left
+     *
+     * @return True if the player will respawn
+     */
+    public boolean onEliminated(@NonNull DodgeBallPlayer player) {
+        if (!enabled || player.isAlive() || pending.containsKey(player.getUuid())) {
+            return false;
+        }
+
+        int count = used.getOrDefault(player.getUuid(), 0);
+        Player bukkitPlayer = player.getPlayer();
+        if (maxRespawns >= 0 && count >= maxRespawns) {
+            bukkitPlayer.sendMessage(messages().get(bukkitPlayer, "respawns-used-up"));
+            return false;
+        }
+
+        used.put(player.getUuid(), count + 1);
+        pending.put(player.getUuid(), player);
+        bukkitPlayer.sendMessage(messages().get(bukkitPlayer, "respawning",
+                "seconds", String.valueOf(delayTicks / 20),
+                "left", maxRespawns < 0 ? "∞" : String.valueOf(maxRespawns - count - 1)));
+
+        plugin.getComponent(TimerManager.class).schedule(game.getArena(), () -> respawn(player), delayTicks);
+        return true;
+    }
+
+    private void respawn(@NonNull DodgeBallPlayer player) {
+        if (pending.remove(player.getUuid()) == null || !game.isActive()) {
+            return;
+        }
+
+        Arena arena = game.getArena();
+        Team team = player.getTeam();
+        Location spawn = team != null ? pickSpawn(arena, team) : null;
+        if (spawn == null || !arena.hasPlayer(player.getUuid())) {
+            // They no longer hold their team up
+            if (team != null) {
+                game.onTeamEliminated(team);
+            }
+            return;
+        }
+
+        plugin.getComponent(SchedulerManager.class).getScheduler().teleport(player.getPlayer(), spawn);
+        if (protectionTicks > 0) {
+            player.setSpawnProtected(true);
+            plugin.getComponent(TimerManager.class).schedule(arena, () -> player.setSpawnProtected(false),
+                    protectionTicks);
+        }
+        player.setAlive(true);
+
+        Player bukkitPlayer = player.getPlayer();
+        bukkitPlayer.sendMessage(messages().get(bukkitPlayer, "respawned"));
+    }
+
+    /**
+     * Picks the point around a team's spawn whose nearest ball is furthest away
+     */
+    private @Nullable Location pickSpawn(@NonNull Arena arena, @NonNull Team team) {
+        Location spawn = arena.getTeamSpawn(team);
+        if (spawn == null) {
+            return null;
+        }
+
+        List<Location> balls = new ArrayList<>();
+        for (Ball ball : plugin.getComponent(BallManager.class).getArenaBalls(arena)) {
+            Location location = ball.getLocation();
+            if (ball.isActive() && location.getWorld() == spawn.getWorld()) {
+                balls.add(location);
+            }
+        }
+        if (balls.isEmpty() || spread == 0) {
+            return spawn;
+        }
+
+        Location best = spawn;
+        double bestDistance = nearestBall(spawn, balls);
+        for (int i = 0; i < RING_POINTS; i++) {
+            double angle = 2 * Math.PI * i / RING_POINTS;
+            Location candidate = spawn.clone().add(Math.cos(angle) * spread, 0, Math.sin(angle) * spread);
+            if (!candidate.getBlock().isPassable() || !candidate.clone().add(0, 1, 0).getBlock().isPassable()
+                    || candidate.clone().subtract(0, 1, 0).getBlock().isPassable()) {
+                // Needs room to stand and ground underneath
+                continue;
+            }
+
+            double distance = nearestBall(candidate, balls);
+            if (distance > bestDistance) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static double nearestBall(@NonNull Location point, @NonNull List<Location> balls) {
+        double nearest = Double.MAX_VALUE;
+        for (Location ball : balls) {
+            nearest = Math.min(nearest, point.distanceSquared(ball));
+        }
+        return nearest;
+    }
+
+    /**
+     * Gets how many players of a team are waiting to respawn
+     */
+    public int getPending(@NonNull Team team) {
+        int count = 0;
+        for (DodgeBallPlayer player : pending.values()) {
+            if (player.getTeam() == team) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops every waiting respawn; called when the game ends
+     */
+    public void clear() {
+        pending.clear();
+        used.clear();
+    }
+
+    private @NonNull MessageManager messages() {
+        return plugin.getComponent(MessageManager.class);
+    }
+}
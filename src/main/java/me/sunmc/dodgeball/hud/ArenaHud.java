@@ -0,0 +1,182 @@
+package me.sunmc.dodgeball.hud;
+
+import com.github.retrooper.packetevents.protocol.score.ScoreFormat;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerActionBar;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDisplayScoreboard;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerScoreboardObjective;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerUpdateScore;
+import me.sunmc.dodgeball.packet.PacketFanOut;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Action bar and packet sidebar of one arena.
+ * <p>
+ * The HUD is the same for everyone in the arena, so every packet is built once
+ * per change and encoded once per client version for all viewers. The action
+ * bar is only resent when its text changed; sidebar lines are diffed against
+ * what viewers already have and only changed lines are sent, in one batch.
+ * Players joining late get the whole sidebar.
+ */
+public class ArenaHud {
+
+    private static final String OBJECTIVE = "dodgeball";
+    private static final int SIDEBAR_SLOT = 1;
+    private static final int MAX_LINES = 15;
+
+    private final @NonNull Set<UUID> viewers = new HashSet<>();
+    private final @NonNull List<Component> lines = new ArrayList<>();
+    private final boolean sidebar;
+
+    private @Nullable Component actionBar;
+    private @Nullable PacketWrapper<?> actionBarPacket;
+    private @Nullable Component title;
+
+    public ArenaHud(boolean sidebar) {
+        this.sidebar = sidebar;
+    }
+
+    /**
+     * Pushes the current HUD to the players in the arena
+     *
+     * @param lines Sidebar lines, top first; at most 15 are shown
+     */
+    public void render(@NonNull List<DodgeBallPlayer> players, @NonNull Component actionBar,
+                       @NonNull Component title, @NonNull List<Component> lines) {
+        List<Player> joined = new ArrayList<>();
+        List<Player> present = new ArrayList<>(players.size());
+        Set<UUID> current = new HashSet<>();
+
+        for (DodgeBallPlayer player : players) {
+            current.add(player.getUuid());
+            if (viewers.contains(player.getUuid())) {
+                present.add(player.getPlayer());
+            } else {
+                joined.add(player.getPlayer());
+            }
+        }
+
+        // Players who left the arena keep nothing from it
+        for (UUID viewer : viewers) {
+            if (!current.contains(viewer)) {
+                Player player = Bukkit.getPlayer(viewer);
+                if (player != null) {
+                    hide(player);
+                }
+            }
+        }
+        viewers.retainAll(current);
+
+        renderActionBar(actionBar, present, joined);
+        if (sidebar) {
+            renderSidebar(title, lines.size() > MAX_LINES ? lines.subList(0, MAX_LINES) : lines, present, joined);
+        }
+
+        for (Player player : joined) {
+            viewers.add(player.getUniqueId());
+        }
+    }
+
+    private void renderActionBar(@NonNull Component text, @NonNull List<Player> present, @NonNull List<Player> joined) {
+        if (!text.equals(actionBar) || actionBarPacket == null) {
+            actionBar = text;
+            actionBarPacket = new WrapperPlayServerActionBar(text);
+            PacketFanOut.send(actionBarPacket, present);
+        }
+        PacketFanOut.send(actionBarPacket, joined);
+    }
+
+    private void renderSidebar(@NonNull Component newTitle, @NonNull List<Component> newLines,
+                               @NonNull List<Player> present, @NonNull List<Player> joined) {
+        if (!present.isEmpty()) {
+            List<PacketWrapper<?>> changes = new ArrayList<>();
+            if (!newTitle.equals(title)) {
+                changes.add(objective(WrapperPlayServerScoreboardObjective.ObjectiveMode.UPDATE, newTitle));
+            }
+
+            for (int i = 0; i < newLines.size(); i++) {
+                Component line = newLines.get(i);
+                if (i >= lines.size() || !Objects.equals(lines.get(i), line)) {
+                    changes.add(score(i, line));
+                }
+            }
+            for (int i = newLines.size(); i < lines.size(); i++) {
+                changes.add(removeScore(i));
+            }
+            PacketFanOut.send(changes, present);
+        }
+
+        title = newTitle;
+        lines.clear();
+        lines.addAll(newLines);
+
+        if (!joined.isEmpty()) {
+            List<PacketWrapper<?>> full = new ArrayList<>(lines.size() + 2);
+            full.add(objective(WrapperPlayServerScoreboardObjective.ObjectiveMode.CREATE, newTitle));
+            full.add(new WrapperPlayServerDisplayScoreboard(SIDEBAR_SLOT, OBJECTIVE));
+            for (int i = 0; i < lines.size(); i++) {
+                full.add(score(i, lines.get(i)));
+            }
+            PacketFanOut.send(full, joined);
+        }
+    }
+
+    /**
+     * Removes the sidebar from everyone and forgets all sent state
+     */
+    public void clear() {
+        for (UUID viewer : viewers) {
+            Player player = Bukkit.getPlayer(viewer);
+            if (player != null) {
+                hide(player);
+            }
+        }
+        viewers.clear();
+        lines.clear();
+        title = null;
+        actionBar = null;
+        actionBarPacket = null;
+    }
+
+    private void hide(@NonNull Player player) {
+        if (sidebar) {
+            PacketFanOut.send(objective(WrapperPlayServerScoreboardObjective.ObjectiveMode.REMOVE, Component.empty()),
+                    List.of(player));
+        }
+    }
+
+    private static @NonNull PacketWrapper<?> objective(
+            WrapperPlayServerScoreboardObjective.@NonNull ObjectiveMode mode, @NonNull Component title) {
+        return new WrapperPlayServerScoreboardObjective(OBJECTIVE, mode, title,
+                WrapperPlayServerScoreboardObjective.RenderType.INTEGER, ScoreFormat.blankScore());
+    }
+
+    /**
+     * Lines are fixed entries whose score only orders them; the visible text is the display name
+     */
+    private static @NonNull PacketWrapper<?> score(int index, @NonNull Component text) {
+        return new WrapperPlayServerUpdateScore(entry(index), WrapperPlayServerUpdateScore.Action.CREATE_OR_UPDATE_ITEM,
+                OBJECTIVE, MAX_LINES - index, text, ScoreFormat.blankScore());
+    }
+
+    private static @NonNull PacketWrapper<?> removeScore(int index) {
+        return new WrapperPlayServerUpdateScore(entry(index), WrapperPlayServerUpdateScore.Action.REMOVE_ITEM,
+                OBJECTIVE, 0, null, null);
+    }
+
+    private static @NonNull String entry(int index) {
+        return "line" + index;
+    }
+}
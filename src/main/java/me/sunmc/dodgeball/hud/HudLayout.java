@@ -0,0 +1,55 @@
+package me.sunmc.dodgeball.hud;
+
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.team.Team;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * What the in-game HUD shows
+ */
+public final class HudLayout {
+
+    public static final @NonNull Component TITLE = Component.text("DodgeBall", NamedTextColor.YELLOW, TextDecoration.BOLD);
+
+    public static final @NonNull Component SEPARATOR = Component.text(" | ", NamedTextColor.DARK_GRAY);
+
+    private HudLayout() {
+    }
+
+    public static @NonNull Component actionBar(@NonNull Arena arena, int secondsLeft) {
+        return Component.text()
+                .append(Component.text("Time: ", NamedTextColor.GOLD))
+                .append(Component.text(formatTime(secondsLeft), NamedTextColor.WHITE))
+                .append(SEPARATOR)
+                .append(Component.text("Red: ", NamedTextColor.RED))
+                .append(Component.text(arena.getAliveCount(Team.RED), NamedTextColor.WHITE))
+                .append(SEPARATOR)
+                .append(Component.text("Blue: ", NamedTextColor.BLUE))
+                .append(Component.text(arena.getAliveCount(Team.BLUE), NamedTextColor.WHITE))
+                .build();
+    }
+
+    public static @NonNull List<Component> sidebar(@NonNull Arena arena, int secondsLeft) {
+        return List.of(
+                Component.text(arena.getDisplayName(), NamedTextColor.GRAY),
+                Component.empty(),
+                line("Time left: ", NamedTextColor.GOLD, formatTime(secondsLeft)),
+                Component.empty(),
+                line("Red alive: ", NamedTextColor.RED, String.valueOf(arena.getAliveCount(Team.RED))),
+                line("Blue alive: ", NamedTextColor.BLUE, String.valueOf(arena.getAliveCount(Team.BLUE)))
+        );
+    }
+
+    private static @NonNull Component line(@NonNull String label, @NonNull NamedTextColor color, @NonNull String value) {
+        return Component.text(label, color).append(Component.text(value, NamedTextColor.WHITE));
+    }
+
+    private static @NonNull String formatTime(int seconds) {
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+}
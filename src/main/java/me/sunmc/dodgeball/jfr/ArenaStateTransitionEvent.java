@@ -0,0 +1,21 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.arena.Arena#setState}
+ */
+@Name("dodgeball.ArenaStateTransition")
+@Label("Arena State Transition")
+@Description("An arena changing state, including its state change handling")
+public class ArenaStateTransitionEvent extends DodgeBallEvent {
+
+    @Label("From")
+    public @Nullable String from;
+
+    @Label("To")
+    public @Nullable String to;
+}
@@ -0,0 +1,22 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.ball.Ball} for collision passes over the threshold
+ */
+@Name("dodgeball.BallCollision")
+@Label("Ball Collision")
+@Description("Distance checks of one ball against the players of its arena")
+@Threshold("20 us")
+public class BallCollisionEvent extends DodgeBallEvent {
+
+    @Label("Players Checked")
+    public int playersChecked;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,17 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.component.BallManager#spawnBall}
+ */
+@Name("dodgeball.BallSpawnBroadcast")
+@Label("Ball Spawn Broadcast")
+@Description("Sending a new ball's spawn packets to every player in its arena")
+public class BallSpawnBroadcastEvent extends DodgeBallEvent {
+
+    @Label("Viewers")
+    public int viewers;
+}
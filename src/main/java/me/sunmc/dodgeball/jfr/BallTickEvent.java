@@ -0,0 +1,16 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.arena.ArenaTicker} for ball simulations over the threshold
+ */
+@Name("dodgeball.BallTick")
+@Label("Ball Tick")
+@Description("Physics and collision checks of one ball for one update, on the arena worker")
+@Threshold("50 us")
+public class BallTickEvent extends DodgeBallEvent {
+}
@@ -0,0 +1,41 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.component.MetricsManager;
+import me.sunmc.tools.Tools;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Base of all DodgeBall Flight Recorder events.
+ * <p>
+ * Usage on hot paths is always {@code begin()}, work, {@code commit()} guarded by
+ * {@code shouldCommit()}, so with no recording running the event is never
+ * filled in and the JIT can drop it entirely. Record with e.g.
+ * {@code jcmd <pid> JFR.start name=db duration=60s filename=db.jfr}.
+ */
+@Category("DodgeBall")
+@StackTrace(false)
+public abstract class DodgeBallEvent extends Event {
+
+    @Label("Arena")
+    @Description("Arena id, empty when the work is not tied to one arena")
+    public @Nullable String arenaId;
+
+    @Label("Ball Count")
+    @Description("Active balls in the arena")
+    public int ballCount;
+
+    /**
+     * Fills in the arena fields; only call once {@code shouldCommit()} returned true
+     */
+    public void setArena(@NonNull Arena arena) {
+        this.arenaId = arena.getArenaId();
+        this.ballCount = Tools.getComponent(MetricsManager.class).forArena(arena).getActiveBalls();
+    }
+}
@@ -0,0 +1,20 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.game.Game#end()}
+ */
+@Name("dodgeball.GameEnd")
+@Label("Game End")
+@Description("Ending a game: results, statistics and ball cleanup")
+public class GameEndEvent extends DodgeBallEvent {
+
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Players")
+    public int players;
+}
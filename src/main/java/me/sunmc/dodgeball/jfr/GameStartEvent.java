@@ -0,0 +1,20 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted by {@link me.sunmc.dodgeball.game.Game#start()}
+ */
+@Name("dodgeball.GameStart")
+@Label("Game Start")
+@Description("Starting a game: teleports, equipment and initial balls")
+public class GameStartEvent extends DodgeBallEvent {
+
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Players")
+    public int players;
+}
@@ -0,0 +1,17 @@
+package me.sunmc.dodgeball.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted per match by {@link me.sunmc.dodgeball.game.Game} and per flush by {@link me.sunmc.dodgeball.component.StatsManager}
+ */
+@Name("dodgeball.StatsSave")
+@Label("Stats Save")
+@Description("Saving player stats, either the players of one match or a flush of the stats segment")
+public class StatsSaveEvent extends DodgeBallEvent {
+
+    @Label("Players")
+    public int players;
+}
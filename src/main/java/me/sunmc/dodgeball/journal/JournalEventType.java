@@ -0,0 +1,40 @@
+package me.sunmc.dodgeball.journal;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Kinds of records written to the match journal
+ */
+public enum JournalEventType {
+    MATCH_START(1),
+    MATCH_END(2),
+    THROW(3),
+    HIT(4),
+    CATCH(5),
+    PICKUP(6),
+    FLAG_TAKEN(7),
+    FLAG_CAPTURE(8),
+    FLAG_RETURN(9);
+
+    private static final JournalEventType[] BY_ID = new JournalEventType[values().length + 1];
+
+    static {
+        for (JournalEventType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final int id;
+
+    JournalEventType(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static @Nullable JournalEventType byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+}
@@ -0,0 +1,350 @@
+package me.sunmc.dodgeball.journal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Offline reader that rebuilds per-match and aggregate stats from journal segments.
+ * <p>
+ * Usable without a running server:
+ * <pre>
+ * java -cp DodgeBall.jar me.sunmc.dodgeball.journal.JournalReader plugins/DodgeBall/journal
+ * </pre>
+ * Records failing their CRC and a partially written tail are skipped.
+ */
+public class JournalReader {
+
+    private static final String[] TEAM_NAMES = {"-", "RED", "BLUE", "SPECTATOR"};
+
+    private final @NonNull Map<Long, MatchSummary> matches = new LinkedHashMap<>();
+    private final @NonNull Map<UUID, PlayerSummary> totals = new LinkedHashMap<>();
+    private final @NonNull CRC32 crc = new CRC32();
+    private long records;
+    private long corrupt;
+
+    /**
+     * Reads every segment of a journal directory in order
+     */
+    public static @NonNull JournalReader read(@NonNull File directory) throws IOException {
+        JournalReader reader = new JournalReader();
+
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith("journal-") && name.endsWith(".dbj"));
+        if (segments == null) {
+            return reader;
+        }
+
+        Arrays.sort(segments, Comparator.comparing(File::getName));
+        for (File segment : segments) {
+            reader.readSegment(segment);
+        }
+        return reader;
+    }
+
+    private void readSegment(@NonNull File segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment.toPath()));
+        if (!JournalRecord.isValidHeader(buffer)) {
+            corrupt++;
+            return;
+        }
+
+        for (int base = JournalRecord.HEADER_SIZE;
+             base + JournalRecord.RECORD_SIZE <= buffer.limit();
+             base += JournalRecord.RECORD_SIZE) {
+            if (!JournalRecord.isValid(buffer, base, crc)) {
+                corrupt++;
+                continue;
+            }
+            apply(buffer, base);
+            records++;
+        }
+    }
+
+    private void apply(@NonNull ByteBuffer buffer, int base) {
+        JournalEventType type = JournalEventType.byId(buffer.get(base + JournalRecord.OFF_TYPE));
+        if (type == null) {
+            return;
+        }
+
+        long matchId = buffer.getLong(base + JournalRecord.OFF_MATCH);
+        long timestamp = buffer.getLong(base + JournalRecord.OFF_TIMESTAMP);
+        MatchSummary match = matches.computeIfAbsent(matchId, MatchSummary::new);
+        match.firstEvent = match.firstEvent == 0 ? timestamp : Math.min(match.firstEvent, timestamp);
+        match.lastEvent = Math.max(match.lastEvent, timestamp);
+
+        UUID actor = readUuid(buffer, base + JournalRecord.OFF_ACTOR);
+        UUID target = readUuid(buffer, base + JournalRecord.OFF_TARGET);
+        int actorTeam = buffer.get(base + JournalRecord.OFF_ACTOR_TEAM);
+        int targetTeam = buffer.get(base + JournalRecord.OFF_TARGET_TEAM);
+
+        switch (type) {
+            case MATCH_START -> match.started = true;
+            case MATCH_END -> {
+                match.ended = true;
+                match.winnerTeam = buffer.get(base + JournalRecord.OFF_FLAGS);
+            }
+            // A record can lack an actor or target; only the side it has is counted
+            case THROW -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).throwsMade++;
+                }
+            }
+            case HIT -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).hits++;
+                }
+                if (target != null) {
+                    player(match, target, targetTeam).deaths++;
+                }
+            }
+            case CATCH -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).catches++;
+                }
+                if (target != null) {
+                    player(match, target, targetTeam).caught++;
+                }
+            }
+            case PICKUP -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).pickups++;
+                }
+            }
+            case FLAG_TAKEN -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).flagsTaken++;
+                }
+            }
+            case FLAG_CAPTURE -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).captures++;
+                }
+            }
+            case FLAG_RETURN -> {
+                if (actor != null) {
+                    player(match, actor, actorTeam).returns++;
+                }
+            }
+        }
+    }
+
+    private @NonNull PlayerSummary player(@NonNull MatchSummary match, @NonNull UUID uuid, int team) {
+        PlayerSummary summary = match.players.computeIfAbsent(uuid, PlayerSummary::new);
+        if (team != 0) {
+            summary.team = team;
+        }
+        return summary;
+    }
+
+    /**
+     * Folds every match into per-player totals; wins and losses come from the MATCH_END record
+     */
+    private void aggregate() {
+        totals.clear();
+        for (MatchSummary match : matches.values()) {
+            for (PlayerSummary line : match.players.values()) {
+                PlayerSummary total = totals.computeIfAbsent(line.uuid, PlayerSummary::new);
+                total.throwsMade += line.throwsMade;
+                total.hits += line.hits;
+                total.deaths += line.deaths;
+                total.catches += line.catches;
+                total.caught += line.caught;
+                total.pickups += line.pickups;
+                total.flagsTaken += line.flagsTaken;
+                total.captures += line.captures;
+                total.returns += line.returns;
+                total.matches++;
+                if (match.ended && match.winnerTeam != 0 && line.team != 0) {
+                    if (line.team == match.winnerTeam) {
+                        total.wins++;
+                    } else {
+                        total.losses++;
+                    }
+                }
+            }
+        }
+    }
+
+    public @NonNull Map<Long, MatchSummary> getMatches() {
+        return matches;
+    }
+
+    public @NonNull Map<UUID, PlayerSummary> getTotals() {
+        aggregate();
+        return totals;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    public long getCorruptCount() {
+        return corrupt;
+    }
+
+    private static @Nullable UUID readUuid(@NonNull ByteBuffer buffer, int offset) {
+        long msb = buffer.getLong(offset);
+        long lsb = buffer.getLong(offset + 8);
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+
+    private static @NonNull String teamName(int team) {
+        return team >= 0 && team < TEAM_NAMES.length ? TEAM_NAMES[team] : "?";
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : "journal");
+        JournalReader reader = read(directory);
+
+        System.out.println("Read " + reader.getRecordCount() + " records from " + directory +
+                " (" + reader.getCorruptCount() + " corrupt)");
+
+        for (MatchSummary match : reader.getMatches().values()) {
+            System.out.println();
+            System.out.println("Match " + match.matchId + " - " + (match.lastEvent - match.firstEvent) / 1000 + "s, " +
+                    (match.ended ? "winner " + teamName(match.winnerTeam) : "no result"));
+            for (PlayerSummary line : match.players.values()) {
+                System.out.println("  " + line.format(teamName(line.team)));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Totals:");
+        for (PlayerSummary total : reader.getTotals().values()) {
+            System.out.println("  " + total.format(total.matches + " matches, W " + total.wins + " L " + total.losses));
+        }
+    }
+
+    /**
+     * Everything the journal knows about one match
+     */
+    public static class MatchSummary {
+        private final long matchId;
+        private final @NonNull Map<UUID, PlayerSummary> players = new LinkedHashMap<>();
+        private boolean started;
+        private boolean ended;
+        private int winnerTeam;
+        private long firstEvent;
+        private long lastEvent;
+
+        private MatchSummary(long matchId) {
+            this.matchId = matchId;
+        }
+
+        public long getMatchId() {
+            return matchId;
+        }
+
+        public @NonNull Map<UUID, PlayerSummary> getPlayers() {
+            return players;
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        public int getWinnerTeam() {
+            return winnerTeam;
+        }
+
+        public long getDurationMillis() {
+            return lastEvent - firstEvent;
+        }
+    }
+
+    /**
+     * Per-player counters, used both per match and as totals
+     */
+    public static class PlayerSummary {
+        private final @NonNull UUID uuid;
+        private int team;
+        private int throwsMade;
+        private int hits;
+        private int deaths;
+        private int catches;
+        private int caught;
+        private int pickups;
+        private int flagsTaken;
+        private int captures;
+        private int returns;
+        private int matches;
+        private int wins;
+        private int losses;
+
+        private PlayerSummary(@NonNull UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        private @NonNull String format(@NonNull String suffix) {
+            return uuid + " T " + throwsMade + " H " + hits + " D " + deaths + " C " + catches +
+                    " CB " + caught + " P " + pickups + " FT " + flagsTaken + " FC " + captures +
+                    " FR " + returns + " [" + suffix + "]";
+        }
+
+        public @NonNull UUID getUuid() {
+            return uuid;
+        }
+
+        public int getThrows() {
+            return throwsMade;
+        }
+
+        public int getHits() {
+            return hits;
+        }
+
+        public int getDeaths() {
+            return deaths;
+        }
+
+        public int getCatches() {
+            return catches;
+        }
+
+        public int getTimesCaught() {
+            return caught;
+        }
+
+        public int getPickups() {
+            return pickups;
+        }
+
+        public int getFlagsTaken() {
+            return flagsTaken;
+        }
+
+        public int getCaptures() {
+            return captures;
+        }
+
+        public int getFlagReturns() {
+            return returns;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package me.sunmc.dodgeball.journal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of a journal record and journal segment header.
+ * <p>
+ * Records are a fixed {@link #RECORD_SIZE} bytes, big-endian:
+ * <pre>
+ *  0  type           byte
+ *  1  actor team     byte   (team ordinal + 1, 0 = none)
+ *  2  target team    byte
+ *  3  flags          byte   (MATCH_END: winning team, same encoding)
+ *  4  ball entity    int
+ *  8  timestamp      long   (epoch millis)
+ * 16  match id       long
+ * 24  actor uuid     2 longs
+ * 40  target uuid    2 longs
+ * 56  x, y, z        3 floats
+ * 68  crc32          int
+ * </pre>
+ */
+public final class JournalRecord {
+
+    public static final int RECORD_SIZE = 72;
+
+    public static final int HEADER_SIZE = 16;
+    public static final int HEADER_MAGIC = 0x44424A31; // "DBJ1"
+    public static final int HEADER_VERSION = 1;
+
+    public static final int OFF_TYPE = 0;
+    public static final int OFF_ACTOR_TEAM = 1;
+    public static final int OFF_TARGET_TEAM = 2;
+    public static final int OFF_FLAGS = 3;
+    public static final int OFF_BALL = 4;
+    public static final int OFF_TIMESTAMP = 8;
+    public static final int OFF_MATCH = 16;
+    public static final int OFF_ACTOR = 24;
+    public static final int OFF_TARGET = 40;
+    public static final int OFF_X = 56;
+    public static final int OFF_Y = 60;
+    public static final int OFF_Z = 64;
+    public static final int OFF_CRC = 68;
+
+    private JournalRecord() {
+    }
+
+    public static void writeHeader(@NonNull ByteBuffer buffer) {
+        buffer.putInt(HEADER_MAGIC);
+        buffer.putInt(HEADER_VERSION);
+        buffer.putInt(RECORD_SIZE);
+        buffer.putInt(0);
+    }
+
+    public static boolean isValidHeader(@NonNull ByteBuffer buffer) {
+        return buffer.remaining() >= HEADER_SIZE
+                && buffer.getInt(buffer.position()) == HEADER_MAGIC
+                && buffer.getInt(buffer.position() + 8) == RECORD_SIZE;
+    }
+
+    public static void seal(@NonNull ByteBuffer buffer, int base, @NonNull CRC32 crc) {
+        buffer.putInt(base + OFF_CRC, checksum(buffer, base, crc));
+    }
+
+    public static boolean isValid(@NonNull ByteBuffer buffer, int base, @NonNull CRC32 crc) {
+        return buffer.getInt(base + OFF_CRC) == checksum(buffer, base, crc);
+    }
+
+    private static int checksum(@NonNull ByteBuffer buffer, int base, @NonNull CRC32 crc) {
+        crc.reset();
+        crc.update(buffer.slice(base, OFF_CRC));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,102 @@
+package me.sunmc.dodgeball.journal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring of fixed-size records.
+ * <p>
+ * Producers claim a sequence with a CAS on the tail, fill the slot in place and
+ * publish it by storing {@code sequence + 1} in the slot's marker. The single
+ * consumer copies published slots in order and then advances the head. When
+ * the ring is full, records are dropped and counted rather than blocking the
+ * game thread.
+ */
+public class JournalRingBuffer {
+
+    private final int mask;
+    private final int recordSize;
+    private final @NonNull ByteBuffer slots;
+    private final @NonNull AtomicLongArray published;
+    private final @NonNull AtomicLong tail = new AtomicLong();
+    private final @NonNull LongAdder dropped = new LongAdder();
+    private volatile long head;
+
+    public JournalRingBuffer(int capacity, int recordSize) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.recordSize = recordSize;
+        this.slots = ByteBuffer.allocate(size * recordSize);
+        this.published = new AtomicLongArray(size);
+    }
+
+    /**
+     * Claims the next free sequence
+     *
+     * @return Claimed sequence, or -1 if the ring is full
+     */
+    public long claim() {
+        while (true) {
+            long current = tail.get();
+            if (current - head > mask) {
+                dropped.increment();
+                return -1;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Gets the backing buffer; producers write their claimed slot with absolute puts
+     */
+    public @NonNull ByteBuffer buffer() {
+        return slots;
+    }
+
+    public int offsetOf(long sequence) {
+        return (int) (sequence & mask) * recordSize;
+    }
+
+    public void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence + 1);
+    }
+
+    /**
+     * Copies published records in order into {@code target}; single consumer only
+     *
+     * @return Number of records copied
+     */
+    public int drainTo(@NonNull ByteBuffer target) {
+        long h = head;
+        int drained = 0;
+
+        while (target.remaining() >= recordSize) {
+            int index = (int) (h & mask);
+            if (published.get(index) != h + 1) {
+                break;
+            }
+
+            target.put(target.position(), slots, index * recordSize, recordSize);
+            target.position(target.position() + recordSize);
+            h++;
+            drained++;
+        }
+
+        head = h;
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return published.get((int) (head & mask)) != head + 1;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
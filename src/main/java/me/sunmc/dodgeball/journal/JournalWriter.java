@@ -0,0 +1,166 @@
+package me.sunmc.dodgeball.journal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Background thread draining the journal ring into size-rotated segment files.
+ * <p>
+ * Segments are named {@code journal-000001.dbj}, numbered on from whatever is
+ * already in the directory, and start with a {@link JournalRecord#HEADER_SIZE}
+ * byte header. Records are CRC-stamped here, off the game thread.
+ */
+public class JournalWriter implements Runnable {
+
+    private static final int BATCH_RECORDS = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final @NonNull File directory;
+    private final @NonNull JournalRingBuffer ring;
+    private final @NonNull Logger logger;
+    private final long maxSegmentBytes;
+    private final @NonNull ByteBuffer batch;
+    private final @NonNull CRC32 crc = new CRC32();
+
+    private volatile boolean running;
+    private @Nullable Thread thread;
+    private @Nullable FileChannel channel;
+    private int segmentNumber;
+    private long segmentBytes;
+
+    public JournalWriter(@NonNull File directory, @NonNull JournalRingBuffer ring,
+                         @NonNull Logger logger, long maxSegmentBytes) {
+        this.directory = directory;
+        this.ring = ring;
+        this.logger = logger;
+        this.maxSegmentBytes = Math.max(maxSegmentBytes, JournalRecord.HEADER_SIZE + JournalRecord.RECORD_SIZE);
+        this.batch = ByteBuffer.allocateDirect(BATCH_RECORDS * JournalRecord.RECORD_SIZE);
+    }
+
+    public void start() {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+
+        File[] existing = directory.listFiles((dir, name) -> name.startsWith("journal-") && name.endsWith(".dbj"));
+        if (existing != null) {
+            for (File file : existing) {
+                try {
+                    segmentNumber = Math.max(segmentNumber, Integer.parseInt(file.getName().substring(8, 14)));
+                } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                    // Not one of ours
+                }
+            }
+        }
+
+        running = true;
+        thread = new Thread(this, "DodgeBall-Journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the writer after draining everything already published
+     */
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running || !ring.isEmpty()) {
+                if (drainOnce() == 0) {
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Journal writer failed: " + e.getMessage());
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private int drainOnce() throws IOException {
+        batch.clear();
+        int drained = ring.drainTo(batch);
+        if (drained == 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < drained; i++) {
+            JournalRecord.seal(batch, i * JournalRecord.RECORD_SIZE, crc);
+        }
+        batch.flip();
+
+        // Rotate on record boundaries so every segment holds whole records
+        while (batch.hasRemaining()) {
+            if (channel == null || segmentBytes + JournalRecord.RECORD_SIZE > maxSegmentBytes) {
+                openNextSegment();
+            }
+
+            long room = (maxSegmentBytes - segmentBytes) / JournalRecord.RECORD_SIZE * JournalRecord.RECORD_SIZE;
+            int chunk = (int) Math.min(batch.remaining(), room);
+            ByteBuffer slice = batch.slice(batch.position(), chunk);
+            while (slice.hasRemaining()) {
+                channel.write(slice);
+            }
+            batch.position(batch.position() + chunk);
+            segmentBytes += chunk;
+        }
+
+        return drained;
+    }
+
+    private void openNextSegment() throws IOException {
+        closeSegment();
+
+        segmentNumber++;
+        File file = new File(directory, String.format("journal-%06d.dbj", segmentNumber));
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(JournalRecord.HEADER_SIZE);
+        JournalRecord.writeHeader(header);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        segmentBytes = JournalRecord.HEADER_SIZE;
+    }
+
+    private void closeSegment() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            logger.warning("Failed to close journal segment: " + e.getMessage());
+        }
+        channel = null;
+    }
+}
@@ -6,7 +6,13 @@ import me.sunmc.dodgeball.arena.ArenaState;
 import me.sunmc.dodgeball.ball.Ball;
 import me.sunmc.dodgeball.component.ArenaManager;
 import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.JournalManager;
+import me.sunmc.dodgeball.component.MatchmakingService;
+import me.sunmc.dodgeball.component.MessageManager;
 import me.sunmc.dodgeball.component.PlayerManager;
+import me.sunmc.dodgeball.component.ReplayManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.journal.JournalEventType;
 import me.sunmc.dodgeball.player.DodgeBallPlayer;
 import me.sunmc.tools.Tools;
 import me.sunmc.tools.registry.AutoRegister;
@@ -27,12 +33,17 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.List;
+
 /**
  * Main game event listener - FULLY IMPLEMENTED
  */
 @AutoRegister(Listener.class)
 public class GameListener implements Listener {
 
+    // Radians between the balls of a multi-ball throw
+    private static final double MULTI_BALL_SPREAD = Math.toRadians(8);
+
     private final @NonNull DodgeBall plugin;
 
     public GameListener(@NonNull DodgeBall plugin) {
@@ -48,6 +59,12 @@ public class GameListener implements Listener {
         manager.loadPlayer(player);
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(@NonNull PlayerLocaleChangeEvent event) {
+        // Compile the player's translation before their first message needs it
+        Tools.getComponent(MessageManager.class).preload(event.locale());
+    }
+
     @EventHandler
     public void onPlayerQuit(@NonNull PlayerQuitEvent event) {
         Player player = event.getPlayer();
@@ -55,6 +72,10 @@ public class GameListener implements Listener {
         // Remove from arena
         ArenaManager arenaManager = Tools.getComponent(ArenaManager.class);
         arenaManager.removePlayer(player.getUniqueId());
+        Tools.getComponent(MatchmakingService.class).dequeue(player.getUniqueId());
+
+        // Give back the gamemode and location of a replay viewer
+        Tools.getComponent(ReplayManager.class).stopPlayback(player);
 
         // Unload player data
         PlayerManager playerManager = Tools.getComponent(PlayerManager.class);
@@ -98,14 +119,11 @@ public class GameListener implements Listener {
                            @NonNull DodgeBallPlayer dbPlayer, @NonNull ItemStack ballItem) {
         Location eyeLoc = player.getEyeLocation();
         Vector direction = eyeLoc.getDirection();
-        Vector velocity = direction.multiply(arena.getSettings().getBallSpeed());
-
-        // Create ball
-        Ball ball = new Ball(arena, dbPlayer, eyeLoc, velocity, ballItem);
+        Vector velocity = direction.multiply(arena.getSettings().getBallSpeed() * dbPlayer.getThrowPower());
 
-        // Spawn ball
-        BallManager ballManager = Tools.getComponent(BallManager.class);
-        ballManager.spawnBall(ball);
+        // Multi-ball fans the extra balls out to both sides in one burst
+        List<Ball> balls = Tools.getComponent(BallManager.class).spawnBurst(arena, dbPlayer, eyeLoc, velocity,
+                ballItem, dbPlayer.takeMultiBall(), MULTI_BALL_SPREAD);
 
         // Remove snowball
         if (ballItem.getAmount() > 1) {
@@ -115,7 +133,14 @@ public class GameListener implements Listener {
         }
 
         // Update stats
-        dbPlayer.getStats().incrementShoots();
+        dbPlayer.onThrow();
+
+        Game game = arena.getCurrentGame();
+        JournalManager journal = Tools.getComponent(JournalManager.class);
+        for (Ball ball : balls) {
+            journal.record(JournalEventType.THROW, game != null ? game.getMatchId() : 0, dbPlayer, null,
+                    ball.getEntityId(), eyeLoc);
+        }
 
         // Play sound
         player.playSound(player.getLocation(),
@@ -0,0 +1,202 @@
+package me.sunmc.dodgeball.matchmaking;
+
+import me.sunmc.dodgeball.game.PlayMode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global join queue, bucketed by rating and split per wanted play mode.
+ * <p>
+ * Every lane (one per mode, plus one for "any mode") maps rating buckets to a
+ * skip-list set in {@link QueueEntry#PRIORITY_ORDER}, and a UUID index finds an
+ * entry for removal. Enqueue, leave and taking the next player of a bucket are
+ * all O(log n). Enqueue and leave are safe from any thread; polling is meant
+ * for the single matchmaking task.
+ */
+public class MatchmakingQueue {
+
+    private final double bucketWidth;
+    private final @NonNull AtomicLong sequence = new AtomicLong();
+    private final @NonNull Map<UUID, QueueEntry> entries = new ConcurrentHashMap<>();
+    private final @NonNull Map<PlayMode, Lane> modeLanes = new EnumMap<>(PlayMode.class);
+    private final @NonNull Lane anyLane = new Lane();
+
+    public MatchmakingQueue(double bucketWidth) {
+        this.bucketWidth = Math.max(1, bucketWidth);
+        for (PlayMode mode : PlayMode.values()) {
+            modeLanes.put(mode, new Lane());
+        }
+    }
+
+    /**
+     * Queues a player, replacing any previous entry of theirs
+     *
+     * @param mode Wanted mode, or null for any
+     */
+    public @NonNull QueueEntry enqueue(@NonNull UUID playerId, @Nullable PlayMode mode, double rating, boolean vip) {
+        remove(playerId);
+
+        QueueEntry entry = new QueueEntry(playerId, mode, rating, bucketOf(rating), vip,
+                sequence.incrementAndGet(), System.currentTimeMillis());
+        insert(entry);
+        return entry;
+    }
+
+    /**
+     * Puts back an entry taken by {@link #poll}, keeping its place in line
+     */
+    public void requeue(@NonNull QueueEntry entry) {
+        if (entries.putIfAbsent(entry.getPlayerId(), entry) == null) {
+            laneOf(entry.getMode()).add(entry);
+        }
+    }
+
+    public @Nullable QueueEntry remove(@NonNull UUID playerId) {
+        QueueEntry entry = entries.remove(playerId);
+        if (entry != null) {
+            laneOf(entry.getMode()).remove(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the first player in line who can play a mode: VIPs first, then longest waiting
+     */
+    public @Nullable QueueEntry peekFirst(@NonNull PlayMode mode) {
+        QueueEntry best = null;
+        for (Lane lane : List.of(modeLanes.get(mode), anyLane)) {
+            for (NavigableSet<QueueEntry> bucket : lane.buckets.values()) {
+                QueueEntry head = first(bucket);
+                if (head != null && (best == null || QueueEntry.PRIORITY_ORDER.compare(head, best) < 0)) {
+                    best = head;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Takes up to {@code count} players who can play a mode, nearest rating bucket first
+     *
+     * @param centerBucket Bucket to match around
+     * @param spread       How many buckets above and below to search
+     */
+    public @NonNull List<QueueEntry> poll(@NonNull PlayMode mode, int centerBucket, int spread, int count) {
+        List<QueueEntry> taken = new ArrayList<>(count);
+        Lane modeLane = modeLanes.get(mode);
+
+        for (int distance = 0; distance <= spread && taken.size() < count; distance++) {
+            takeFromBucket(modeLane, centerBucket - distance, count, taken);
+            if (distance != 0) {
+                takeFromBucket(modeLane, centerBucket + distance, count, taken);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Counts players who could be taken by {@link #poll} with the same arguments
+     */
+    public int countAvailable(@NonNull PlayMode mode, int centerBucket, int spread) {
+        int available = 0;
+        for (Lane lane : List.of(modeLanes.get(mode), anyLane)) {
+            for (NavigableSet<QueueEntry> bucket :
+                    lane.buckets.subMap(centerBucket - spread, true, centerBucket + spread, true).values()) {
+                available += bucket.size();
+            }
+        }
+        return available;
+    }
+
+    private void takeFromBucket(@NonNull Lane modeLane, int bucket, int count, @NonNull List<QueueEntry> taken) {
+        NavigableSet<QueueEntry> specific = modeLane.buckets.get(bucket);
+        NavigableSet<QueueEntry> any = anyLane.buckets.get(bucket);
+
+        while (taken.size() < count) {
+            QueueEntry a = specific != null ? first(specific) : null;
+            QueueEntry b = any != null ? first(any) : null;
+            if (a == null && b == null) {
+                return;
+            }
+
+            QueueEntry next = b == null || (a != null && QueueEntry.PRIORITY_ORDER.compare(a, b) <= 0) ? a : b;
+            NavigableSet<QueueEntry> source = next == a ? specific : any;
+            source.remove(next);
+
+            // Lost a race with a concurrent leave
+            if (entries.remove(next.getPlayerId(), next)) {
+                taken.add(next);
+            }
+        }
+    }
+
+    private void insert(@NonNull QueueEntry entry) {
+        entries.put(entry.getPlayerId(), entry);
+        laneOf(entry.getMode()).add(entry);
+    }
+
+    private @NonNull Lane laneOf(@Nullable PlayMode mode) {
+        return mode == null ? anyLane : modeLanes.get(mode);
+    }
+
+    public int bucketOf(double rating) {
+        return (int) Math.floor(rating / bucketWidth);
+    }
+
+    public boolean contains(@NonNull UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    public @Nullable QueueEntry getEntry(@NonNull UUID playerId) {
+        return entries.get(playerId);
+    }
+
+    public @NonNull Collection<QueueEntry> getEntries() {
+        return entries.values();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static @Nullable QueueEntry first(@NonNull NavigableSet<QueueEntry> set) {
+        try {
+            return set.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rating bucket -> entries in priority order; emptied buckets are kept, there are only a few dozen
+     */
+    private static class Lane {
+        private final @NonNull ConcurrentSkipListMap<Integer, NavigableSet<QueueEntry>> buckets =
+                new ConcurrentSkipListMap<>();
+
+        private void add(@NonNull QueueEntry entry) {
+            buckets.computeIfAbsent(entry.getBucket(),
+                    bucket -> new ConcurrentSkipListSet<>(QueueEntry.PRIORITY_ORDER)).add(entry);
+        }
+
+        private void remove(@NonNull QueueEntry entry) {
+            NavigableSet<QueueEntry> bucket = buckets.get(entry.getBucket());
+            if (bucket != null) {
+                bucket.remove(entry);
+            }
+        }
+    }
+}
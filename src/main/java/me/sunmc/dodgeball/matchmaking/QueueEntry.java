@@ -0,0 +1,68 @@
+package me.sunmc.dodgeball.matchmaking;
+
+import me.sunmc.dodgeball.game.PlayMode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A queued player. Entries order VIPs first, then by time in queue.
+ */
+public class QueueEntry {
+
+    public static final @NonNull Comparator<QueueEntry> PRIORITY_ORDER = Comparator
+            .comparing((QueueEntry entry) -> !entry.vip)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final @NonNull UUID playerId;
+    private final @Nullable PlayMode mode;
+    private final double rating;
+    private final int bucket;
+    private final boolean vip;
+    private final long sequence;
+    private final long enqueuedAt;
+
+    public QueueEntry(@NonNull UUID playerId, @Nullable PlayMode mode, double rating, int bucket,
+                      boolean vip, long sequence, long enqueuedAt) {
+        this.playerId = playerId;
+        this.mode = mode;
+        this.rating = rating;
+        this.bucket = bucket;
+        this.vip = vip;
+        this.sequence = sequence;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public @NonNull UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the wanted mode, or null if any mode will do
+     */
+    public @Nullable PlayMode getMode() {
+        return mode;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    public boolean isVip() {
+        return vip;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+}
@@ -0,0 +1,23 @@
+package me.sunmc.dodgeball.matchmaking;
+
+import me.sunmc.dodgeball.rating.Rating;
+import me.sunmc.dodgeball.stats.PlayerStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Matchmaking rating of a player.
+ * <p>
+ * This is the player's Glicko-2 rating, updated after every match; new players
+ * start at {@link #BASE}.
+ */
+public final class SkillRating {
+
+    public static final double BASE = Rating.DEFAULT_RATING;
+
+    private SkillRating() {
+    }
+
+    public static double estimate(@NonNull PlayerStats stats) {
+        return stats.getRating().getRating();
+    }
+}
@@ -86,6 +86,10 @@ public class StatsMenu extends Menu {
         setItem(1, 1, createStatItem(Material.EMERALD, "§aWin Rate",
                 String.format("%.1f%%", stats.getWinRate())));
 
+        // Rating
+        setItem(1, 2, createStatItem(Material.NETHER_STAR, "§bRating",
+                stats.getRating().toString()));
+
         // Playtime
         long playtimeSeconds = stats.getPlaytime() / 1000;
         long hours = playtimeSeconds / 3600;
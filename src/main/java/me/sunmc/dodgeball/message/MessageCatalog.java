@@ -0,0 +1,85 @@
+package me.sunmc.dodgeball.message;
+
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All messages of one messages file, compiled into {@link MessageTemplate}s.
+ * <p>
+ * Built once when the file is loaded and never changed afterwards, so it can
+ * be read from any thread; a reload builds a new catalog.
+ */
+public final class MessageCatalog {
+
+    public static final @NonNull String DEFAULT_PREFIX = "&6[DodgeBall] &r";
+
+    public static final @NonNull MessageCatalog EMPTY = new MessageCatalog(Map.of(), MessageTemplate.compile(DEFAULT_PREFIX));
+
+    private final @NonNull Map<String, MessageTemplate> templates;
+    private final @NonNull MessageTemplate prefix;
+
+    private MessageCatalog(@NonNull Map<String, MessageTemplate> templates, @NonNull MessageTemplate prefix) {
+        this.templates = templates;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Compiles the {@code prefix} and every entry below {@code messages}
+     */
+    public static @NonNull MessageCatalog compile(@NonNull ConfigurationNode prefix, @NonNull ConfigurationNode messages) {
+        return compile(prefix, messages, EMPTY);
+    }
+
+    /**
+     * Compiles a translation on top of another catalog, which supplies every
+     * message the translation leaves out
+     */
+    public static @NonNull MessageCatalog compile(@NonNull ConfigurationNode prefix, @NonNull ConfigurationNode messages,
+                                                  @NonNull MessageCatalog parent) {
+        Map<String, MessageTemplate> templates = new HashMap<>(parent.templates);
+        for (Map.Entry<Object, ? extends ConfigurationNode> entry : messages.childrenMap().entrySet()) {
+            String raw = entry.getValue().getString();
+            if (raw != null) {
+                templates.put(String.valueOf(entry.getKey()), MessageTemplate.compile(raw));
+            }
+        }
+        String rawPrefix = prefix.getString();
+        return new MessageCatalog(Map.copyOf(templates),
+                rawPrefix != null ? MessageTemplate.compile(rawPrefix) : parent.prefix);
+    }
+
+    /**
+     * Renders a message
+     *
+     * @param key  Key below {@code messages}, e.g. {@code hit-player}
+     * @param args Placeholder names and values, alternating
+     */
+    public @NonNull Component render(@NonNull String key, @NonNull Object @NonNull ... args) {
+        MessageTemplate template = templates.get(key);
+        return template != null ? template.render(args) : Component.text("Missing message: " + key);
+    }
+
+    /**
+     * Renders a message behind the configured prefix
+     */
+    public @NonNull Component renderPrefixed(@NonNull String key, @NonNull Object @NonNull ... args) {
+        return Component.text().append(prefix.render()).append(render(key, args)).build();
+    }
+
+    public @Nullable MessageTemplate getTemplate(@NonNull String key) {
+        return templates.get(key);
+    }
+
+    public boolean contains(@NonNull String key) {
+        return templates.containsKey(key);
+    }
+
+    public int size() {
+        return templates.size();
+    }
+}
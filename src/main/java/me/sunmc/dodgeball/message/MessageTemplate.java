@@ -0,0 +1,173 @@
+package me.sunmc.dodgeball.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyFormat;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message compiled once from its configured text.
+ * <p>
+ * Legacy {@code &} and {@code §} codes (and {@code &#rrggbb}) are turned into
+ * Adventure styles at compile time, leaving a list of prebuilt text parts and
+ * placeholder slots that remember the style in effect where they appeared.
+ * Rendering only creates a component per filled slot; a message without
+ * placeholders renders to the same immutable component every time.
+ */
+public final class MessageTemplate {
+
+    private final @NonNull Component[] parts;
+    private final @Nullable String @NonNull [] slots;
+    private final @Nullable Component constant;
+
+    private MessageTemplate(@NonNull Component[] parts, @Nullable String @NonNull [] slots) {
+        this.parts = parts;
+        this.slots = slots;
+
+        boolean hasSlots = false;
+        for (String slot : slots) {
+            hasSlots |= slot != null;
+        }
+        this.constant = hasSlots ? null : join(parts);
+    }
+
+    /**
+     * Renders the message
+     *
+     * @param args Placeholder names and their values, alternating; a value may
+     *             be a {@link Component} or anything with a useful {@code toString}
+     */
+    public @NonNull Component render(@NonNull Object @NonNull ... args) {
+        if (constant != null) {
+            return constant;
+        }
+
+        TextComponent.Builder builder = Component.text();
+        for (int i = 0; i < parts.length; i++) {
+            String slot = slots[i];
+            if (slot == null) {
+                builder.append(parts[i]);
+                continue;
+            }
+
+            Object value = lookup(slot, args);
+            if (value == null) {
+                // Unfilled placeholders stay visible, like String.replace left them
+                builder.append(parts[i]);
+            } else if (value instanceof Component component) {
+                builder.append(component.applyFallbackStyle(parts[i].style()));
+            } else {
+                builder.append(Component.text(value.toString(), parts[i].style()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static @Nullable Object lookup(@NonNull String name, @NonNull Object @NonNull [] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (name.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static @NonNull Component join(@NonNull Component[] parts) {
+        if (parts.length == 1) {
+            return parts[0];
+        }
+        return Component.text().append(parts).build();
+    }
+
+    /**
+     * Compiles configured text with legacy colour codes and {@code {placeholder}}s
+     */
+    public static @NonNull MessageTemplate compile(@NonNull String raw) {
+        List<Component> parts = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        Style style = Style.empty();
+
+        int length = raw.length();
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+
+            if ((c == '&' || c == '§') && i + 1 < length) {
+                char code = raw.charAt(i + 1);
+
+                if (code == '#' && i + 8 <= length) {
+                    TextColor hex = TextColor.fromHexString(raw.substring(i + 1, i + 8));
+                    if (hex != null) {
+                        flush(text, style, parts, slots);
+                        style = Style.style(hex);
+                        i += 7;
+                        continue;
+                    }
+                }
+
+                LegacyFormat format = LegacyComponentSerializer.parseChar(code);
+                if (format != null) {
+                    flush(text, style, parts, slots);
+                    if (format.color() != null) {
+                        // A colour clears decorations, like it does in legacy text
+                        style = Style.style(format.color());
+                    } else if (format.decoration() != null) {
+                        style = style.decoration(format.decoration(), true);
+                    } else if (format.reset()) {
+                        style = Style.empty();
+                    }
+                    i++;
+                    continue;
+                }
+            }
+
+            if (c == '{') {
+                int end = raw.indexOf('}', i + 1);
+                if (end > i + 1 && isPlaceholderName(raw, i + 1, end)) {
+                    flush(text, style, parts, slots);
+                    String name = raw.substring(i + 1, end);
+                    // The part keeps the literal for unfilled slots and carries the slot's style
+                    parts.add(Component.text("{" + name + "}", style));
+                    slots.add(name);
+                    i = end;
+                    continue;
+                }
+            }
+
+            text.append(c);
+        }
+        flush(text, style, parts, slots);
+
+        if (parts.isEmpty()) {
+            parts.add(Component.empty());
+            slots.add(null);
+        }
+        return new MessageTemplate(parts.toArray(Component[]::new), slots.toArray(String[]::new));
+    }
+
+    private static void flush(@NonNull StringBuilder text, @NonNull Style style,
+                              @NonNull List<Component> parts, @NonNull List<String> slots) {
+        if (!text.isEmpty()) {
+            parts.add(Component.text(text.toString(), style));
+            slots.add(null);
+            text.setLength(0);
+        }
+    }
+
+    private static boolean isPlaceholderName(@NonNull String raw, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package me.sunmc.dodgeball.message;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiled message catalogs by client locale, least recently used evicted first.
+ * <p>
+ * A catalog is loaded the first time a player with its locale needs a
+ * message. The loader runs outside the lock, so a slow file read never blocks
+ * lookups of other locales; two threads missing the same locale at once may
+ * both load it, and the first result wins. Locales without a bundle of their
+ * own are cached as the fallback catalog, so they are not looked up again.
+ */
+public final class TranslationCache {
+
+    private final @NonNull Function<String, @Nullable MessageCatalog> loader;
+    private final @NonNull MessageCatalog fallback;
+    private final @NonNull Map<String, MessageCatalog> catalogs;
+
+    /**
+     * @param capacity Maximum number of locales kept
+     * @param loader   Loads the bundle of a locale, or returns null if there is none
+     * @param fallback Catalog for locales without a bundle
+     */
+    public TranslationCache(int capacity, @NonNull Function<String, @Nullable MessageCatalog> loader,
+                            @NonNull MessageCatalog fallback) {
+        this.loader = loader;
+        this.fallback = fallback;
+        this.catalogs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MessageCatalog> eldest) {
+                return size() > Math.max(1, capacity);
+            }
+        };
+    }
+
+    /**
+     * Gets the catalog of a locale, loading it on a miss
+     *
+     * @param locale Locale in lower case, e.g. {@code de_de}
+     */
+    public @NonNull MessageCatalog get(@NonNull String locale) {
+        synchronized (catalogs) {
+            MessageCatalog catalog = catalogs.get(locale);
+            if (catalog != null) {
+                return catalog;
+            }
+        }
+
+        MessageCatalog loaded = loader.apply(locale);
+        synchronized (catalogs) {
+            return catalogs.computeIfAbsent(locale, key -> loaded != null ? loaded : fallback);
+        }
+    }
+
+    public @NonNull MessageCatalog getFallback() {
+        return fallback;
+    }
+
+    public int size() {
+        synchronized (catalogs) {
+            return catalogs.size();
+        }
+    }
+}
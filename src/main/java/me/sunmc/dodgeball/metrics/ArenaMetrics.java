@@ -0,0 +1,181 @@
+package me.sunmc.dodgeball.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one arena, written from ball ticks and netty threads.
+ * <p>
+ * Totals only ever grow (Prometheus counters); {@link #sample(int)} turns them
+ * into per-tick rates over the last sampling window for the in-game view.
+ */
+public class ArenaMetrics {
+
+    private final @NonNull String arenaId;
+    private final @NonNull LatencyHistogram tickTime = new LatencyHistogram();
+    private final @NonNull LongAdder pendingTickNanos = new LongAdder();
+    private final @NonNull LongAdder pendingBalls = new LongAdder();
+    private final @NonNull LongAdder ticks = new LongAdder();
+    private final @NonNull LongAdder collisionChecks = new LongAdder();
+    private final @NonNull LongAdder hits = new LongAdder();
+    private final @NonNull Map<String, PacketCounter> packets = new ConcurrentHashMap<>();
+
+    private volatile int activeBalls;
+    private volatile int updateInterval = 1;
+    private volatile double collisionChecksPerTick;
+    private volatile double hitsPerTick;
+    private volatile double packetsPerTick;
+    private volatile double bytesPerTick;
+    private long lastCollisionChecks;
+    private long lastHits;
+    private long lastPackets;
+    private long lastBytes;
+
+    public ArenaMetrics(@NonNull String arenaId) {
+        this.arenaId = arenaId;
+    }
+
+    /**
+     * Adds the cost of one ball tick; may be called from parallel ball ticks
+     */
+    public void recordBallTick(long nanos) {
+        pendingTickNanos.add(nanos);
+        pendingBalls.increment();
+    }
+
+    /**
+     * Closes a physics tick: the summed ball tick cost becomes one histogram sample
+     */
+    public void completeTick() {
+        long balls = pendingBalls.sumThenReset();
+        activeBalls = (int) balls;
+        if (balls == 0) {
+            pendingTickNanos.reset();
+            return;
+        }
+        tickTime.record(pendingTickNanos.sumThenReset());
+        ticks.increment();
+    }
+
+    /**
+     * Records how many ticks the arena currently waits between physics updates
+     */
+    public void setUpdateInterval(int ticks) {
+        updateInterval = ticks;
+    }
+
+    public void recordCollisionChecks(int checks) {
+        collisionChecks.add(checks);
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordPacket(@NonNull String type, int bytes) {
+        PacketCounter counter = packets.computeIfAbsent(type, key -> new PacketCounter());
+        counter.packets.increment();
+        counter.bytes.add(bytes);
+    }
+
+    /**
+     * Records one packet written to several viewers at once
+     */
+    public void recordPackets(@NonNull String type, int viewers, int bytes) {
+        PacketCounter counter = packets.computeIfAbsent(type, key -> new PacketCounter());
+        counter.packets.add(viewers);
+        counter.bytes.add((long) bytes * viewers);
+    }
+
+    /**
+     * Updates per-tick rates from the counters; main thread only
+     */
+    public void sample(int elapsedTicks) {
+        long checks = collisionChecks.sum();
+        long hitCount = hits.sum();
+        long packetCount = 0;
+        long byteCount = 0;
+        for (PacketCounter counter : packets.values()) {
+            packetCount += counter.getPackets();
+            byteCount += counter.getBytes();
+        }
+
+        double ticksElapsed = Math.max(1, elapsedTicks);
+        collisionChecksPerTick = (checks - lastCollisionChecks) / ticksElapsed;
+        hitsPerTick = (hitCount - lastHits) / ticksElapsed;
+        packetsPerTick = (packetCount - lastPackets) / ticksElapsed;
+        bytesPerTick = (byteCount - lastBytes) / ticksElapsed;
+
+        lastCollisionChecks = checks;
+        lastHits = hitCount;
+        lastPackets = packetCount;
+        lastBytes = byteCount;
+    }
+
+    public @NonNull String getArenaId() {
+        return arenaId;
+    }
+
+    public @NonNull LatencyHistogram getTickTime() {
+        return tickTime;
+    }
+
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    public int getActiveBalls() {
+        return activeBalls;
+    }
+
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public long getCollisionChecks() {
+        return collisionChecks.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public @NonNull Map<String, PacketCounter> getPackets() {
+        return packets;
+    }
+
+    public double getCollisionChecksPerTick() {
+        return collisionChecksPerTick;
+    }
+
+    public double getHitsPerTick() {
+        return hitsPerTick;
+    }
+
+    public double getPacketsPerTick() {
+        return packetsPerTick;
+    }
+
+    public double getBytesPerTick() {
+        return bytesPerTick;
+    }
+
+    /**
+     * Packets and bytes sent of one packet type
+     */
+    public static class PacketCounter {
+        private final @NonNull LongAdder packets = new LongAdder();
+        private final @NonNull LongAdder bytes = new LongAdder();
+
+        public long getPackets() {
+            return packets.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+    }
+}
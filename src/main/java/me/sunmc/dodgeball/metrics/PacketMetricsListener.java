@@ -0,0 +1,52 @@
+package me.sunmc.dodgeball.metrics;
+
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketListenerPriority;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.component.ArenaManager;
+import me.sunmc.dodgeball.component.MetricsManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.UUID;
+
+/**
+ * Counts packets and bytes sent to players inside an arena, by packet type.
+ * <p>
+ * Runs on netty threads at MONITOR priority and never touches the packet. It
+ * sees the vanilla traffic of arena players; our own packets sent through
+ * {@link me.sunmc.dodgeball.packet.PacketFanOut} bypass send listeners and are
+ * counted there instead.
+ */
+public class PacketMetricsListener extends PacketListenerAbstract {
+
+    private final @NonNull MetricsManager metrics;
+    private final @NonNull ArenaManager arenaManager;
+
+    public PacketMetricsListener(@NonNull MetricsManager metrics, @NonNull ArenaManager arenaManager) {
+        super(PacketListenerPriority.MONITOR);
+        this.metrics = metrics;
+        this.arenaManager = arenaManager;
+    }
+
+    @Override
+    public void onPacketSend(@NonNull PacketSendEvent event) {
+        if (event.isCancelled()) {
+            return;
+        }
+
+        UUID uuid = event.getUser().getUUID();
+        if (uuid == null) {
+            return;
+        }
+
+        Arena arena = arenaManager.getPlayerArena(uuid);
+        if (arena == null) {
+            return;
+        }
+
+        metrics.forArena(arena).recordPacket(event.getPacketType().getName(),
+                ByteBufHelper.readableBytes(event.getByteBuf()));
+    }
+}
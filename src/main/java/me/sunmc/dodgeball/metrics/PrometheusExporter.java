@@ -0,0 +1,166 @@
+package me.sunmc.dodgeball.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import me.sunmc.dodgeball.component.MetricsManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves all metrics in the Prometheus text format on {@code /metrics}.
+ * <p>
+ * Uses the JDK's built-in HTTP server on one daemon thread, bound to a local
+ * address by default; scraping reads the lock-free counters directly.
+ */
+public class PrometheusExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final @NonNull MetricsManager metrics;
+    private @Nullable HttpServer server;
+    private @Nullable ExecutorService executor;
+
+    public PrometheusExporter(@NonNull MetricsManager metrics) {
+        this.metrics = metrics;
+    }
+
+    public void start(@NonNull String host, int port) throws IOException {
+        HttpServer created = HttpServer.create(new InetSocketAddress(host, port), 0);
+        created.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DodgeBall-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        created.setExecutor(executor);
+        created.start();
+        server = created;
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format
+     */
+    public @NonNull String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        Collection<ArenaMetrics> arenas = metrics.getArenaMetrics();
+
+        header(out, "dodgeball_ball_tick_seconds", "summary",
+                "CPU time of one physics tick of an arena, summed over its balls");
+        for (ArenaMetrics arena : arenas) {
+            summary(out, "dodgeball_ball_tick_seconds", arenaLabel(arena), arena.getTickTime());
+        }
+
+        header(out, "dodgeball_active_balls", "gauge", "Balls ticked in the last physics tick");
+        for (ArenaMetrics arena : arenas) {
+            sample(out, "dodgeball_active_balls", arenaLabel(arena), arena.getActiveBalls());
+        }
+
+        header(out, "dodgeball_ball_ticks_total", "counter", "Physics ticks with at least one ball");
+        for (ArenaMetrics arena : arenas) {
+            sample(out, "dodgeball_ball_ticks_total", arenaLabel(arena), arena.getTicks());
+        }
+
+        header(out, "dodgeball_collision_checks_total", "counter", "Ball against player distance checks");
+        for (ArenaMetrics arena : arenas) {
+            sample(out, "dodgeball_collision_checks_total", arenaLabel(arena), arena.getCollisionChecks());
+        }
+
+        header(out, "dodgeball_hits_total", "counter", "Balls that hit a player");
+        for (ArenaMetrics arena : arenas) {
+            sample(out, "dodgeball_hits_total", arenaLabel(arena), arena.getHits());
+        }
+
+        header(out, "dodgeball_packets_sent_total", "counter", "Packets sent to players in an arena");
+        for (ArenaMetrics arena : arenas) {
+            for (Map.Entry<String, ArenaMetrics.PacketCounter> entry : arena.getPackets().entrySet()) {
+                sample(out, "dodgeball_packets_sent_total", packetLabel(arena, entry.getKey()),
+                        entry.getValue().getPackets());
+            }
+        }
+
+        header(out, "dodgeball_packet_bytes_sent_total", "counter", "Packet payload bytes sent to players in an arena");
+        for (ArenaMetrics arena : arenas) {
+            for (Map.Entry<String, ArenaMetrics.PacketCounter> entry : arena.getPackets().entrySet()) {
+                sample(out, "dodgeball_packet_bytes_sent_total", packetLabel(arena, entry.getKey()),
+                        entry.getValue().getBytes());
+            }
+        }
+
+        header(out, "dodgeball_stats_save_seconds", "summary", "Time to persist the stats segment");
+        summary(out, "dodgeball_stats_save_seconds", "", metrics.getStatsSave());
+
+        return out.toString();
+    }
+
+    private static void header(@NonNull StringBuilder out, @NonNull String name,
+                               @NonNull String type, @NonNull String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void summary(@NonNull StringBuilder out, @NonNull String name,
+                                @NonNull String labels, @NonNull LatencyHistogram histogram) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (double quantile : QUANTILES) {
+            sample(out, name, prefix + "quantile=\"" + quantile + "\"",
+                    histogram.getValueAtQuantile(quantile) / NANOS_PER_SECOND);
+        }
+        sample(out, name + "_sum", labels, histogram.getSum() / NANOS_PER_SECOND);
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    private static void sample(@NonNull StringBuilder out, @NonNull String name,
+                               @NonNull String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(String.format(Locale.ROOT, "%.9g", value));
+        }
+        out.append('\n');
+    }
+
+    private static @NonNull String arenaLabel(@NonNull ArenaMetrics arena) {
+        return "arena=\"" + escape(arena.getArenaId()) + "\"";
+    }
+
+    private static @NonNull String packetLabel(@NonNull ArenaMetrics arena, @NonNull String type) {
+        return arenaLabel(arena) + ",type=\"" + escape(type.toLowerCase(Locale.ROOT)) + "\"";
+    }
+
+    private static @NonNull String escape(@NonNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,279 @@
+package me.sunmc.dodgeball.mode;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.BallTarget;
+import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.HudManager;
+import me.sunmc.dodgeball.component.JournalManager;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.journal.JournalEventType;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.Tools;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Capture the Flag: bring the enemy flag to your own while yours is at home.
+ * <p>
+ * Flags stand at the arena's TEAM1_FLAG and TEAM2_FLAG locations. Pickups,
+ * returns and captures are all decided from the player snapshot the arena
+ * takes for ball collisions, and a carried flag follows its carrier from the
+ * same snapshot. A carrier who is hit drops the flag where they stood; their
+ * team mates can return it by touching it, otherwise it goes home by itself
+ * after a while. Hits still eliminate, and every flag event goes into the
+ * match journal.
+ */
+public class CaptureTheFlagRules extends EliminationRules {
+
+    private static final double TOUCH_RADIUS_SQUARED = 1.5 * 1.5;
+
+    private final int capturesToWin;
+    private final int returnTicks;
+    private final @Nullable Flag @NonNull [] flags = new Flag[Team.values().length];
+    private final int @NonNull [] captures = new int[Team.values().length];
+    private final @NonNull List<Flag> active = new ArrayList<>(2);
+    // Who has the flags shown: players, eliminated spectators and watchers
+    private final @NonNull Set<UUID> shownTo = new HashSet<>();
+
+    private boolean won;
+
+    public CaptureTheFlagRules(@NonNull DodgeBall plugin) {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        int toWin = 3;
+        int returnSeconds = 15;
+        if (config != null) {
+            toWin = config.getNode("game", "capture-the-flag", "captures-to-win").getInt(toWin);
+            returnSeconds = config.getNode("game", "capture-the-flag", "return-time").getInt(returnSeconds);
+        }
+
+        this.capturesToWin = Math.max(1, toWin);
+        this.returnTicks = Math.max(1, returnSeconds * 20);
+    }
+
+    @Override
+    public void onStart(@NonNull Game game) {
+        Arena arena = game.getArena();
+        Location redBase = arena.getFlagBase(Team.RED);
+        Location blueBase = arena.getFlagBase(Team.BLUE);
+        if (redBase == null || blueBase == null) {
+            DodgeBall.getInstance().getLogger().warning("Arena " + arena.getArenaId() +
+                    " has no TEAM1_FLAG/TEAM2_FLAG, Capture the Flag falls back to elimination");
+            return;
+        }
+
+        flags[Team.RED.ordinal()] = new Flag(Team.RED, redBase);
+        flags[Team.BLUE.ordinal()] = new Flag(Team.BLUE, blueBase);
+        List<Player> viewers = viewers(arena);
+        for (Team team : List.of(Team.RED, Team.BLUE)) {
+            Flag flag = flags[team.ordinal()];
+            active.add(flag);
+            flag.spawn(viewers);
+        }
+        viewers.forEach(viewer -> shownTo.add(viewer.getUniqueId()));
+
+        // Flags are checked on every update, with or without balls in play
+        Tools.getComponent(BallManager.class).startTicking(arena);
+    }
+
+    @Override
+    public boolean watchesPlayers() {
+        return !active.isEmpty();
+    }
+
+    @Override
+    public void onUpdate(@NonNull Game game, @NonNull BallTarget @NonNull [] players, int ticks) {
+        if (active.isEmpty() || won) {
+            return;
+        }
+
+        Arena arena = game.getArena();
+        List<Player> viewers = viewers(arena);
+        syncViewers(viewers);
+        boolean changed = false;
+
+        // A carrier who was hit or left drops the flag where it is
+        for (Flag flag : active) {
+            DodgeBallPlayer carrier = flag.getCarrier();
+            if (carrier != null && (!carrier.isAlive() || !arena.hasPlayer(carrier.getUuid()))) {
+                flag.drop(returnTicks);
+                arena.broadcast("flag-dropped", "player", carrier.getPlayer().getName(),
+                        "team", flag.getTeam().getDisplayName());
+                changed = true;
+            }
+        }
+
+        for (BallTarget target : players) {
+            DodgeBallPlayer player = target.getPlayer();
+            Team team = player.getTeam();
+            Flag own = team != null ? flags[team.ordinal()] : null;
+            if (own == null) {
+                continue;
+            }
+
+            for (Flag flag : active) {
+                if (flag.getCarrier() == player) {
+                    flag.follow(target.getX(), target.getY(), target.getZ(), viewers);
+                    if (own.isHome() && own.baseDistanceSquared(target.getX(), target.getY(), target.getZ())
+                            < TOUCH_RADIUS_SQUARED) {
+                        capture(game, player, flag, viewers);
+                        changed = true;
+                    }
+                } else if (flag.getCarrier() == null
+                        && flag.distanceSquared(target.getX(), target.getY(), target.getZ()) < TOUCH_RADIUS_SQUARED) {
+                    if (flag != own && !isCarrying(player)) {
+                        flag.pickUp(player);
+                        journal(game, JournalEventType.FLAG_TAKEN, player, flag);
+                        arena.broadcast("flag-taken", "player", player.getPlayer().getName(),
+                                "team", flag.getTeam().getDisplayName());
+                        changed = true;
+                    } else if (flag == own && flag.isDropped()) {
+                        flag.reset(viewers);
+                        journal(game, JournalEventType.FLAG_RETURN, player, flag);
+                        arena.broadcast("flag-returned", "team", flag.getTeam().getDisplayName());
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        for (Flag flag : active) {
+            if (flag.isDropped() && flag.tickDropped(ticks)) {
+                flag.reset(viewers);
+                arena.broadcast("flag-returned", "team", flag.getTeam().getDisplayName());
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            Tools.getComponent(HudManager.class).render(game, game.getSecondsLeft());
+        }
+    }
+
+    private void capture(@NonNull Game game, @NonNull DodgeBallPlayer player, @NonNull Flag flag,
+                         @NonNull List<Player> viewers) {
+        Team team = player.getTeam();
+        if (team == null) {
+            return;
+        }
+
+        journal(game, JournalEventType.FLAG_CAPTURE, player, flag);
+        flag.reset(viewers);
+        game.getArena().broadcast("flag-captured", "player", player.getPlayer().getName(),
+                "team", flag.getTeam().getDisplayName());
+
+        if (++captures[team.ordinal()] >= capturesToWin) {
+            won = true;
+            game.endWith(team);
+        }
+    }
+
+    private boolean isCarrying(@NonNull DodgeBallPlayer player) {
+        for (Flag flag : active) {
+            if (flag.getCarrier() == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void journal(@NonNull Game game, @NonNull JournalEventType type, @NonNull DodgeBallPlayer player,
+                         @NonNull Flag flag) {
+        Tools.getComponent(JournalManager.class).record(type, game.getMatchId(), player, null,
+                flag.getEntityId(), flag.getLocation());
+    }
+
+    /**
+     * Shows the flags to anyone who started watching and takes them from anyone who stopped
+     */
+    private void syncViewers(@NonNull List<Player> viewers) {
+        List<Player> joined = new ArrayList<>(0);
+        Set<UUID> current = new HashSet<>();
+        for (Player viewer : viewers) {
+            current.add(viewer.getUniqueId());
+            if (shownTo.add(viewer.getUniqueId())) {
+                joined.add(viewer);
+            }
+        }
+        if (!joined.isEmpty()) {
+            active.forEach(flag -> flag.spawn(joined));
+        }
+
+        if (shownTo.size() > current.size()) {
+            List<Player> left = new ArrayList<>(0);
+            for (Iterator<UUID> iterator = shownTo.iterator(); iterator.hasNext(); ) {
+                UUID viewerId = iterator.next();
+                if (!current.contains(viewerId)) {
+                    iterator.remove();
+                    Player player = Bukkit.getPlayer(viewerId);
+                    if (player != null) {
+                        left.add(player);
+                    }
+                }
+            }
+            active.forEach(flag -> flag.despawn(left));
+        }
+    }
+
+    /**
+     * Everyone who sees the flags: the arena's players, spectating or not, and its watchers
+     */
+    private static @NonNull List<Player> viewers(@NonNull Arena arena) {
+        List<DodgeBallPlayer> members = arena.getSpectators().withWatchers(arena.getPlayers());
+        List<Player> viewers = new ArrayList<>(members.size());
+        for (DodgeBallPlayer member : members) {
+            viewers.add(member.getPlayer());
+        }
+        return viewers;
+    }
+
+    @Override
+    public @Nullable Team decideWinner(@NonNull Game game) {
+        if (active.isEmpty()) {
+            return super.decideWinner(game);
+        }
+
+        int red = captures[Team.RED.ordinal()];
+        int blue = captures[Team.BLUE.ordinal()];
+        return red > blue ? Team.RED : blue > red ? Team.BLUE : null;
+    }
+
+    @Override
+    public void appendSidebar(@NonNull Game game, @NonNull List<Component> lines) {
+        if (active.isEmpty()) {
+            return;
+        }
+
+        // The sidebar is rendered once for the whole arena, so in the server language
+        MessageManager messages = Tools.getComponent(MessageManager.class);
+        lines.add(Component.empty());
+        for (Flag flag : active) {
+            Team team = flag.getTeam();
+            String state = flag.isHome() ? "flag-state-home" : flag.isDropped() ? "flag-state-dropped" : "flag-state-taken";
+            lines.add(messages.get(team == Team.RED ? "flag-sidebar-red" : "flag-sidebar-blue",
+                    "captures", captures[team.ordinal()], "goal", capturesToWin, "state", messages.get(state)));
+        }
+    }
+
+    @Override
+    public void onEnd(@NonNull Game game) {
+        List<Player> viewers = viewers(game.getArena());
+        active.forEach(flag -> flag.despawn(viewers));
+        active.clear();
+        shownTo.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package me.sunmc.dodgeball.mode;
+
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Classic and Elimination: a hit player is out, the last team standing wins
+ */
+public class EliminationRules implements GameRules {
+
+    @Override
+    public void onHit(@NonNull Game game, @NonNull DodgeBallPlayer target, @NonNull DodgeBallPlayer thrower,
+                      @NonNull Ball ball) {
+        target.onHit(thrower, ball);
+        thrower.onSuccessfulHit(target);
+    }
+}
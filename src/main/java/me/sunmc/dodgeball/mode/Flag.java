@@ -0,0 +1,177 @@
+package me.sunmc.dodgeball.mode;
+
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.player.Equipment;
+import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityEquipment;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.packet.PacketFanOut;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A team's flag, shown as a packet-only armor stand wearing the team's banner.
+ * <p>
+ * The flag is at its base, carried, or dropped where its carrier went out.
+ * While carried it follows the carrier's eye position from the arena's player
+ * snapshot, with one teleport packet per update fanned out like a ball's; an
+ * update that did not move it sends nothing.
+ */
+final class Flag {
+
+    // Puts the banner on an armor stand's head just above the carrier's
+    private static final double CARRY_OFFSET = -1.0;
+
+    // Same allocator as balls, so packet entity IDs never collide
+    private final int entityId = Ball.reserveEntityIds(1);
+    private final @NonNull Team team;
+    private final @NonNull Location base;
+    private final @NonNull ItemStack banner;
+
+    private @Nullable DodgeBallPlayer carrier;
+    private boolean dropped;
+    private int returnTicks;
+    private double x;
+    private double y;
+    private double z;
+
+    Flag(@NonNull Team team, @NonNull Location base) {
+        this.team = team;
+        this.base = base.clone();
+        this.banner = new ItemStack(team == Team.RED ? Material.RED_BANNER : Material.BLUE_BANNER);
+        this.x = base.getX();
+        this.y = base.getY();
+        this.z = base.getZ();
+    }
+
+    void spawn(@NonNull Collection<Player> viewers) {
+        List<EntityData<?>> metadata = List.of(
+                // Invisible
+                new EntityData<>(0, EntityDataTypes.BYTE, (byte) 0x20),
+                // Marker, so it never blocks or gets hit
+                new EntityData<>(15, EntityDataTypes.BYTE, (byte) 0x10)
+        );
+
+        List<PacketWrapper<?>> packets = List.of(
+                new WrapperPlayServerSpawnEntity(entityId, Optional.of(UUID.randomUUID()), EntityTypes.ARMOR_STAND,
+                        new Vector3d(x, y, z), 0f, 0f, 0f, 0, Optional.empty()),
+                new WrapperPlayServerEntityMetadata(entityId, metadata),
+                new WrapperPlayServerEntityEquipment(entityId, List.of(new Equipment(EquipmentSlot.HELMET,
+                        SpigotConversionUtil.fromBukkitItemStack(banner))))
+        );
+        PacketFanOut.send(packets, viewers);
+    }
+
+    void despawn(@NonNull Collection<Player> viewers) {
+        PacketFanOut.send(new WrapperPlayServerDestroyEntities(entityId), viewers);
+    }
+
+    /**
+     * Moves the flag to the carrier's snapshot position
+     */
+    void follow(double eyeX, double eyeY, double eyeZ, @NonNull Collection<Player> viewers) {
+        moveTo(eyeX, eyeY + CARRY_OFFSET, eyeZ, viewers);
+    }
+
+    void pickUp(@NonNull DodgeBallPlayer player) {
+        carrier = player;
+        dropped = false;
+    }
+
+    void drop(int returnAfterTicks) {
+        carrier = null;
+        dropped = true;
+        returnTicks = returnAfterTicks;
+    }
+
+    void reset(@NonNull Collection<Player> viewers) {
+        carrier = null;
+        dropped = false;
+        moveTo(base.getX(), base.getY(), base.getZ(), viewers);
+    }
+
+    /**
+     * Counts down a dropped flag
+     *
+     * @return True once it should go back to its base
+     */
+    boolean tickDropped(int ticks) {
+        returnTicks -= ticks;
+        return returnTicks <= 0;
+    }
+
+    private void moveTo(double newX, double newY, double newZ, @NonNull Collection<Player> viewers) {
+        if (newX == x && newY == y && newZ == z) {
+            return;
+        }
+        x = newX;
+        y = newY;
+        z = newZ;
+        PacketFanOut.send(new WrapperPlayServerEntityTeleport(entityId, new Vector3d(x, y, z), 0f, 0f, false),
+                viewers);
+    }
+
+    /**
+     * Squared distance from a player's eye to the banner
+     */
+    double distanceSquared(double eyeX, double eyeY, double eyeZ) {
+        double dx = eyeX - x;
+        double dy = eyeY - (y + 1.6);
+        double dz = eyeZ - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Squared distance from a player's eye to the banner when the flag stands at its base
+     */
+    double baseDistanceSquared(double eyeX, double eyeY, double eyeZ) {
+        double dx = eyeX - base.getX();
+        double dy = eyeY - (base.getY() + 1.6);
+        double dz = eyeZ - base.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    int getEntityId() {
+        return entityId;
+    }
+
+    @NonNull Team getTeam() {
+        return team;
+    }
+
+    @Nullable DodgeBallPlayer getCarrier() {
+        return carrier;
+    }
+
+    boolean isDropped() {
+        return dropped;
+    }
+
+    boolean isHome() {
+        return carrier == null && !dropped;
+    }
+
+    @NonNull Location getLocation() {
+        return new Location(base.getWorld(), x, y, z);
+    }
+}
@@ -0,0 +1,97 @@
+package me.sunmc.dodgeball.mode;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.ball.BallTarget;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.game.PlayMode;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * What makes a {@link PlayMode} play differently.
+ * <p>
+ * A {@link Game} creates the rules of its mode once and hands every mode
+ * specific decision to them. All callbacks run on the thread owning the
+ * arena.
+ */
+public interface GameRules {
+
+    /**
+     * Creates the rules of a mode
+     */
+    static @NonNull GameRules create(@NonNull PlayMode mode) {
+        return switch (mode) {
+            case INFECTION -> new InfectionRules();
+            case KING_OF_THE_HILL -> new KingOfTheHillRules(DodgeBall.getInstance());
+            case CAPTURE_THE_FLAG -> new CaptureTheFlagRules(DodgeBall.getInstance());
+            default -> new EliminationRules();
+        };
+    }
+
+    /**
+     * Called once the players are at their spawns and the timer runs
+     */
+    default void onStart(@NonNull Game game) {
+    }
+
+    /**
+     * Resolves a ball thrown by one player hitting an opponent
+     */
+    void onHit(@NonNull Game game, @NonNull DodgeBallPlayer target, @NonNull DodgeBallPlayer thrower, @NonNull Ball ball);
+
+    /**
+     * Whether the arena keeps updating, and calling {@link #onUpdate}, while it has no balls
+     */
+    default boolean watchesPlayers() {
+        return false;
+    }
+
+    /**
+     * Called on every arena update with the player snapshot the balls collide against
+     *
+     * @param players Alive players with their eye positions
+     * @param ticks   Ticks since the previous update; more than one while the arena is throttled
+     */
+    default void onUpdate(@NonNull Game game, @NonNull BallTarget @NonNull [] players, int ticks) {
+    }
+
+    /**
+     * Picks the winner when time runs out
+     *
+     * @return The winning team, or null for a draw
+     */
+    default @Nullable Team decideWinner(@NonNull Game game) {
+        Arena arena = game.getArena();
+        int redAlive = arena.getAliveCount(Team.RED);
+        int blueAlive = arena.getAliveCount(Team.BLUE);
+        return redAlive > blueAlive ? Team.RED : blueAlive > redAlive ? Team.BLUE : null;
+    }
+
+    /**
+     * Adds mode specific lines to the bottom of the sidebar
+     */
+    default void appendSidebar(@NonNull Game game, @NonNull List<Component> lines) {
+    }
+
+    /**
+     * Mode specific text shown after the regular action bar
+     *
+     * @return The text, or null to show nothing
+     */
+    default @Nullable Component actionBar(@NonNull Game game) {
+        return null;
+    }
+
+    /**
+     * Called when the game ends, before results are shown
+     */
+    default void onEnd(@NonNull Game game) {
+    }
+}
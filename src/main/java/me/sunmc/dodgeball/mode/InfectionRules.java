@@ -0,0 +1,43 @@
+package me.sunmc.dodgeball.mode;
+
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.Tools;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Infection: a hit player stays in the game on the thrower's team.
+ * <p>
+ * The move is a single roster team change, an O(1) swap-remove that also
+ * shifts one alive player between the team counters. The game ends through
+ * the usual elimination callback once a team has nobody left; when time
+ * runs out the larger team wins.
+ */
+public class InfectionRules implements GameRules {
+
+    @Override
+    public void onHit(@NonNull Game game, @NonNull DodgeBallPlayer target, @NonNull DodgeBallPlayer thrower,
+                      @NonNull Ball ball) {
+        Team team = thrower.getTeam();
+        if (team == null || team == Team.SPECTATOR || team == target.getTeam()) {
+            return;
+        }
+
+        target.onInfected(thrower);
+        thrower.onSuccessfulHit(target);
+
+        Arena arena = game.getArena();
+        arena.setPlayerTeam(target, team);
+        arena.broadcast("player-infected", "player", target.getPlayer().getName(), "team", team.getDisplayName());
+
+        Location spawn = arena.getTeamSpawn(team);
+        if (spawn != null) {
+            Tools.getComponent(SchedulerManager.class).getScheduler().teleport(target.getPlayer(), spawn);
+        }
+    }
+}
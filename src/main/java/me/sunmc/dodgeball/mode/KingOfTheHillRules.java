@@ -0,0 +1,199 @@
+package me.sunmc.dodgeball.mode;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.BallTarget;
+import me.sunmc.dodgeball.component.BallManager;
+import me.sunmc.dodgeball.component.HudManager;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.game.Game;
+import me.sunmc.dodgeball.team.Team;
+import me.sunmc.tools.Tools;
+import me.sunmc.tools.configuration.ConfigurationProvider;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * King of the Hill: teams fight over a zone around the arena's CENTER.
+ * <p>
+ * Who stands in the zone is read from the player snapshot the arena takes for
+ * ball collisions on every update, so the zone costs one pass over the alive
+ * players and no entity queries. A team alone in the zone pulls the capture
+ * meter towards its side; once the meter is full that team holds the hill and
+ * earns a point per tick until the other team pulls the meter back past the
+ * middle. Hits still eliminate, and the first team to the target wins.
+ * <p>
+ * The meter is shown as a bar, and the HUD is only rendered again when the
+ * bar moves by a segment or the hill changes hands.
+ */
+public class KingOfTheHillRules extends EliminationRules {
+
+    private static final int BAR_SEGMENTS = 20;
+    private static final double EYE_HEIGHT = 1.62;
+
+    private final double radiusSquared;
+    private final double height;
+    private final int captureTicks;
+    private final int pointsToWin;
+    private final int @NonNull [] points = new int[Team.values().length];
+
+    private @Nullable Location center;
+    // Positive towards red, negative towards blue
+    private int capture;
+    private @Nullable Team holder;
+    private int shownSegments;
+    private boolean won;
+
+    public KingOfTheHillRules(@NonNull DodgeBall plugin) {
+        ConfigurationProvider config = plugin.getRegisteredConfig("config").orElse(null);
+        double radius = 4.0;
+        double zoneHeight = 3.0;
+        int captureSeconds = 5;
+        int winSeconds = 120;
+        if (config != null) {
+            radius = config.getNode("game", "king-of-the-hill", "radius").getDouble(radius);
+            zoneHeight = config.getNode("game", "king-of-the-hill", "height").getDouble(zoneHeight);
+            captureSeconds = config.getNode("game", "king-of-the-hill", "capture-time").getInt(captureSeconds);
+            winSeconds = config.getNode("game", "king-of-the-hill", "points-to-win").getInt(winSeconds);
+        }
+
+        this.radiusSquared = radius * radius;
+        this.height = zoneHeight;
+        this.captureTicks = Math.max(1, captureSeconds * 20);
+        this.pointsToWin = Math.max(1, winSeconds * 20);
+    }
+
+    @Override
+    public void onStart(@NonNull Game game) {
+        Arena arena = game.getArena();
+        center = arena.getLocation("CENTER");
+        if (center == null) {
+            DodgeBall.getInstance().getLogger().warning("Arena " + arena.getArenaId() +
+                    " has no CENTER, King of the Hill falls back to elimination");
+            return;
+        }
+
+        // The zone is checked on every update, with or without balls in play
+        Tools.getComponent(BallManager.class).startTicking(arena);
+    }
+
+    @Override
+    public boolean watchesPlayers() {
+        return center != null;
+    }
+
+    @Override
+    public void onUpdate(@NonNull Game game, @NonNull BallTarget @NonNull [] players, int ticks) {
+        Location zone = center;
+        if (zone == null || won) {
+            return;
+        }
+
+        int red = 0;
+        int blue = 0;
+        for (BallTarget target : players) {
+            if (inZone(target, zone)) {
+                Team team = target.getPlayer().getTeam();
+                if (team == Team.RED) {
+                    red++;
+                } else if (team == Team.BLUE) {
+                    blue++;
+                }
+            }
+        }
+
+        // A contested or empty zone leaves the meter where it is
+        if (red > 0 && blue == 0) {
+            capture = Math.min(captureTicks, capture + ticks);
+        } else if (blue > 0 && red == 0) {
+            capture = Math.max(-captureTicks, capture - ticks);
+        }
+
+        Team previous = holder;
+        if (capture == captureTicks) {
+            holder = Team.RED;
+        } else if (capture == -captureTicks) {
+            holder = Team.BLUE;
+        } else if (holder == Team.RED && capture <= 0 || holder == Team.BLUE && capture >= 0) {
+            holder = null;
+        }
+        if (holder != null && holder != previous) {
+            game.getArena().broadcast("hill-captured", "team", holder.getDisplayName());
+        }
+
+        if (holder != null) {
+            points[holder.ordinal()] += ticks;
+            if (points[holder.ordinal()] >= pointsToWin) {
+                won = true;
+                game.endWith(holder);
+            }
+        }
+
+        int segments = segments();
+        if (segments != shownSegments || holder != previous) {
+            shownSegments = segments;
+            Tools.getComponent(HudManager.class).render(game, game.getSecondsLeft());
+        }
+    }
+
+    private boolean inZone(@NonNull BallTarget target, @NonNull Location zone) {
+        double dx = target.getX() - zone.getX();
+        double dz = target.getZ() - zone.getZ();
+        double feet = target.getY() - EYE_HEIGHT;
+        return dx * dx + dz * dz <= radiusSquared && feet >= zone.getY() - 1 && feet <= zone.getY() + height;
+    }
+
+    /**
+     * Filled bar segments, signed like the meter
+     */
+    private int segments() {
+        return Math.round((float) capture * BAR_SEGMENTS / captureTicks);
+    }
+
+    @Override
+    public @Nullable Team decideWinner(@NonNull Game game) {
+        if (center == null) {
+            return super.decideWinner(game);
+        }
+
+        int red = points[Team.RED.ordinal()];
+        int blue = points[Team.BLUE.ordinal()];
+        return red > blue ? Team.RED : blue > red ? Team.BLUE : null;
+    }
+
+    @Override
+    public void appendSidebar(@NonNull Game game, @NonNull List<Component> lines) {
+        if (center == null) {
+            return;
+        }
+
+        // The sidebar is rendered once for the whole arena, so in the server language
+        MessageManager messages = Tools.getComponent(MessageManager.class);
+        lines.add(Component.empty());
+        lines.add(messages.get("hill-sidebar", "meter", bar()));
+        lines.add(messages.get("hill-sidebar-red", "points", points[Team.RED.ordinal()] / 20, "goal", pointsToWin / 20));
+        lines.add(messages.get("hill-sidebar-blue", "points", points[Team.BLUE.ordinal()] / 20, "goal", pointsToWin / 20));
+    }
+
+    @Override
+    public @Nullable Component actionBar(@NonNull Game game) {
+        return center != null ? bar() : null;
+    }
+
+    /**
+     * The capture meter, filled in the color of the side it leans to
+     */
+    private @NonNull Component bar() {
+        int filled = Math.abs(shownSegments);
+        NamedTextColor color = shownSegments > 0 ? NamedTextColor.RED : NamedTextColor.BLUE;
+        return Component.text()
+                .append(Component.text("|".repeat(filled), color))
+                .append(Component.text("|".repeat(BAR_SEGMENTS - filled), NamedTextColor.DARK_GRAY))
+                .build();
+    }
+}
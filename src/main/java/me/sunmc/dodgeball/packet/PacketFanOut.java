@@ -0,0 +1,111 @@
+package me.sunmc.dodgeball.packet;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.manager.protocol.ProtocolManager;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import me.sunmc.dodgeball.component.MetricsManager;
+import me.sunmc.dodgeball.metrics.ArenaMetrics;
+import me.sunmc.tools.Tools;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the same packets to many players, encoding each packet only once per
+ * client protocol version.
+ * <p>
+ * Viewers are grouped by version; each packet is encoded with the first
+ * viewer's channel and every viewer of that version is written a retained
+ * duplicate of the same buffer. All packets are written before a single
+ * flush per channel.
+ * <p>
+ * Packets written this way skip PacketEvents' send listeners, so they are
+ * counted towards each viewer's arena metrics here, once per encoded buffer.
+ */
+public final class PacketFanOut {
+
+    private PacketFanOut() {
+    }
+
+    public static void send(@NonNull PacketWrapper<?> packet, @NonNull Collection<Player> players) {
+        send(List.of(packet), players);
+    }
+
+    public static void send(@NonNull List<? extends PacketWrapper<?>> packets, @NonNull Collection<Player> players) {
+        if (packets.isEmpty() || players.isEmpty()) {
+            return;
+        }
+
+        MetricsManager metrics = Tools.getComponent(MetricsManager.class);
+        Map<ClientVersion, Group> groups = new HashMap<>(2);
+        for (Player player : players) {
+            User user = PacketEvents.getAPI().getPlayerManager().getUser(player);
+            if (user == null || user.getChannel() == null) {
+                continue;
+            }
+            Group group = groups.computeIfAbsent(user.getClientVersion(), version -> new Group(players.size()));
+            group.channels.add(user.getChannel());
+
+            ArenaMetrics arena = metrics.forViewer(player.getUniqueId());
+            if (arena != null) {
+                group.arenas.merge(arena, 1, Integer::sum);
+            }
+        }
+
+        ProtocolManager protocol = PacketEvents.getAPI().getProtocolManager();
+        for (Group group : groups.values()) {
+            Object[] buffers = encode(packets, group.channels.get(0));
+
+            for (Object channel : group.channels) {
+                for (Object buffer : buffers) {
+                    protocol.writePacket(channel, ByteBufHelper.retainedDuplicate(buffer));
+                }
+                ChannelHelper.flush(channel);
+            }
+
+            for (Map.Entry<ArenaMetrics, Integer> entry : group.arenas.entrySet()) {
+                for (int i = 0; i < buffers.length; i++) {
+                    entry.getKey().recordPackets(packets.get(i).getPacketTypeData().getPacketType().getName(),
+                            entry.getValue(), ByteBufHelper.readableBytes(buffers[i]));
+                }
+            }
+
+            for (Object buffer : buffers) {
+                ByteBufHelper.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Viewers sharing a client version, and how many of them are in each arena
+     */
+    private static final class Group {
+        private final @NonNull List<Object> channels;
+        private final @NonNull Map<ArenaMetrics, Integer> arenas = new HashMap<>(1);
+
+        private Group(int capacity) {
+            this.channels = new ArrayList<>(capacity);
+        }
+    }
+
+    private static Object @NonNull [] encode(@NonNull List<? extends PacketWrapper<?>> packets, @NonNull Object channel) {
+        Object[] buffers = new Object[packets.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            PacketWrapper<?> packet = packets.get(i);
+            packet.prepareForSend(channel, true, false);
+            buffers[i] = packet.getBuffer();
+            // The next version group needs a fresh buffer
+            packet.setBuffer(null);
+        }
+        return buffers;
+    }
+}
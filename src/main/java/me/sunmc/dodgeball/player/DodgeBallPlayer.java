@@ -2,15 +2,19 @@ package me.sunmc.dodgeball.player;
 
 
 import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
 import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.powerup.PowerUpType;
 import me.sunmc.dodgeball.stats.PlayerStats;
 import me.sunmc.dodgeball.team.Team;
-import me.sunmc.tools.configuration.ConfigurationProvider;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Player wrapper - FULLY IMPLEMENTED
@@ -21,14 +25,22 @@ public class DodgeBallPlayer {
     private final @NonNull UUID uuid;
     private final @NonNull PlayerStats stats;
     private final @NonNull DodgeBall plugin;
+    private final @NonNull AtomicBoolean alive = new AtomicBoolean(true);
+    // Power-up bits; set from the arena's thread and cleared from the leave path
+    private final @NonNull AtomicInteger effects = new AtomicInteger();
 
     private @Nullable Team team;
-    private boolean alive;
+    private volatile @Nullable UUID partyId;
+    private volatile @Nullable Arena arena;
     private boolean canCatch;
     private long lastCatchTime;
     private int ballsThrown;
     private int ballsCaught;
     private int successfulHits;
+    private volatile double throwPower = 1;
+    private int multiBall;
+    private volatile boolean spawnProtected;
+    private volatile boolean spectating;
 
     public DodgeBallPlayer(@NonNull Player player, @NonNull DodgeBall plugin) {
         this.player = player;
@@ -39,38 +51,44 @@ public class DodgeBallPlayer {
     }
 
     public void reset() {
-        this.alive = true;
+        setAlive(true);
         this.canCatch = true;
         this.lastCatchTime = 0;
         this.ballsThrown = 0;
         this.ballsCaught = 0;
         this.successfulHits = 0;
+        this.effects.set(0);
+        this.throwPower = 1;
+        this.multiBall = 0;
+        this.spawnProtected = false;
+    }
+
+    public void onThrow() {
+        ballsThrown++;
+        stats.incrementShoots();
     }
 
     public void onHit(@NonNull DodgeBallPlayer thrower, @NonNull Ball ball) {
-        this.alive = false;
+        setAlive(false);
         stats.incrementDeaths();
 
-        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
-        if (messages != null) {
-            String msg = messages.getString("§cYou were hit by {player}!",
-                            "messages.hit-by-player")
-                    .replace("{player}", thrower.getPlayer().getName());
-            player.sendMessage(msg);
-        }
+        player.sendMessage(messages().get(player, "hit-by-player", "player", thrower.getPlayer().getName()));
+    }
+
+    /**
+     * Hit in Infection: counts as a death, but the player stays alive on the thrower's team
+     */
+    public void onInfected(@NonNull DodgeBallPlayer thrower) {
+        stats.incrementDeaths();
+
+        player.sendMessage(messages().get(player, "infected-by", "player", thrower.getPlayer().getName()));
     }
 
     public void onSuccessfulHit(@NonNull DodgeBallPlayer target) {
         successfulHits++;
         stats.incrementKills();
 
-        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
-        if (messages != null) {
-            String msg = messages.getString("§aYou hit {player}!",
-                            "messages.hit-player")
-                    .replace("{player}", target.getPlayer().getName());
-            player.sendMessage(msg);
-        }
+        player.sendMessage(messages().get(player, "hit-player", "player", target.getPlayer().getName()));
     }
 
     public void onCatch(@NonNull Ball ball) {
@@ -78,21 +96,15 @@ public class DodgeBallPlayer {
         stats.incrementCatches();
         lastCatchTime = System.currentTimeMillis();
 
-        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
-        if (messages != null) {
-            String msg = messages.getString("§6Nice catch!", "messages.catch-success");
-            player.sendMessage(msg);
-        }
+        player.sendMessage(messages().get(player, "catch-success"));
     }
 
     public void onBallCaught(@NonNull DodgeBallPlayer catcher) {
-        ConfigurationProvider messages = plugin.getRegisteredConfig("messages").orElse(null);
-        if (messages != null) {
-            String msg = messages.getString("§c{player} caught your ball!",
-                            "messages.ball-caught")
-                    .replace("{player}", catcher.getPlayer().getName());
-            player.sendMessage(msg);
-        }
+        player.sendMessage(messages().get(player, "ball-caught", "player", catcher.getPlayer().getName()));
+    }
+
+    private @NonNull MessageManager messages() {
+        return plugin.getComponent(MessageManager.class);
     }
 
     public void load() {
@@ -123,22 +135,115 @@ public class DodgeBallPlayer {
         this.team = team;
     }
 
+    /**
+     * Gets the party this player queued with; party members always share a team
+     */
+    public @Nullable UUID getPartyId() {
+        return partyId;
+    }
+
+    public void setPartyId(@Nullable UUID partyId) {
+        this.partyId = partyId;
+    }
+
+    /**
+     * Gets the arena this player is in, if any
+     */
+    public @Nullable Arena getArena() {
+        return arena;
+    }
+
+    public void setArena(@Nullable Arena arena) {
+        this.arena = arena;
+    }
+
     public boolean isAlive() {
-        return alive;
+        return alive.get();
     }
 
+    /**
+     * Sets the alive flag, updating the arena's alive counters if it changed
+     */
     public void setAlive(boolean alive) {
-        this.alive = alive;
+        if (this.alive.getAndSet(alive) != alive) {
+            Arena current = arena;
+            if (current != null) {
+                current.onAliveChanged(this, alive);
+            }
+        }
+    }
+
+    /**
+     * Whether balls fly through this player, right after a respawn
+     */
+    public boolean isSpawnProtected() {
+        return spawnProtected;
+    }
+
+    public void setSpawnProtected(boolean spawnProtected) {
+        this.spawnProtected = spawnProtected;
+    }
+
+    /**
+     * Whether this player watches an arena instead of playing; see {@link me.sunmc.dodgeball.arena.ArenaSpectators}
+     */
+    public boolean isSpectating() {
+        return spectating;
+    }
+
+    public void setSpectating(boolean spectating) {
+        this.spectating = spectating;
     }
 
     public boolean canCatch() {
-        return canCatch && alive;
+        return canCatch && alive.get();
     }
 
     public void setCanCatch(boolean canCatch) {
         this.canCatch = canCatch;
     }
 
+    /**
+     * Checks whether a timed power-up is active on this player
+     */
+    public boolean hasEffect(@NonNull PowerUpType type) {
+        return (effects.get() & type.getMask()) != 0;
+    }
+
+    public void setEffect(@NonNull PowerUpType type, boolean active) {
+        int mask = type.getMask();
+        effects.getAndUpdate(bits -> active ? bits | mask : bits & ~mask);
+    }
+
+    /**
+     * Gets the multiplier on this player's throw speed
+     */
+    public double getThrowPower() {
+        return throwPower;
+    }
+
+    public void setThrowPower(double throwPower) {
+        this.throwPower = throwPower;
+    }
+
+    /**
+     * Makes the next throw release several balls
+     */
+    public void addMultiBall(int balls) {
+        multiBall = Math.max(multiBall, balls);
+    }
+
+    /**
+     * Uses up a pending multi-ball
+     *
+     * @return The number of balls the next throw releases; one without multi-ball
+     */
+    public int takeMultiBall() {
+        int balls = multiBall;
+        multiBall = 0;
+        return Math.max(1, balls);
+    }
+
     public int getBallsThrown() {
         return ballsThrown;
     }
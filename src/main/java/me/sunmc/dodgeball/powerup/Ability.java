@@ -0,0 +1,61 @@
+package me.sunmc.dodgeball.powerup;
+
+import me.sunmc.dodgeball.message.MessageTemplate;
+import me.sunmc.tools.item.util.ItemStackBuilder;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * One power-up as configured in abilities.yml
+ */
+public class Ability {
+
+    private final @NonNull PowerUpType type;
+    private final @NonNull Component displayName;
+    private final @NonNull ItemStack icon;
+    private final int durationTicks;
+    private final int amplifier;
+    private final int ballCount;
+
+    public Ability(@NonNull PowerUpType type, @NonNull String displayName, @NonNull Material material,
+                   int customModelData, int durationTicks, int amplifier, int ballCount) {
+        this.type = type;
+        this.displayName = MessageTemplate.compile(displayName).render();
+        this.icon = ItemStackBuilder.of(material).customModelData(customModelData).build();
+        this.durationTicks = durationTicks;
+        this.amplifier = amplifier;
+        this.ballCount = ballCount;
+    }
+
+    public @NonNull PowerUpType getType() {
+        return type;
+    }
+
+    public @NonNull Component getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the item the power-up shows while it waits to be picked up
+     */
+    public @NonNull ItemStack getIcon() {
+        return icon;
+    }
+
+    /**
+     * Gets how long the effect lasts; zero for instant power-ups like multi-ball
+     */
+    public int getDurationTicks() {
+        return durationTicks;
+    }
+
+    public int getAmplifier() {
+        return amplifier;
+    }
+
+    public int getBallCount() {
+        return ballCount;
+    }
+}
@@ -0,0 +1,318 @@
+package me.sunmc.dodgeball.powerup;
+
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.ball.BallTarget;
+import me.sunmc.dodgeball.component.MessageManager;
+import me.sunmc.dodgeball.component.TimerManager;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.timer.TimerWheel;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-ups of one running game.
+ * <p>
+ * Every spawn interval a random ability appears at a free spawn point as a
+ * packet entity. Pickups are decided from the player snapshot the arena takes
+ * for ball collisions. Timed effects are pooled timers in the arena's own
+ * {@link TimerWheel}, advanced with every arena update, so any number of
+ * running effects costs one slot visit per tick and no scheduler tasks;
+ * picking the same power-up up again just moves the running timer. Runs on
+ * the thread owning the arena.
+ */
+public class ArenaPowerUps {
+
+    private static final double PICKUP_RADIUS_SQUARED = 1.5 * 1.5;
+    private static final double STRENGTH_PER_LEVEL = 0.25;
+
+    private final @NonNull Arena arena;
+    private final @NonNull List<Ability> abilities;
+    private final @NonNull List<Location> points;
+    private final int spawnInterval;
+    private final @NonNull TimerWheel wheel = new TimerWheel();
+    private final @NonNull List<PowerUp> spawned = new ArrayList<>();
+    private final @NonNull Map<UUID, ActiveEffect[]> effects = new HashMap<>();
+    private final @NonNull ArrayDeque<ActiveEffect> pool = new ArrayDeque<>();
+    private int untilSpawn;
+
+    public ArenaPowerUps(@NonNull Arena arena, @NonNull List<Ability> abilities, @NonNull List<Location> points,
+                         int spawnInterval) {
+        this.arena = arena;
+        this.abilities = abilities;
+        this.points = points;
+        this.spawnInterval = Math.max(1, spawnInterval);
+        this.untilSpawn = this.spawnInterval;
+    }
+
+    /**
+     * Advances effects and spawns, and hands out power-ups players touch
+     *
+     * @param players Alive players with their eye positions
+     * @param ticks   Ticks since the previous update
+     */
+    public void update(@NonNull BallTarget @NonNull [] players, int ticks) {
+        wheel.advance(ticks);
+
+        untilSpawn -= ticks;
+        if (untilSpawn <= 0) {
+            untilSpawn = spawnInterval;
+            spawnNext();
+        }
+
+        if (spawned.isEmpty()) {
+            return;
+        }
+        for (BallTarget target : players) {
+            for (int i = spawned.size() - 1; i >= 0; i--) {
+                PowerUp powerUp = spawned.get(i);
+                if (powerUp.distanceSquared(target.getX(), target.getY(), target.getZ()) < PICKUP_RADIUS_SQUARED) {
+                    spawned.remove(i);
+                    powerUp.despawn(viewers());
+                    pickUp(target.getPlayer(), powerUp.getAbility());
+                }
+            }
+        }
+    }
+
+    private void spawnNext() {
+        // One power-up per point at a time
+        List<Location> free = new ArrayList<>(points.size());
+        for (Location point : points) {
+            boolean taken = false;
+            for (PowerUp powerUp : spawned) {
+                taken |= powerUp.getLocation().equals(point);
+            }
+            if (!taken) {
+                free.add(point);
+            }
+        }
+        if (free.isEmpty()) {
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Ability ability = abilities.get(random.nextInt(abilities.size()));
+        PowerUp powerUp = new PowerUp(ability, free.get(random.nextInt(free.size())));
+        spawned.add(powerUp);
+        powerUp.spawn(viewers());
+
+        arena.getAudience().queue("powerup-spawned", "powerup", ability.getDisplayName());
+    }
+
+    private void pickUp(@NonNull DodgeBallPlayer player, @NonNull Ability ability) {
+        Player bukkitPlayer = player.getPlayer();
+        bukkitPlayer.playSound(bukkitPlayer.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.2f);
+        bukkitPlayer.sendMessage(messages().get(bukkitPlayer, "powerup-picked-up", "powerup", ability.getDisplayName()));
+
+        if (ability.getType() == PowerUpType.MULTI_BALL) {
+            player.addMultiBall(ability.getBallCount());
+            return;
+        }
+
+        ActiveEffect[] running = effects.computeIfAbsent(player.getUuid(), id -> new ActiveEffect[PowerUpType.values().length]);
+        ActiveEffect effect = running[ability.getType().ordinal()];
+        if (effect == null) {
+            effect = acquire(player, ability);
+            running[ability.getType().ordinal()] = effect;
+        }
+        // Picking it up again restarts the duration, potions included
+        apply(player, ability);
+        wheel.schedule(effect, ability.getDurationTicks());
+    }
+
+    /**
+     * Lets an active shield take a hit instead of the player
+     *
+     * @return True if the hit was absorbed
+     */
+    public boolean absorbHit(@NonNull DodgeBallPlayer target) {
+        ActiveEffect[] running = effects.get(target.getUuid());
+        ActiveEffect shield = running != null ? running[PowerUpType.SHIELD.ordinal()] : null;
+        if (shield == null) {
+            return false;
+        }
+
+        shield.cancel();
+        end(shield);
+
+        Player player = target.getPlayer();
+        player.playSound(player.getLocation(), Sound.ITEM_SHIELD_BLOCK, 1.0f, 1.0f);
+        player.sendMessage(messages().get(player, "shield-blocked"));
+        return true;
+    }
+
+    /**
+     * Potions run for the ability's own duration, so one whose timer never fires still wears off
+     */
+    private void apply(@NonNull DodgeBallPlayer player, @NonNull Ability ability) {
+        player.setEffect(ability.getType(), true);
+        switch (ability.getType()) {
+            case SPEED -> player.getPlayer().addPotionEffect(new PotionEffect(PotionEffectType.SPEED,
+                    ability.getDurationTicks(), ability.getAmplifier(), false, false, true));
+            case INVISIBILITY -> player.getPlayer().addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY,
+                    ability.getDurationTicks(), 0, false, false, true));
+            case STRENGTH -> player.setThrowPower(1 + STRENGTH_PER_LEVEL * (ability.getAmplifier() + 1));
+            default -> {
+            }
+        }
+    }
+
+    private void remove(@NonNull DodgeBallPlayer player, @NonNull Ability ability) {
+        remove(player, ability.getType());
+    }
+
+    private static void remove(@NonNull DodgeBallPlayer player, @NonNull PowerUpType type) {
+        player.setEffect(type, false);
+        switch (type) {
+            case SPEED -> player.getPlayer().removePotionEffect(PotionEffectType.SPEED);
+            case INVISIBILITY -> player.getPlayer().removePotionEffect(PotionEffectType.INVISIBILITY);
+            case STRENGTH -> player.setThrowPower(1);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Ends an effect that is no longer scheduled and returns its timer to the pool
+     */
+    private void end(@NonNull ActiveEffect effect) {
+        DodgeBallPlayer player = effect.player;
+        Ability ability = effect.ability;
+        if (player == null || ability == null) {
+            return;
+        }
+
+        ActiveEffect[] running = effects.get(player.getUuid());
+        if (running != null) {
+            running[ability.getType().ordinal()] = null;
+        }
+        remove(player, ability);
+        release(effect);
+    }
+
+    private void expire(@NonNull ActiveEffect effect) {
+        DodgeBallPlayer player = effect.player;
+        Ability ability = effect.ability;
+        end(effect);
+
+        if (player != null && ability != null && ability.getType() != PowerUpType.SHIELD) {
+            player.getPlayer().sendMessage(messages().get(player.getPlayer(), "powerup-expired",
+                    "powerup", ability.getDisplayName()));
+        }
+    }
+
+    private @NonNull ActiveEffect acquire(@NonNull DodgeBallPlayer player, @NonNull Ability ability) {
+        ActiveEffect effect = pool.poll();
+        if (effect == null) {
+            effect = new ActiveEffect(this);
+        }
+        effect.player = player;
+        effect.ability = ability;
+        return effect;
+    }
+
+    private void release(@NonNull ActiveEffect effect) {
+        effect.player = null;
+        effect.ability = null;
+        pool.push(effect);
+    }
+
+    /**
+     * Ends the effects of a player leaving mid-game.
+     * <p>
+     * Potions come off right away, on the thread the player leaves from, so
+     * they are not saved with a quitting player; the effects' timers are
+     * cancelled and pooled on the thread owning the arena.
+     */
+    public void onLeave(@NonNull DodgeBallPlayer player) {
+        for (PowerUpType type : PowerUpType.values()) {
+            if (player.hasEffect(type)) {
+                remove(player, type);
+            }
+        }
+
+        DodgeBall.getInstance().getComponent(TimerManager.class).schedule(arena, () -> {
+            ActiveEffect[] running = effects.remove(player.getUuid());
+            if (running == null) {
+                return;
+            }
+            for (ActiveEffect effect : running) {
+                if (effect != null) {
+                    effect.cancel();
+                    release(effect);
+                }
+            }
+        }, 1L);
+    }
+
+    /**
+     * Takes every power-up down and ends all effects; called when the game ends
+     */
+    public void clear() {
+        List<Player> viewers = viewers();
+        spawned.forEach(powerUp -> powerUp.despawn(viewers));
+        spawned.clear();
+
+        wheel.cancelAll();
+        for (ActiveEffect[] running : effects.values()) {
+            for (ActiveEffect effect : running) {
+                if (effect != null) {
+                    end(effect);
+                }
+            }
+        }
+        effects.clear();
+    }
+
+    /**
+     * Gets the number of effects currently running
+     */
+    public int getActiveEffects() {
+        return wheel.size();
+    }
+
+    private @NonNull List<Player> viewers() {
+        List<DodgeBallPlayer> members = arena.getSpectators().withWatchers(arena.getPlayers());
+        List<Player> viewers = new ArrayList<>(members.size());
+        for (DodgeBallPlayer member : members) {
+            viewers.add(member.getPlayer());
+        }
+        return viewers;
+    }
+
+    private static @NonNull MessageManager messages() {
+        return DodgeBall.getInstance().getComponent(MessageManager.class);
+    }
+
+    /**
+     * A running effect; the timer itself, so scheduling one allocates nothing once the pool is warm
+     */
+    private static final class ActiveEffect extends TimerWheel.Timer {
+        private final @NonNull ArenaPowerUps owner;
+        private @Nullable DodgeBallPlayer player;
+        private @Nullable Ability ability;
+
+        private ActiveEffect(@NonNull ArenaPowerUps owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        protected void run() {
+            owner.expire(this);
+        }
+    }
+}
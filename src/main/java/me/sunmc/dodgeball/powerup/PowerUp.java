@@ -0,0 +1,84 @@
+package me.sunmc.dodgeball.powerup;
+
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.player.Equipment;
+import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityEquipment;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import me.sunmc.dodgeball.ball.Ball;
+import me.sunmc.dodgeball.packet.PacketFanOut;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A power-up waiting at a spawn point, shown as a packet-only small marker
+ * armor stand wearing the ability's icon, like a ball
+ */
+final class PowerUp {
+
+    // Eye height of a small armor stand, where its helmet shows
+    private static final double ICON_HEIGHT = 0.7;
+
+    // Same allocator as balls, so packet entity IDs never collide
+    private final int entityId = Ball.reserveEntityIds(1);
+    private final @NonNull Ability ability;
+    private final @NonNull Location location;
+
+    PowerUp(@NonNull Ability ability, @NonNull Location location) {
+        this.ability = ability;
+        this.location = location.clone();
+    }
+
+    void spawn(@NonNull Collection<Player> viewers) {
+        List<EntityData<?>> metadata = List.of(
+                // Invisible
+                new EntityData<>(0, EntityDataTypes.BYTE, (byte) 0x20),
+                // Small + marker
+                new EntityData<>(15, EntityDataTypes.BYTE, (byte) (0x01 | 0x10))
+        );
+
+        List<PacketWrapper<?>> packets = List.of(
+                new WrapperPlayServerSpawnEntity(entityId, Optional.of(UUID.randomUUID()), EntityTypes.ARMOR_STAND,
+                        new Vector3d(location.getX(), location.getY(), location.getZ()), 0f, 0f, 0f, 0, Optional.empty()),
+                new WrapperPlayServerEntityMetadata(entityId, metadata),
+                new WrapperPlayServerEntityEquipment(entityId, List.of(new Equipment(EquipmentSlot.HELMET,
+                        SpigotConversionUtil.fromBukkitItemStack(ability.getIcon()))))
+        );
+        PacketFanOut.send(packets, viewers);
+    }
+
+    void despawn(@NonNull Collection<Player> viewers) {
+        PacketFanOut.send(new WrapperPlayServerDestroyEntities(entityId), viewers);
+    }
+
+    /**
+     * Squared distance from a player's eye to the icon
+     */
+    double distanceSquared(double eyeX, double eyeY, double eyeZ) {
+        double dx = eyeX - location.getX();
+        double dy = eyeY - (location.getY() + ICON_HEIGHT);
+        double dz = eyeZ - location.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @NonNull Ability getAbility() {
+        return ability;
+    }
+
+    @NonNull Location getLocation() {
+        return location;
+    }
+}
@@ -0,0 +1,48 @@
+package me.sunmc.dodgeball.powerup;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Power-ups known to abilities.yml
+ */
+public enum PowerUpType {
+    SPEED("speed"),
+    STRENGTH("strength"),
+    SHIELD("shield"),
+    MULTI_BALL("multi-ball"),
+    INVISIBILITY("invisibility");
+
+    private final @NonNull String key;
+
+    PowerUpType(@NonNull String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the section name of this power-up in abilities.yml
+     */
+    public @NonNull String getKey() {
+        return key;
+    }
+
+    /**
+     * Bit of this power-up in a player's active effect mask
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Parses a name like {@code MULTI_BALL} or {@code multi-ball}
+     */
+    public static @Nullable PowerUpType byName(@NonNull String name) {
+        String normalized = name.trim().toUpperCase().replace('-', '_');
+        for (PowerUpType type : values()) {
+            if (type.name().equals(normalized)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,140 @@
+package me.sunmc.dodgeball.rating;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The Glicko-2 update for a single rating period, after Glickman's
+ * "Example of the Glicko-2 system".
+ * <p>
+ * A match is one rating period with one game against a composite opponent;
+ * periods without games only grow the deviation, which {@link #decay} applies
+ * lazily for however many periods passed.
+ */
+public final class Glicko2 {
+
+    /**
+     * Length of a rating period for inactivity decay
+     */
+    public static final long PERIOD_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static final double SCALE = 173.7178;
+    private static final double TAU = 0.5;
+    private static final double EPSILON = 0.000001;
+
+    private Glicko2() {
+    }
+
+    /**
+     * Rates one game
+     *
+     * @param opponentRating    Opponent (or mean opposing team) rating
+     * @param opponentDeviation Opponent (or pooled opposing team) deviation
+     * @param score             1 for a win, 0.5 for a draw, 0 for a loss
+     */
+    public static @NonNull Rating update(@NonNull Rating player, double opponentRating,
+                                         double opponentDeviation, double score) {
+        return update(player, new double[]{opponentRating}, new double[]{opponentDeviation}, new double[]{score});
+    }
+
+    /**
+     * Rates all games of one rating period
+     */
+    public static @NonNull Rating update(@NonNull Rating player, double @NonNull [] opponentRatings,
+                                         double @NonNull [] opponentDeviations, double @NonNull [] scores) {
+        double mu = (player.getRating() - Rating.DEFAULT_RATING) / SCALE;
+        double phi = player.getDeviation() / SCALE;
+        double sigma = player.getVolatility();
+
+        double vInverse = 0;
+        double improvement = 0;
+        for (int j = 0; j < scores.length; j++) {
+            double muJ = (opponentRatings[j] - Rating.DEFAULT_RATING) / SCALE;
+            double g = g(opponentDeviations[j] / SCALE);
+            double expected = 1 / (1 + Math.exp(-g * (mu - muJ)));
+            vInverse += g * g * expected * (1 - expected);
+            improvement += g * (scores[j] - expected);
+        }
+        if (scores.length == 0) {
+            return decay(player, 1);
+        }
+
+        double v = 1 / vInverse;
+        double delta = v * improvement;
+
+        double newSigma = volatility(delta, phi, v, sigma);
+
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+        double newMu = mu + newPhi * newPhi * improvement;
+
+        return new Rating(
+                SCALE * newMu + Rating.DEFAULT_RATING,
+                Math.min(SCALE * newPhi, Rating.DEFAULT_DEVIATION),
+                newSigma
+        );
+    }
+
+    /**
+     * Grows the deviation for rating periods without games, capped at a new player's deviation
+     */
+    public static @NonNull Rating decay(@NonNull Rating rating, double periods) {
+        if (periods <= 0) {
+            return rating;
+        }
+
+        double phi = rating.getDeviation() / SCALE;
+        double sigma = rating.getVolatility();
+        double decayed = Math.sqrt(phi * phi + periods * sigma * sigma) * SCALE;
+
+        return new Rating(rating.getRating(), Math.min(decayed, Rating.DEFAULT_DEVIATION), sigma);
+    }
+
+    private static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Step 5: new volatility by the Illinois variant of regula falsi
+     */
+    private static double volatility(double delta, double phi, double v, double sigma) {
+        double a = Math.log(sigma * sigma);
+        double deltaSq = delta * delta;
+        double phiSq = phi * phi;
+
+        double lower = a;
+        double upper;
+        if (deltaSq > phiSq + v) {
+            upper = Math.log(deltaSq - phiSq - v);
+        } else {
+            int k = 1;
+            while (f(a - k * TAU, deltaSq, phiSq, v, a) < 0) {
+                k++;
+            }
+            upper = a - k * TAU;
+        }
+
+        double fLower = f(lower, deltaSq, phiSq, v, a);
+        double fUpper = f(upper, deltaSq, phiSq, v, a);
+
+        while (Math.abs(upper - lower) > EPSILON) {
+            double c = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fC = f(c, deltaSq, phiSq, v, a);
+            if (fC * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2;
+            }
+            upper = c;
+            fUpper = fC;
+        }
+
+        return Math.exp(lower / 2);
+    }
+
+    private static double f(double x, double deltaSq, double phiSq, double v, double a) {
+        double ex = Math.exp(x);
+        double denominator = phiSq + v + ex;
+        return ex * (deltaSq - phiSq - v - ex) / (2 * denominator * denominator) - (x - a) / (TAU * TAU);
+    }
+}
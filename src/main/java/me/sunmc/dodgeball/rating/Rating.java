@@ -0,0 +1,49 @@
+package me.sunmc.dodgeball.rating;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Immutable Glicko-2 rating on the familiar Glicko scale (new players are 1500 ± 350).
+ */
+public final class Rating {
+
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    public static final @NonNull Rating DEFAULT = new Rating(DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_VOLATILITY);
+
+    private final double rating;
+    private final double deviation;
+    private final double volatility;
+
+    public Rating(double rating, double deviation, double volatility) {
+        this.rating = rating;
+        this.deviation = deviation;
+        this.volatility = volatility;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public double getDeviation() {
+        return deviation;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    /**
+     * Gets a rating the player is very likely above (rating minus two deviations)
+     */
+    public double getConservativeRating() {
+        return rating - 2 * deviation;
+    }
+
+    @Override
+    public String toString() {
+        return Math.round(rating) + " ± " + Math.round(deviation);
+    }
+}
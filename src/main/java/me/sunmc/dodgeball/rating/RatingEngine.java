@@ -0,0 +1,60 @@
+package me.sunmc.dodgeball.rating;
+
+import me.sunmc.dodgeball.stats.PlayerStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Rates a finished team match in one pass.
+ * <p>
+ * Every player plays a single game against a composite opponent: the mean
+ * rating of the other team with the pooled deviation of its players. All
+ * ratings are read (and lazily decayed) before any is written, so the order
+ * players are processed in never matters.
+ */
+public final class RatingEngine {
+
+    private RatingEngine() {
+    }
+
+    /**
+     * @param redScore Score of the first team: 1 for a win, 0.5 for a draw, 0 for a loss
+     */
+    public static void rateMatch(@NonNull List<PlayerStats> red, @NonNull List<PlayerStats> blue,
+                                 double redScore, long now) {
+        if (red.isEmpty() || blue.isEmpty()) {
+            return;
+        }
+
+        Rating[] redRatings = snapshot(red);
+        Rating[] blueRatings = snapshot(blue);
+
+        apply(red, redRatings, blueRatings, redScore, now);
+        apply(blue, blueRatings, redRatings, 1 - redScore, now);
+    }
+
+    private static Rating @NonNull [] snapshot(@NonNull List<PlayerStats> team) {
+        Rating[] ratings = new Rating[team.size()];
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] = team.get(i).getRating();
+        }
+        return ratings;
+    }
+
+    private static void apply(@NonNull List<PlayerStats> team, Rating @NonNull [] ratings,
+                              Rating @NonNull [] opponents, double score, long now) {
+        double opponentRating = 0;
+        double opponentVariance = 0;
+        for (Rating opponent : opponents) {
+            opponentRating += opponent.getRating();
+            opponentVariance += opponent.getDeviation() * opponent.getDeviation();
+        }
+        opponentRating /= opponents.length;
+        double opponentDeviation = Math.sqrt(opponentVariance / opponents.length);
+
+        for (int i = 0; i < ratings.length; i++) {
+            team.get(i).setRating(Glicko2.update(ratings[i], opponentRating, opponentDeviation, score), now);
+        }
+    }
+}
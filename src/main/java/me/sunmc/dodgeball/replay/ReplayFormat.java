@@ -0,0 +1,95 @@
+package me.sunmc.dodgeball.replay;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and varint helpers for the replay stream.
+ * <p>
+ * A replay file is a deflate-compressed stream of:
+ * <pre>
+ * header  magic int, version byte, match id long, arena id UTF, world UTF,
+ *         start time long, ticks per frame varint
+ * ops     DECLARE  index varint, uuid 2 longs, team byte, name UTF
+ *         FRAME    ticks since previous frame varint
+ *         SPAWN    key varint, x y z zigzag varints (absolute)
+ *         MOVE     key varint, dx dy dz zigzag varints (delta to last position)
+ *         DESPAWN  key varint
+ *         END
+ * </pre>
+ * Positions are fixed point in 1/{@value #SCALE} of a block. Keys are
+ * {@code id << 1 | 1} for declared players and {@code entityId << 1} for balls.
+ */
+public final class ReplayFormat {
+
+    public static final int MAGIC = 0x44425250; // "DBRP"
+    public static final byte VERSION = 1;
+    public static final double SCALE = 32.0;
+    public static final String EXTENSION = ".dbr";
+
+    public static final int OP_DECLARE = 1;
+    public static final int OP_FRAME = 2;
+    public static final int OP_SPAWN = 3;
+    public static final int OP_MOVE = 4;
+    public static final int OP_DESPAWN = 5;
+    public static final int OP_END = 0x7F;
+
+    private ReplayFormat() {
+    }
+
+    public static int quantize(double coordinate) {
+        return (int) Math.round(coordinate * SCALE);
+    }
+
+    public static double dequantize(int value) {
+        return value / SCALE;
+    }
+
+    public static int playerKey(int index) {
+        return (index << 1) | 1;
+    }
+
+    public static int ballKey(int entityId) {
+        return entityId << 1;
+    }
+
+    public static boolean isPlayerKey(int key) {
+        return (key & 1) != 0;
+    }
+
+    public static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int readVarInt(@NonNull DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 28) {
+                throw new IOException("VarInt too long");
+            }
+        }
+    }
+
+    /**
+     * Reads a string written by {@link ReplayRecorder} as an unsigned short length and UTF-8 bytes
+     */
+    public static @NonNull String readString(@NonNull DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,287 @@
+package me.sunmc.dodgeball.replay;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.player.Equipment;
+import com.github.retrooper.packetevents.protocol.player.EquipmentSlot;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.*;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.component.SchedulerManager;
+import me.sunmc.dodgeball.scheduler.ServerScheduler;
+import me.sunmc.dodgeball.scheduler.TaskHandle;
+import me.sunmc.dodgeball.team.Team;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a replay back to one viewer with packet-only armor stands.
+ * <p>
+ * Frames are decoded ahead on the async scheduler into a small bounded queue;
+ * the viewer's thread applies one frame whenever its recorded tick count elapses.
+ * The viewer watches in spectator mode and is put back where they were afterwards.
+ */
+public class ReplayPlayback {
+
+    private static final @NonNull AtomicInteger ENTITY_ID_COUNTER = new AtomicInteger(1_500_000);
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int DECODE_BATCH = 32;
+
+    private final @NonNull DodgeBall plugin;
+    private final @NonNull Player viewer;
+    private final @NonNull ReplayReader reader;
+    private final @NonNull BlockingQueue<ReplayReader.Frame> frames = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final @NonNull AtomicBoolean decoding = new AtomicBoolean();
+    private final @NonNull Map<Integer, Integer> entityIds = new HashMap<>();
+    private final @NonNull Map<Integer, ReplayReader.Declare> declared = new HashMap<>();
+    private final @NonNull ItemStack ballItem = new ItemStack(Material.SNOWBALL);
+    private final @NonNull Location returnLocation;
+    private final @NonNull GameMode returnGameMode;
+
+    private @Nullable TaskHandle task;
+    private volatile boolean decoded;
+    private volatile boolean stopped;
+    private boolean positioned;
+    private int wait;
+
+    public ReplayPlayback(@NonNull DodgeBall plugin, @NonNull Player viewer, @NonNull ReplayReader reader) {
+        this.plugin = plugin;
+        this.viewer = viewer;
+        this.reader = reader;
+        this.returnLocation = viewer.getLocation();
+        this.returnGameMode = viewer.getGameMode();
+    }
+
+    public void start() {
+        viewer.setGameMode(GameMode.SPECTATOR);
+        viewer.sendMessage(Component.text("§aPlaying replay §e" + reader.getMatchId() +
+                " §aof arena §e" + reader.getArenaId(), NamedTextColor.GREEN));
+        decodeAhead();
+    }
+
+    /**
+     * Sets the task advancing this playback, cancelled when it stops
+     */
+    public void setTask(@NonNull TaskHandle task) {
+        this.task = task;
+        if (stopped) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Advances playback by one server tick
+     *
+     * @return False once playback is over
+     */
+    public boolean tick() {
+        if (stopped) {
+            return false;
+        }
+        if (!viewer.isOnline()) {
+            stop();
+            return false;
+        }
+
+        if (frames.size() < QUEUE_CAPACITY / 2) {
+            decodeAhead();
+        }
+
+        if (--wait > 0) {
+            return true;
+        }
+
+        ReplayReader.Frame frame = frames.poll();
+        if (frame == null) {
+            if (decoded && !decoding.get() && frames.isEmpty()) {
+                viewer.sendMessage(Component.text("§aReplay finished", NamedTextColor.GREEN));
+                stop();
+                return false;
+            }
+            // Decoder is behind; hold the current frame
+            return true;
+        }
+
+        wait = frame.getTicks();
+        frame.getDeclares().forEach(declare -> declared.put(declare.getIndex(), declare));
+        for (ReplayReader.Change change : frame.getChanges()) {
+            apply(change);
+        }
+        return true;
+    }
+
+    private void decodeAhead() {
+        if (decoded || !decoding.compareAndSet(false, true)) {
+            return;
+        }
+
+        plugin.getSchedulerAdapter().async().execute(() -> {
+            try {
+                for (int i = 0; i < DECODE_BATCH && !stopped && frames.remainingCapacity() > 0; i++) {
+                    ReplayReader.Frame frame = reader.next();
+                    if (frame == null) {
+                        decoded = true;
+                        break;
+                    }
+                    frames.offer(frame);
+                }
+            } catch (IOException e) {
+                if (!stopped) {
+                    plugin.getLogger().warning("Failed to read replay " + reader.getMatchId() + ": " + e.getMessage());
+                }
+                decoded = true;
+            } finally {
+                decoding.set(false);
+                if (stopped) {
+                    closeReader();
+                }
+            }
+        });
+    }
+
+    private void apply(ReplayReader.@NonNull Change change) {
+        switch (change.getType()) {
+            case ReplayReader.Change.SPAWN -> spawn(change);
+            case ReplayReader.Change.MOVE -> {
+                Integer entityId = entityIds.get(change.getKey());
+                if (entityId != null) {
+                    send(new WrapperPlayServerEntityTeleport(entityId,
+                            new Vector3d(change.getX(), change.getY(), change.getZ()), 0f, 0f, false));
+                }
+            }
+            case ReplayReader.Change.DESPAWN -> {
+                Integer entityId = entityIds.remove(change.getKey());
+                if (entityId != null) {
+                    send(new WrapperPlayServerDestroyEntities(entityId));
+                }
+            }
+        }
+    }
+
+    private void spawn(ReplayReader.@NonNull Change change) {
+        int entityId = ENTITY_ID_COUNTER.incrementAndGet();
+        entityIds.put(change.getKey(), entityId);
+
+        if (!positioned) {
+            // First entity of the replay: bring the viewer to the action
+            positioned = true;
+            World world = Bukkit.getWorld(reader.getWorldName());
+            if (world != null) {
+                scheduler().teleport(viewer, new Location(world, change.getX(), change.getY() + 8, change.getZ(), 0f, 60f));
+            }
+        }
+
+        send(new WrapperPlayServerSpawnEntity(
+                entityId,
+                Optional.of(UUID.randomUUID()),
+                EntityTypes.ARMOR_STAND,
+                new Vector3d(change.getX(), change.getY(), change.getZ()),
+                0f, 0f, 0f,
+                0,
+                Optional.empty()
+        ));
+
+        List<EntityData<?>> metadata = new ArrayList<>();
+        if (ReplayFormat.isPlayerKey(change.getKey())) {
+            ReplayReader.Declare declare = declared.get(change.getKey() >>> 1);
+            String name = declare != null ? teamColor(declare.getTeam()) + declare.getName() : "§7?";
+            metadata.add(new EntityData<>(2, EntityDataTypes.OPTIONAL_ADV_COMPONENT,
+                    Optional.of(Component.text(name))));
+            metadata.add(new EntityData<>(3, EntityDataTypes.BOOLEAN, true));
+        } else {
+            // Same look as a live ball: invisible small marker wearing the ball
+            metadata.add(new EntityData<>(0, EntityDataTypes.BYTE, (byte) 0x20));
+            metadata.add(new EntityData<>(15, EntityDataTypes.BYTE, (byte) (0x01 | 0x10)));
+            send(new WrapperPlayServerEntityEquipment(entityId, List.of(new Equipment(
+                    EquipmentSlot.HELMET, SpigotConversionUtil.fromBukkitItemStack(ballItem)))));
+        }
+        send(new WrapperPlayServerEntityMetadata(entityId, metadata));
+    }
+
+    private static @NonNull String teamColor(int team) {
+        if (team == Team.RED.ordinal() + 1) {
+            return "§c";
+        }
+        if (team == Team.BLUE.ordinal() + 1) {
+            return "§9";
+        }
+        return "§7";
+    }
+
+    private @NonNull ServerScheduler scheduler() {
+        return plugin.getComponent(SchedulerManager.class).getScheduler();
+    }
+
+    private void send(@NonNull PacketWrapper<?> packet) {
+        try {
+            PacketEvents.getAPI().getPlayerManager().sendPacket(viewer, packet);
+        } catch (Exception e) {
+            // Viewer disconnected
+        }
+    }
+
+    /**
+     * Removes every fake entity and returns the viewer to where they started
+     */
+    public void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (task != null) {
+            task.cancel();
+        }
+
+        if (!entityIds.isEmpty()) {
+            send(new WrapperPlayServerDestroyEntities(entityIds.values().stream().mapToInt(Integer::intValue).toArray()));
+            entityIds.clear();
+        }
+
+        if (viewer.isOnline()) {
+            ServerScheduler scheduler = scheduler();
+            scheduler.runFor(viewer, () -> viewer.setGameMode(returnGameMode), 0L);
+            scheduler.teleport(viewer, returnLocation);
+        }
+
+        // An in-flight decode closes the reader itself when it sees the stop
+        if (!decoding.get()) {
+            closeReader();
+        }
+    }
+
+    private void closeReader() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // Nothing left to read anyway
+        }
+    }
+
+    public @NonNull Player getViewer() {
+        return viewer;
+    }
+
+    public long getMatchId() {
+        return reader.getMatchId();
+    }
+}
@@ -0,0 +1,272 @@
+package me.sunmc.dodgeball.replay;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streams a replay file back as frames of absolute positions.
+ * <p>
+ * Not thread-safe; the playback decodes ahead in batches on one async task at a time.
+ */
+public class ReplayReader implements Closeable {
+
+    private final @NonNull DataInputStream in;
+    private final @NonNull Map<Integer, int[]> positions = new HashMap<>();
+    private final long matchId;
+    private final @NonNull String arenaId;
+    private final @NonNull String worldName;
+    private final long startTime;
+    private final int ticksPerFrame;
+    private @Nullable Frame pending;
+    private boolean finished;
+
+    public ReplayReader(@NonNull File file) throws IOException {
+        this.in = new DataInputStream(new InflaterInputStream(new BufferedInputStream(new FileInputStream(file))));
+
+        if (in.readInt() != ReplayFormat.MAGIC) {
+            in.close();
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ReplayFormat.VERSION) {
+            in.close();
+            throw new IOException("Unsupported replay version " + version);
+        }
+
+        this.matchId = in.readLong();
+        this.arenaId = ReplayFormat.readString(in);
+        this.worldName = ReplayFormat.readString(in);
+        this.startTime = in.readLong();
+        this.ticksPerFrame = ReplayFormat.readVarInt(in);
+    }
+
+    /**
+     * Decodes the next frame
+     *
+     * @return Next frame, or null at the end of the replay (including a truncated tail)
+     */
+    public @Nullable Frame next() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        try {
+            while (true) {
+                int op = in.readUnsignedByte();
+                switch (op) {
+                    case ReplayFormat.OP_FRAME -> {
+                        Frame complete = pending;
+                        pending = new Frame(ReplayFormat.readVarInt(in));
+                        if (complete != null) {
+                            return complete;
+                        }
+                    }
+                    case ReplayFormat.OP_DECLARE -> {
+                        int index = ReplayFormat.readVarInt(in);
+                        UUID uuid = new UUID(in.readLong(), in.readLong());
+                        int team = in.readUnsignedByte();
+                        String name = ReplayFormat.readString(in);
+                        frame().declares.add(new Declare(index, uuid, team, name));
+                    }
+                    case ReplayFormat.OP_SPAWN -> {
+                        int key = ReplayFormat.readVarInt(in);
+                        int[] position = {
+                                ReplayFormat.unzigzag(ReplayFormat.readVarInt(in)),
+                                ReplayFormat.unzigzag(ReplayFormat.readVarInt(in)),
+                                ReplayFormat.unzigzag(ReplayFormat.readVarInt(in))
+                        };
+                        positions.put(key, position);
+                        frame().changes.add(new Change(Change.SPAWN, key, position));
+                    }
+                    case ReplayFormat.OP_MOVE -> {
+                        int key = ReplayFormat.readVarInt(in);
+                        int dx = ReplayFormat.unzigzag(ReplayFormat.readVarInt(in));
+                        int dy = ReplayFormat.unzigzag(ReplayFormat.readVarInt(in));
+                        int dz = ReplayFormat.unzigzag(ReplayFormat.readVarInt(in));
+                        int[] position = positions.get(key);
+                        if (position == null) {
+                            throw new IOException("Move for unknown entity " + key);
+                        }
+                        position[0] += dx;
+                        position[1] += dy;
+                        position[2] += dz;
+                        frame().changes.add(new Change(Change.MOVE, key, position));
+                    }
+                    case ReplayFormat.OP_DESPAWN -> {
+                        int key = ReplayFormat.readVarInt(in);
+                        positions.remove(key);
+                        frame().changes.add(new Change(Change.DESPAWN, key, null));
+                    }
+                    case ReplayFormat.OP_END -> {
+                        return finish();
+                    }
+                    default -> throw new IOException("Unknown replay op " + op);
+                }
+            }
+        } catch (EOFException e) {
+            // Recording stopped early (crash or memory budget); play what we have
+            return finish();
+        }
+    }
+
+    private @Nullable Frame finish() {
+        finished = true;
+        Frame last = pending;
+        pending = null;
+        return last;
+    }
+
+    private @NonNull Frame frame() throws IOException {
+        if (pending == null) {
+            throw new IOException("Replay op outside of a frame");
+        }
+        return pending;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public long getMatchId() {
+        return matchId;
+    }
+
+    public @NonNull String getArenaId() {
+        return arenaId;
+    }
+
+    public @NonNull String getWorldName() {
+        return worldName;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public int getTicksPerFrame() {
+        return ticksPerFrame;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Everything that changed since the previous frame
+     */
+    public static class Frame {
+        private final int ticks;
+        private final @NonNull List<Declare> declares = new ArrayList<>(0);
+        private final @NonNull List<Change> changes = new ArrayList<>();
+
+        private Frame(int ticks) {
+            this.ticks = ticks;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        public @NonNull List<Declare> getDeclares() {
+            return declares;
+        }
+
+        public @NonNull List<Change> getChanges() {
+            return changes;
+        }
+    }
+
+    /**
+     * A recorded player, referenced by {@link ReplayFormat#playerKey(int)}
+     */
+    public static class Declare {
+        private final int index;
+        private final @NonNull UUID uuid;
+        private final int team;
+        private final @NonNull String name;
+
+        private Declare(int index, @NonNull UUID uuid, int team, @NonNull String name) {
+            this.index = index;
+            this.uuid = uuid;
+            this.team = team;
+            this.name = name;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public @NonNull UUID getUuid() {
+            return uuid;
+        }
+
+        /**
+         * Team ordinal + 1, 0 = none
+         */
+        public int getTeam() {
+            return team;
+        }
+
+        public @NonNull String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * A spawn, move or despawn of one entity; positions are absolute block coordinates
+     */
+    public static class Change {
+        public static final int SPAWN = 0;
+        public static final int MOVE = 1;
+        public static final int DESPAWN = 2;
+
+        private final int type;
+        private final int key;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        private Change(int type, int key, int @Nullable [] position) {
+            this.type = type;
+            this.key = key;
+            this.x = position != null ? ReplayFormat.dequantize(position[0]) : 0;
+            this.y = position != null ? ReplayFormat.dequantize(position[1]) : 0;
+            this.z = position != null ? ReplayFormat.dequantize(position[2]) : 0;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public int getKey() {
+            return key;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public double getZ() {
+            return z;
+        }
+    }
+}
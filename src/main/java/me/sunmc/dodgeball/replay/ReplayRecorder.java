@@ -0,0 +1,252 @@
+package me.sunmc.dodgeball.replay;
+
+import me.sunmc.dodgeball.arena.Arena;
+import me.sunmc.dodgeball.player.DodgeBallPlayer;
+import me.sunmc.dodgeball.team.Team;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records one match into a {@link ReplayFormat} stream.
+ * <p>
+ * Balls push their position from the physics tick into a per-ball slot; every
+ * {@code ticksPerFrame} ticks the arena's thread captures a frame, encoding only
+ * entities that moved as quantized deltas. Bytes go into one fixed-size chunk
+ * that is handed to the {@link ReplayWriter} when full, so a recording never
+ * holds more than a chunk on the game thread.
+ */
+public class ReplayRecorder {
+
+    private final @NonNull Arena arena;
+    private final long matchId;
+    private final int ticksPerFrame;
+    private final @NonNull ReplayWriter writer;
+    private final byte @NonNull [] chunk;
+
+    // Written by ball ticks (possibly in parallel), read when a frame is captured
+    private final @NonNull Map<Integer, double[]> balls = new ConcurrentHashMap<>();
+
+    // Arena thread only: key -> {x, y, z, frame last seen}
+    private final @NonNull Map<Integer, int[]> known = new HashMap<>();
+    private final @NonNull Map<UUID, Integer> playerIndex = new HashMap<>();
+
+    private int position;
+    private int frame;
+    private int ticksSinceFrame;
+    private boolean stopped;
+    private boolean truncated;
+
+    public ReplayRecorder(@NonNull Arena arena, long matchId, int ticksPerFrame,
+                          int chunkSize, @NonNull ReplayWriter writer) {
+        this.arena = arena;
+        this.matchId = matchId;
+        this.ticksPerFrame = Math.max(1, ticksPerFrame);
+        this.writer = writer;
+        this.chunk = new byte[Math.max(1024, chunkSize)];
+
+        Location center = arena.getLocation("CENTER");
+
+        writeInt(ReplayFormat.MAGIC);
+        writeByte(ReplayFormat.VERSION);
+        writeLong(matchId);
+        writeString(arena.getArenaId());
+        writeString(center != null && center.getWorld() != null ? center.getWorld().getName() : "");
+        writeLong(System.currentTimeMillis());
+        writeVarInt(this.ticksPerFrame);
+    }
+
+    /**
+     * Stores the latest position of a ball; safe from parallel ball ticks
+     */
+    public void onBallMoved(int entityId, double x, double y, double z) {
+        if (stopped) {
+            return;
+        }
+        double[] slot = balls.computeIfAbsent(entityId, id -> new double[3]);
+        slot[0] = x;
+        slot[1] = y;
+        slot[2] = z;
+    }
+
+    public void onBallRemoved(int entityId) {
+        balls.remove(entityId);
+    }
+
+    /**
+     * Advances one server tick, capturing a frame every {@code ticksPerFrame} ticks
+     */
+    public void tick() {
+        if (stopped) {
+            return;
+        }
+        ticksSinceFrame++;
+        if (ticksSinceFrame >= ticksPerFrame) {
+            captureFrame();
+        }
+    }
+
+    private void captureFrame() {
+        frame++;
+        writeByte(ReplayFormat.OP_FRAME);
+        writeVarInt(ticksSinceFrame);
+        ticksSinceFrame = 0;
+
+        for (DodgeBallPlayer player : arena.getPlayers()) {
+            if (!player.isAlive()) {
+                continue;
+            }
+            Location location = player.getPlayer().getLocation();
+            record(ReplayFormat.playerKey(indexOf(player)), location.getX(), location.getY(), location.getZ());
+        }
+
+        for (Map.Entry<Integer, double[]> entry : balls.entrySet()) {
+            double[] slot = entry.getValue();
+            record(ReplayFormat.ballKey(entry.getKey()), slot[0], slot[1], slot[2]);
+        }
+
+        Iterator<Map.Entry<Integer, int[]>> iterator = known.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, int[]> entry = iterator.next();
+            if (entry.getValue()[3] != frame) {
+                writeByte(ReplayFormat.OP_DESPAWN);
+                writeVarInt(entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void record(int key, double x, double y, double z) {
+        int qx = ReplayFormat.quantize(x);
+        int qy = ReplayFormat.quantize(y);
+        int qz = ReplayFormat.quantize(z);
+
+        int[] last = known.get(key);
+        if (last == null) {
+            known.put(key, new int[]{qx, qy, qz, frame});
+            writeByte(ReplayFormat.OP_SPAWN);
+            writeVarInt(key);
+            writeVarInt(ReplayFormat.zigzag(qx));
+            writeVarInt(ReplayFormat.zigzag(qy));
+            writeVarInt(ReplayFormat.zigzag(qz));
+            return;
+        }
+
+        last[3] = frame;
+        if (last[0] == qx && last[1] == qy && last[2] == qz) {
+            return;
+        }
+
+        writeByte(ReplayFormat.OP_MOVE);
+        writeVarInt(key);
+        writeVarInt(ReplayFormat.zigzag(qx - last[0]));
+        writeVarInt(ReplayFormat.zigzag(qy - last[1]));
+        writeVarInt(ReplayFormat.zigzag(qz - last[2]));
+        last[0] = qx;
+        last[1] = qy;
+        last[2] = qz;
+    }
+
+    private int indexOf(@NonNull DodgeBallPlayer player) {
+        Integer index = playerIndex.get(player.getUuid());
+        if (index != null) {
+            return index;
+        }
+
+        int next = playerIndex.size();
+        playerIndex.put(player.getUuid(), next);
+
+        Team team = player.getTeam();
+        writeByte(ReplayFormat.OP_DECLARE);
+        writeVarInt(next);
+        writeLong(player.getUuid().getMostSignificantBits());
+        writeLong(player.getUuid().getLeastSignificantBits());
+        writeByte(team == null ? 0 : team.ordinal() + 1);
+        writeString(player.getPlayer().getName());
+        return next;
+    }
+
+    /**
+     * Ends the stream and closes the file
+     */
+    public void stop() {
+        if (stopped) {
+            return;
+        }
+        writeByte(ReplayFormat.OP_END);
+        flushChunk();
+        stopped = true;
+        balls.clear();
+        writer.close();
+    }
+
+    private void flushChunk() {
+        if (position == 0 || truncated) {
+            position = 0;
+            return;
+        }
+        if (!writer.write(chunk, position)) {
+            // Over the memory budget: the file simply ends here and reads as a shorter replay
+            truncated = true;
+            stopped = true;
+            balls.clear();
+            writer.close();
+        }
+        position = 0;
+    }
+
+    private void writeByte(int value) {
+        if (position == chunk.length) {
+            flushChunk();
+        }
+        chunk[position++] = (byte) value;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeInt(int value) {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeString(@NonNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 0xFFFF);
+        writeByte(length >>> 8);
+        writeByte(length);
+        for (int i = 0; i < length; i++) {
+            writeByte(bytes[i]);
+        }
+    }
+
+    public @NonNull Arena getArena() {
+        return arena;
+    }
+
+    public long getMatchId() {
+        return matchId;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,101 @@
+package me.sunmc.dodgeball.replay;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Deflates the chunks of one replay into its file on the replay writer thread.
+ * <p>
+ * Every pending chunk holds a permit of a budget shared by all recordings, so
+ * a slow disk makes recordings stop early instead of growing the heap.
+ */
+public class ReplayWriter {
+
+    private final @NonNull File file;
+    private final @NonNull Executor executor;
+    private final @NonNull Semaphore budget;
+    private final @NonNull Logger logger;
+    private @Nullable Deflater deflater;
+    private @Nullable OutputStream out;
+    private volatile boolean failed;
+
+    public ReplayWriter(@NonNull File file, @NonNull Executor executor,
+                        @NonNull Semaphore budget, @NonNull Logger logger) {
+        this.file = file;
+        this.executor = executor;
+        this.budget = budget;
+        this.logger = logger;
+    }
+
+    /**
+     * Queues a copy of {@code data[0..length)} to be appended
+     *
+     * @return False if the pending budget is exhausted or the file failed; the chunk is not written
+     */
+    public boolean write(byte @NonNull [] data, int length) {
+        if (failed || !budget.tryAcquire()) {
+            return false;
+        }
+
+        byte[] chunk = Arrays.copyOf(data, length);
+        executor.execute(() -> {
+            try {
+                if (!failed) {
+                    stream().write(chunk);
+                }
+            } catch (IOException e) {
+                failed = true;
+                logger.warning("Failed to write replay " + file.getName() + ": " + e.getMessage());
+            } finally {
+                budget.release();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Finishes the deflate stream once every queued chunk is written
+     */
+    public void close() {
+        executor.execute(() -> {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warning("Failed to close replay " + file.getName() + ": " + e.getMessage());
+            }
+            deflater.end();
+            out = null;
+        });
+    }
+
+    private @NonNull OutputStream stream() throws IOException {
+        if (out == null) {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            out = new DeflaterOutputStream(new BufferedOutputStream(new FileOutputStream(file)), deflater, 8192);
+        }
+        return out;
+    }
+
+    public @NonNull File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,113 @@
+package me.sunmc.dodgeball.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ServerScheduler} for Paper: every location and entity belongs to the main thread
+ */
+public class BukkitServerScheduler implements ServerScheduler {
+
+    private final @NonNull Plugin plugin;
+
+    public BukkitServerScheduler(@NonNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public @NonNull TaskHandle runGlobal(@NonNull Runnable task, long delay) {
+        return wrap(delay <= 0
+                ? Bukkit.getScheduler().runTask(plugin, task)
+                : Bukkit.getScheduler().runTaskLater(plugin, task, delay));
+    }
+
+    @Override
+    public @NonNull TaskHandle runGlobalTimer(@NonNull Runnable task, long delay, long period) {
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    @Override
+    public @NonNull TaskHandle runAt(@NonNull Location location, @NonNull Runnable task, long delay) {
+        return runGlobal(task, delay);
+    }
+
+    @Override
+    public @NonNull TaskHandle runAtTimer(@NonNull Location location, @NonNull Runnable task, long delay, long period) {
+        return runGlobalTimer(task, delay, period);
+    }
+
+    @Override
+    public @NonNull TaskHandle runFor(@NonNull Entity entity, @NonNull Runnable task, long delay) {
+        return runGlobal(() -> {
+            if (entity.isValid()) {
+                task.run();
+            }
+        }, delay);
+    }
+
+    @Override
+    public @NonNull TaskHandle runForTimer(@NonNull Entity entity, @NonNull Runnable task, long delay, long period) {
+        return wrap(new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (entity.isValid()) {
+                    task.run();
+                } else {
+                    cancel();
+                }
+            }
+        }.runTaskTimer(plugin, delay, period));
+    }
+
+    @Override
+    public @NonNull TaskHandle runAsyncTimer(@NonNull Runnable task, long delay, long period) {
+        return wrap(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period));
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Boolean> teleport(@NonNull Entity entity, @NonNull Location location) {
+        if (Bukkit.isPrimaryThread()) {
+            return CompletableFuture.completedFuture(entity.teleport(location));
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        runGlobal(() -> result.complete(entity.teleport(location)), 0);
+        return result;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NonNull Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NonNull Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    private static @NonNull TaskHandle wrap(@NonNull BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package me.sunmc.dodgeball.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ServerScheduler} for Folia, backed by the region, entity, global and async schedulers
+ */
+public class RegionServerScheduler implements ServerScheduler {
+
+    private static final long MILLIS_PER_TICK = 50;
+
+    private final @NonNull Plugin plugin;
+
+    public RegionServerScheduler(@NonNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Checks whether the server runs Folia
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public @NonNull TaskHandle runGlobal(@NonNull Runnable task, long delay) {
+        return wrap(delay <= 0
+                ? Bukkit.getGlobalRegionScheduler().run(plugin, scheduled -> task.run())
+                : Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), delay));
+    }
+
+    @Override
+    public @NonNull TaskHandle runGlobalTimer(@NonNull Runnable task, long delay, long period) {
+        // Folia rejects an initial delay below one tick
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1, delay), period));
+    }
+
+    @Override
+    public @NonNull TaskHandle runAt(@NonNull Location location, @NonNull Runnable task, long delay) {
+        return wrap(delay <= 0
+                ? Bukkit.getRegionScheduler().run(plugin, location, scheduled -> task.run())
+                : Bukkit.getRegionScheduler().runDelayed(plugin, location, scheduled -> task.run(), delay));
+    }
+
+    @Override
+    public @NonNull TaskHandle runAtTimer(@NonNull Location location, @NonNull Runnable task, long delay, long period) {
+        return wrap(Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, scheduled -> task.run(),
+                Math.max(1, delay), period));
+    }
+
+    @Override
+    public @NonNull TaskHandle runFor(@NonNull Entity entity, @NonNull Runnable task, long delay) {
+        return wrap(delay <= 0
+                ? entity.getScheduler().run(plugin, scheduled -> task.run(), null)
+                : entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, delay));
+    }
+
+    @Override
+    public @NonNull TaskHandle runForTimer(@NonNull Entity entity, @NonNull Runnable task, long delay, long period) {
+        return wrap(entity.getScheduler().runAtFixedRate(plugin, scheduled -> task.run(), null,
+                Math.max(1, delay), period));
+    }
+
+    @Override
+    public @NonNull TaskHandle runAsyncTimer(@NonNull Runnable task, long delay, long period) {
+        return wrap(Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1, delay) * MILLIS_PER_TICK, period * MILLIS_PER_TICK, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Boolean> teleport(@NonNull Entity entity, @NonNull Location location) {
+        return entity.teleportAsync(location);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NonNull Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NonNull Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    private static @NonNull TaskHandle wrap(@Nullable ScheduledTask task) {
+        if (task == null) {
+            return TaskHandle.NONE;
+        }
+
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
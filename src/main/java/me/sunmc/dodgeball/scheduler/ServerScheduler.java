@@ -0,0 +1,80 @@
+package me.sunmc.dodgeball.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Schedules work on the thread that owns it.
+ * <p>
+ * On Paper everything that touches the world runs on the main thread. On
+ * Folia the world is split into regions ticked in parallel, so work has to go
+ * to the scheduler of the region holding a location or entity; global work
+ * such as matchmaking runs on the global region. Delays and periods are in
+ * ticks.
+ */
+public interface ServerScheduler {
+
+    /**
+     * Picks the implementation for the running server
+     */
+    static @NonNull ServerScheduler create(@NonNull Plugin plugin) {
+        return RegionServerScheduler.isSupported() ? new RegionServerScheduler(plugin) : new BukkitServerScheduler(plugin);
+    }
+
+    /**
+     * Runs a task on the main thread, or the global region on Folia
+     */
+    @NonNull TaskHandle runGlobal(@NonNull Runnable task, long delay);
+
+    @NonNull TaskHandle runGlobalTimer(@NonNull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task on the thread owning a location
+     */
+    @NonNull TaskHandle runAt(@NonNull Location location, @NonNull Runnable task, long delay);
+
+    @NonNull TaskHandle runAtTimer(@NonNull Location location, @NonNull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task on the thread owning an entity, following it across regions
+     *
+     * @return {@link TaskHandle#NONE} if the entity is no longer in the world
+     */
+    @NonNull TaskHandle runFor(@NonNull Entity entity, @NonNull Runnable task, long delay);
+
+    /**
+     * Runs a repeating task on the thread owning an entity; it stops once the entity leaves the world
+     */
+    @NonNull TaskHandle runForTimer(@NonNull Entity entity, @NonNull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task off every server thread
+     */
+    @NonNull TaskHandle runAsyncTimer(@NonNull Runnable task, long delay, long period);
+
+    /**
+     * Teleports an entity from any thread
+     *
+     * @return Completes with whether the teleport happened
+     */
+    @NonNull CompletableFuture<Boolean> teleport(@NonNull Entity entity, @NonNull Location location);
+
+    /**
+     * Checks whether the current thread may touch a location
+     */
+    boolean isOwnedByCurrentThread(@NonNull Location location);
+
+    /**
+     * Checks whether the current thread may touch an entity
+     */
+    boolean isOwnedByCurrentThread(@NonNull Entity entity);
+
+    /**
+     * Whether regions tick on separate threads, i.e. the server runs Folia
+     */
+    boolean isRegionThreaded();
+}
@@ -0,0 +1,25 @@
+package me.sunmc.dodgeball.scheduler;
+
+/**
+ * A task scheduled through a {@link ServerScheduler}
+ */
+public interface TaskHandle {
+
+    /**
+     * Handle of a task that was never scheduled, e.g. because its entity was already removed
+     */
+    TaskHandle NONE = new TaskHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    void cancel();
+
+    boolean isCancelled();
+}
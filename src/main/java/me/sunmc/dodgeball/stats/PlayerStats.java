@@ -1,109 +1,56 @@
 package me.sunmc.dodgeball.stats;
 
 import me.sunmc.dodgeball.DodgeBall;
+import me.sunmc.dodgeball.component.StatsManager;
+import me.sunmc.dodgeball.rating.Glicko2;
+import me.sunmc.dodgeball.rating.Rating;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.spongepowered.configurate.ConfigurationNode;
-import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.io.File;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Player statistics - FULLY IMPLEMENTED with file-based storage
+ * Player statistics - FULLY IMPLEMENTED on top of the shared memory-mapped {@link StatsSegment}
+ * <p>
+ * Counters are read and written directly in the player's segment slot; there is
+ * no heap copy to keep in sync. A slot is allocated on the first write, so
+ * looking up a player who never played leaves no trace on disk.
  */
 public class PlayerStats {
 
     private final @NonNull UUID playerId;
-    private final @NonNull DodgeBall plugin;
-
-    private final AtomicInteger kills = new AtomicInteger(0);
-    private final AtomicInteger deaths = new AtomicInteger(0);
-    private final AtomicInteger catches = new AtomicInteger(0);
-    private final AtomicInteger wins = new AtomicInteger(0);
-    private final AtomicInteger losses = new AtomicInteger(0);
-    private final AtomicInteger shoot = new AtomicInteger(0);
-    private final AtomicInteger gamesPlayed = new AtomicInteger(0);
-    private final AtomicLong playtime = new AtomicLong(0);
+    private final @NonNull StatsSegment segment;
+    private volatile int slot = -1;
 
     public PlayerStats(@NonNull UUID playerId, @NonNull DodgeBall plugin) {
+        this(playerId, plugin.getComponent(StatsManager.class).getSegment());
+    }
+
+    public PlayerStats(@NonNull UUID playerId, @NonNull StatsSegment segment) {
         this.playerId = playerId;
-        this.plugin = plugin;
+        this.segment = segment;
+    }
+
+    public PlayerStats(@NonNull UUID playerId, @NonNull StatsSegment segment, int slot) {
+        this(playerId, segment);
+        this.slot = slot;
     }
 
     /**
-     * Loads stats from file storage
+     * Binds this instance to the player's existing segment slot
      */
     public void load() {
-        File statsDir = new File(plugin.getDataFolder(), "playerdata");
-        if (!statsDir.exists()) {
-            statsDir.mkdirs();
-        }
-
-        File statsFile = new File(statsDir, playerId.toString() + ".yml");
-        if (!statsFile.exists()) {
-            return; // New player, no stats yet
-        }
-
-        try {
-            // Create temporary config for this player's stats
-            YamlConfigurationLoader loader =
-                    YamlConfigurationLoader.builder()
-                            .file(statsFile)
-                            .build();
-
-            ConfigurationNode node = loader.load();
-
-            kills.set(node.node("kills").getInt(0));
-            deaths.set(node.node("deaths").getInt(0));
-            catches.set(node.node("catches").getInt(0));
-            wins.set(node.node("wins").getInt(0));
-            losses.set(node.node("losses").getInt(0));
-            shoot.set(node.node("throws").getInt(0));
-            gamesPlayed.set(node.node("games-played").getInt(0));
-            playtime.set(node.node("playtime").getLong(0));
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load stats for " + playerId);
-            e.printStackTrace();
+        if (slot < 0) {
+            slot = segment.slotOf(playerId);
         }
     }
 
     /**
-     * Saves stats to file storage
+     * Stamps the save time; the segment itself is flushed periodically by {@link StatsManager}
      */
     public void save() {
-        File statsDir = new File(plugin.getDataFolder(), "playerdata");
-        if (!statsDir.exists()) {
-            statsDir.mkdirs();
-        }
-
-        File statsFile = new File(statsDir, playerId.toString() + ".yml");
-
-        try {
-            YamlConfigurationLoader loader =
-                    YamlConfigurationLoader.builder()
-                            .file(statsFile)
-                            .build();
-
-            ConfigurationNode node = loader.createNode();
-
-            node.node("kills").set(kills.get());
-            node.node("deaths").set(deaths.get());
-            node.node("catches").set(catches.get());
-            node.node("wins").set(wins.get());
-            node.node("losses").set(losses.get());
-            node.node("throws").set(shoot.get());
-            node.node("games-played").set(gamesPlayed.get());
-            node.node("playtime").set(playtime.get());
-            node.node("last-save").set(System.currentTimeMillis());
-
-            loader.save(node);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to save stats for " + playerId);
-            e.printStackTrace();
+        if (slot >= 0) {
+            segment.setLong(slot, StatsCodec.OFF_LAST_SAVE, System.currentTimeMillis());
         }
     }
 
@@ -111,45 +58,51 @@ public class PlayerStats {
      * Resets all stats to zero
      */
     public void reset() {
-        kills.set(0);
-        deaths.set(0);
-        catches.set(0);
-        wins.set(0);
-        losses.set(0);
-        shoot.set(0);
-        gamesPlayed.set(0);
-        playtime.set(0);
+        int s = writableSlot();
+        segment.setInt(s, StatsCodec.OFF_KILLS, 0);
+        segment.setInt(s, StatsCodec.OFF_DEATHS, 0);
+        segment.setInt(s, StatsCodec.OFF_CATCHES, 0);
+        segment.setInt(s, StatsCodec.OFF_WINS, 0);
+        segment.setInt(s, StatsCodec.OFF_LOSSES, 0);
+        segment.setInt(s, StatsCodec.OFF_THROWS, 0);
+        segment.setInt(s, StatsCodec.OFF_GAMES_PLAYED, 0);
+        segment.setLong(s, StatsCodec.OFF_PLAYTIME, 0);
+        segment.setInt(s, StatsCodec.OFF_RATING, 0);
+        segment.setInt(s, StatsCodec.OFF_DEVIATION_VOLATILITY, 0);
+        segment.setInt(s, StatsCodec.OFF_LAST_RATED, 0);
         save();
     }
 
     public void incrementKills() {
-        kills.incrementAndGet();
+        segment.addInt(writableSlot(), StatsCodec.OFF_KILLS, 1);
     }
 
     public void incrementDeaths() {
-        deaths.incrementAndGet();
+        segment.addInt(writableSlot(), StatsCodec.OFF_DEATHS, 1);
     }
 
     public void incrementCatches() {
-        catches.incrementAndGet();
+        segment.addInt(writableSlot(), StatsCodec.OFF_CATCHES, 1);
     }
 
     public void incrementWins() {
-        wins.incrementAndGet();
-        gamesPlayed.incrementAndGet();
+        int s = writableSlot();
+        segment.addInt(s, StatsCodec.OFF_WINS, 1);
+        segment.addInt(s, StatsCodec.OFF_GAMES_PLAYED, 1);
     }
 
     public void incrementLosses() {
-        losses.incrementAndGet();
-        gamesPlayed.incrementAndGet();
+        int s = writableSlot();
+        segment.addInt(s, StatsCodec.OFF_LOSSES, 1);
+        segment.addInt(s, StatsCodec.OFF_GAMES_PLAYED, 1);
     }
 
     public void incrementShoots() {
-        shoot.incrementAndGet();
+        segment.addInt(writableSlot(), StatsCodec.OFF_THROWS, 1);
     }
 
     public void addPlaytime(long milliseconds) {
-        playtime.addAndGet(milliseconds);
+        segment.addLong(writableSlot(), StatsCodec.OFF_PLAYTIME, milliseconds);
     }
 
     public @NonNull UUID getPlayerId() {
@@ -157,44 +110,111 @@ public class PlayerStats {
     }
 
     public int getKills() {
-        return kills.get();
+        return readInt(StatsCodec.OFF_KILLS);
     }
 
     public int getDeaths() {
-        return deaths.get();
+        return readInt(StatsCodec.OFF_DEATHS);
     }
 
     public int getCatches() {
-        return catches.get();
+        return readInt(StatsCodec.OFF_CATCHES);
     }
 
     public int getWins() {
-        return wins.get();
+        return readInt(StatsCodec.OFF_WINS);
     }
 
     public int getLosses() {
-        return losses.get();
+        return readInt(StatsCodec.OFF_LOSSES);
     }
 
     public int getShoots() {
-        return shoot.get();
+        return readInt(StatsCodec.OFF_THROWS);
     }
 
     public int getGamesPlayed() {
-        return gamesPlayed.get();
+        return readInt(StatsCodec.OFF_GAMES_PLAYED);
     }
 
     public long getPlaytime() {
-        return playtime.get();
+        int s = slot;
+        return s < 0 ? 0 : segment.getLong(s, StatsCodec.OFF_PLAYTIME);
     }
 
     public double getKDRatio() {
-        int d = deaths.get();
-        return d == 0 ? kills.get() : (double) kills.get() / d;
+        int d = getDeaths();
+        return d == 0 ? getKills() : (double) getKills() / d;
     }
 
     public double getWinRate() {
-        int total = gamesPlayed.get();
-        return total == 0 ? 0 : (double) wins.get() / total * 100;
+        int total = getGamesPlayed();
+        return total == 0 ? 0 : (double) getWins() / total * 100;
+    }
+
+    /**
+     * Gets the Glicko-2 rating, with the deviation grown for every rating period
+     * since the last rated match; inactive players are decayed here on read
+     */
+    public @NonNull Rating getRating() {
+        int s = slot;
+        if (s < 0) {
+            return Rating.DEFAULT;
+        }
+
+        int ratingBits = segment.getInt(s, StatsCodec.OFF_RATING);
+        if (ratingBits == 0) {
+            return Rating.DEFAULT;
+        }
+
+        int packed = segment.getInt(s, StatsCodec.OFF_DEVIATION_VOLATILITY);
+        Rating stored = new Rating(
+                Float.intBitsToFloat(ratingBits),
+                (packed >>> 16) / 100.0,
+                (packed & 0xFFFF) / 100_000.0
+        );
+
+        long lastRated = segment.getInt(s, StatsCodec.OFF_LAST_RATED) * 60_000L;
+        return Glicko2.decay(stored, (double) (System.currentTimeMillis() - lastRated) / Glicko2.PERIOD_MILLIS);
+    }
+
+    /**
+     * Stores a freshly computed rating, stamping it as rated at {@code ratedAt}
+     */
+    public void setRating(@NonNull Rating rating, long ratedAt) {
+        int deviation = (int) Math.min(0xFFFF, Math.round(rating.getDeviation() * 100));
+        int volatility = (int) Math.min(0xFFFF, Math.round(rating.getVolatility() * 100_000));
+        float value = (float) rating.getRating();
+        if (Float.floatToRawIntBits(value) == 0) {
+            // Would read back as unrated
+            value = Float.MIN_VALUE;
+        }
+
+        int s = writableSlot();
+        segment.setInt(s, StatsCodec.OFF_DEVIATION_VOLATILITY, deviation << 16 | volatility);
+        segment.setInt(s, StatsCodec.OFF_LAST_RATED, (int) (ratedAt / 60_000L));
+        segment.setInt(s, StatsCodec.OFF_RATING, Float.floatToRawIntBits(value));
+    }
+
+    private int readInt(int field) {
+        int s = slot;
+        return s < 0 ? 0 : segment.getInt(s, field);
+    }
+
+    private int writableSlot() {
+        int s = slot;
+        if (s < 0) {
+            s = segment.slotOrAllocate(playerId);
+            slot = s;
+        }
+        return s;
+    }
+
+    public static @NonNull File getStatsDirectory(@NonNull DodgeBall plugin) {
+        File statsDir = new File(plugin.getDataFolder(), "playerdata");
+        if (!statsDir.exists()) {
+            statsDir.mkdirs();
+        }
+        return statsDir;
     }
-}
\ No newline at end of file
+}
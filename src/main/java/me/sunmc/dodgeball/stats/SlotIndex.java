@@ -0,0 +1,111 @@
+package me.sunmc.dodgeball.stats;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Off-heap UUID to slot hash index using open addressing with linear probing.
+ * <p>
+ * Entries are 24 bytes (uuid msb, uuid lsb, slot + 1) in a direct buffer, so
+ * hundreds of thousands of players cost no heap objects. Not thread-safe;
+ * {@link StatsSegment} guards it.
+ */
+final class SlotIndex {
+
+    private static final int ENTRY_SIZE = 24;
+    private static final int OFF_MSB = 0;
+    private static final int OFF_LSB = 8;
+    private static final int OFF_SLOT = 16;
+
+    private @NonNull ByteBuffer table;
+    private int mask;
+    private int size;
+
+    SlotIndex(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.table = ByteBuffer.allocateDirect(capacity * ENTRY_SIZE);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the slot for a player, or -1 if the player has none
+     */
+    int get(@NonNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        int i = hash(msb, lsb) & mask;
+        while (true) {
+            int base = i * ENTRY_SIZE;
+            int stored = table.getInt(base + OFF_SLOT);
+            if (stored == 0) {
+                return -1;
+            }
+            if (table.getLong(base + OFF_MSB) == msb && table.getLong(base + OFF_LSB) == lsb) {
+                return stored - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    void put(@NonNull UUID uuid, int slot) {
+        if ((size + 1) * 10L > (mask + 1) * 6L) {
+            resize();
+        }
+        if (insert(table, mask, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), slot)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        int capacity = (mask + 1) << 1;
+        ByteBuffer resized = ByteBuffer.allocateDirect(capacity * ENTRY_SIZE);
+        int resizedMask = capacity - 1;
+
+        for (int i = 0; i <= mask; i++) {
+            int base = i * ENTRY_SIZE;
+            int stored = table.getInt(base + OFF_SLOT);
+            if (stored != 0) {
+                insert(resized, resizedMask, table.getLong(base + OFF_MSB), table.getLong(base + OFF_LSB), stored - 1);
+            }
+        }
+
+        table = resized;
+        mask = resizedMask;
+    }
+
+    private static boolean insert(@NonNull ByteBuffer table, int mask, long msb, long lsb, int slot) {
+        int i = hash(msb, lsb) & mask;
+        while (true) {
+            int base = i * ENTRY_SIZE;
+            int stored = table.getInt(base + OFF_SLOT);
+            if (stored == 0) {
+                table.putLong(base + OFF_MSB, msb);
+                table.putLong(base + OFF_LSB, lsb);
+                table.putInt(base + OFF_SLOT, slot + 1);
+                return true;
+            }
+            if (table.getLong(base + OFF_MSB) == msb && table.getLong(base + OFF_LSB) == lsb) {
+                table.putInt(base + OFF_SLOT, slot + 1);
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ (lsb * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,119 @@
+package me.sunmc.dodgeball.stats;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of a player stats record.
+ * <p>
+ * Every record is exactly {@link #RECORD_SIZE} bytes, big-endian, with the
+ * last four bytes holding a CRC32 of everything before them:
+ * <pre>
+ *  0  magic        short
+ *  2  version      byte
+ *  3  flags        byte
+ *  4  kills        int
+ *  8  playtime     long
+ * 16  last-save    long
+ * 24  deaths       int
+ * 28  catches      int
+ * 32  wins         int
+ * 36  losses       int
+ * 40  throws       int
+ * 44  games-played int
+ * 48  rating       float  (as raw int bits, 0 = unrated)     since v2
+ * 52  deviation    ushort (x100) | volatility ushort (x1e5)  since v2
+ * 56  last-rated   int    (epoch minutes)                    since v2
+ * 60  crc32        int
+ * </pre>
+ * Long fields sit on 8-byte boundaries so the same layout can be accessed
+ * atomically when it lives inside a direct buffer. Version 2 only gave the
+ * reserved bytes a meaning; a v1 record reads as an unrated v2 record.
+ */
+public final class StatsCodec {
+
+    public static final int RECORD_SIZE = 64;
+    public static final short MAGIC = (short) 0xDB57;
+    public static final byte VERSION = 2;
+
+    public static final int OFF_MAGIC = 0;
+    public static final int OFF_VERSION = 2;
+    public static final int OFF_FLAGS = 3;
+    public static final int OFF_KILLS = 4;
+    public static final int OFF_PLAYTIME = 8;
+    public static final int OFF_LAST_SAVE = 16;
+    public static final int OFF_DEATHS = 24;
+    public static final int OFF_CATCHES = 28;
+    public static final int OFF_WINS = 32;
+    public static final int OFF_LOSSES = 36;
+    public static final int OFF_THROWS = 40;
+    public static final int OFF_GAMES_PLAYED = 44;
+    public static final int OFF_RATING = 48;
+    public static final int OFF_DEVIATION_VOLATILITY = 52;
+    public static final int OFF_LAST_RATED = 56;
+    public static final int OFF_CRC = 60;
+
+    private StatsCodec() {
+    }
+
+    /**
+     * Writes the header at {@code base} and stamps the CRC over the record
+     */
+    public static void seal(@NonNull ByteBuffer buffer, int base) {
+        buffer.putShort(base + OFF_MAGIC, MAGIC);
+        buffer.put(base + OFF_VERSION, VERSION);
+        buffer.putInt(base + OFF_CRC, checksum(buffer, base));
+    }
+
+    /**
+     * Checks magic, version and CRC of the record at {@code base}
+     */
+    public static boolean isValid(@NonNull ByteBuffer buffer, int base) {
+        if (buffer.limit() - base < RECORD_SIZE) {
+            return false;
+        }
+        if (buffer.getShort(base + OFF_MAGIC) != MAGIC) {
+            return false;
+        }
+        byte version = buffer.get(base + OFF_VERSION);
+        if (version < 1 || version > VERSION) {
+            return false;
+        }
+        return buffer.getInt(base + OFF_CRC) == checksum(buffer, base);
+    }
+
+    public static int checksum(@NonNull ByteBuffer buffer, int base) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(base, OFF_CRC));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads a single record file, returning null if it is missing, truncated or corrupt
+     */
+    public static @Nullable ByteBuffer read(@NonNull Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        }
+        buffer.flip();
+
+        return isValid(buffer, 0) ? buffer : null;
+    }
+}
@@ -0,0 +1,119 @@
+package me.sunmc.dodgeball.stats;
+
+import me.sunmc.dodgeball.DodgeBall;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-time migration of per-player stats files into the {@link StatsSegment}.
+ * <p>
+ * Both legacy {@code playerdata/*.yml} files and per-player binary
+ * {@code playerdata/*.dat} records are decoded in parallel and imported.
+ * Converted files are moved to {@code playerdata/legacy/}, so the migration
+ * naturally runs only once and can be re-run after a crash.
+ */
+public class StatsMigrator {
+
+    private final @NonNull DodgeBall plugin;
+
+    public StatsMigrator(@NonNull DodgeBall plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Imports every per-player stats file into the segment in parallel
+     *
+     * @return Number of files migrated
+     */
+    public int migrate(@NonNull StatsSegment segment) {
+        File statsDir = PlayerStats.getStatsDirectory(plugin);
+        File[] files = statsDir.listFiles((dir, name) -> name.endsWith(".yml") || name.endsWith(".dat"));
+        if (files == null || files.length == 0) {
+            return 0;
+        }
+
+        File legacyDir = new File(statsDir, "legacy");
+        if (!legacyDir.exists()) {
+            legacyDir.mkdirs();
+        }
+
+        plugin.getLogger().info("Migrating " + files.length + " stats files into the stats segment...");
+        long start = System.currentTimeMillis();
+
+        AtomicInteger migrated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        // Binary records are newer than YAML ones, so they are imported in a first pass
+        for (String extension : new String[]{".dat", ".yml"}) {
+            Arrays.stream(files)
+                    .filter(file -> file.getName().endsWith(extension))
+                    .parallel()
+                    .forEach(file -> {
+                        try {
+                            String name = file.getName();
+                            UUID uuid = UUID.fromString(name.substring(0, name.length() - 4));
+
+                            ByteBuffer record = name.endsWith(".dat")
+                                    ? StatsCodec.read(file.toPath())
+                                    : decodeLegacy(file);
+
+                            if (record == null) {
+                                throw new IllegalStateException("record is corrupt");
+                            }
+
+                            segment.importRecord(uuid, record);
+
+                            Files.move(file.toPath(), legacyDir.toPath().resolve(name),
+                                    StandardCopyOption.REPLACE_EXISTING);
+                            migrated.incrementAndGet();
+                        } catch (Exception e) {
+                            plugin.getLogger().warning("Failed to migrate stats file " + file.getName() + ": " + e.getMessage());
+                            failed.incrementAndGet();
+                        }
+                    });
+        }
+
+        segment.flush();
+
+        plugin.getLogger().info("Migrated " + migrated.get() + " stats files in " +
+                (System.currentTimeMillis() - start) + "ms" +
+                (failed.get() > 0 ? " (" + failed.get() + " failed)" : ""));
+
+        return migrated.get();
+    }
+
+    /**
+     * Decodes a legacy YAML stats file into a sealed binary record
+     */
+    private @NonNull ByteBuffer decodeLegacy(@NonNull File statsFile) throws Exception {
+        YamlConfigurationLoader loader =
+                YamlConfigurationLoader.builder()
+                        .file(statsFile)
+                        .build();
+
+        ConfigurationNode node = loader.load();
+
+        ByteBuffer record = ByteBuffer.allocate(StatsCodec.RECORD_SIZE);
+        record.putInt(StatsCodec.OFF_KILLS, node.node("kills").getInt(0));
+        record.putInt(StatsCodec.OFF_DEATHS, node.node("deaths").getInt(0));
+        record.putInt(StatsCodec.OFF_CATCHES, node.node("catches").getInt(0));
+        record.putInt(StatsCodec.OFF_WINS, node.node("wins").getInt(0));
+        record.putInt(StatsCodec.OFF_LOSSES, node.node("losses").getInt(0));
+        record.putInt(StatsCodec.OFF_THROWS, node.node("throws").getInt(0));
+        record.putInt(StatsCodec.OFF_GAMES_PLAYED, node.node("games-played").getInt(0));
+        record.putLong(StatsCodec.OFF_PLAYTIME, node.node("playtime").getLong(0));
+        record.putLong(StatsCodec.OFF_LAST_SAVE, node.node("last-save").getLong(0));
+        StatsCodec.seal(record, 0);
+
+        return record;
+    }
+}
@@ -0,0 +1,354 @@
+package me.sunmc.dodgeball.stats;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Single memory-mapped file holding the stats record of every player.
+ * <p>
+ * Layout: a 64-byte header followed by fixed {@link #SLOT_SIZE}-byte slots,
+ * each a 16-byte UUID and a {@link StatsCodec} record. Slots are only ever
+ * appended; counters are updated in place through atomic {@link VarHandle}
+ * access, so a stat update is a plain memory write. CRCs of touched slots are
+ * restamped and the mapping forced to disk by {@link #flush()}.
+ * <p>
+ * The file is mapped in fixed chunks that are never remapped, so handed-out
+ * slot numbers stay valid while the file grows.
+ */
+public class StatsSegment {
+
+    public static final int SLOT_SIZE = 16 + StatsCodec.RECORD_SIZE;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_MAGIC = 0x44425347; // "DBSG"
+    private static final int HEADER_VERSION = 1;
+    private static final int OFF_HEADER_MAGIC = 0;
+    private static final int OFF_HEADER_VERSION = 4;
+    private static final int OFF_HEADER_SLOT_SIZE = 8;
+    private static final int OFF_HEADER_COUNT = 12;
+
+    private static final int CHUNK_SLOTS = 8192;
+    private static final int CHUNK_BYTES = CHUNK_SLOTS * SLOT_SIZE;
+
+    private static final VarHandle INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final @NonNull Path file;
+    private final @NonNull Logger logger;
+    private final @NonNull FileChannel channel;
+    private final @NonNull MappedByteBuffer header;
+    private final @NonNull SlotIndex index;
+    private final @NonNull Object appendLock = new Object();
+    private volatile Chunk[] chunks;
+    private volatile int count;
+
+    private StatsSegment(@NonNull Path file, @NonNull Logger logger, @NonNull FileChannel channel,
+                         @NonNull MappedByteBuffer header) {
+        this.file = file;
+        this.logger = logger;
+        this.channel = channel;
+        this.header = header;
+        this.index = new SlotIndex(CHUNK_SLOTS);
+        this.chunks = new Chunk[0];
+    }
+
+    /**
+     * Opens or creates the segment, recovering from a partially written tail
+     */
+    public static @NonNull StatsSegment open(@NonNull Path file, @NonNull Logger logger) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        boolean fresh = channel.size() < HEADER_SIZE;
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+        if (fresh) {
+            header.putInt(OFF_HEADER_MAGIC, HEADER_MAGIC);
+            header.putInt(OFF_HEADER_VERSION, HEADER_VERSION);
+            header.putInt(OFF_HEADER_SLOT_SIZE, SLOT_SIZE);
+            header.putInt(OFF_HEADER_COUNT, 0);
+            header.force();
+        } else if (header.getInt(OFF_HEADER_MAGIC) != HEADER_MAGIC
+                || header.getInt(OFF_HEADER_SLOT_SIZE) != SLOT_SIZE) {
+            channel.close();
+            throw new IOException("Not a stats segment or incompatible slot size: " + file);
+        }
+
+        StatsSegment segment = new StatsSegment(file, logger, channel, header);
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * Rebuilds the index and trims anything after the last complete slot.
+     * <p>
+     * Slots below the committed count whose CRC is stale were updated in memory
+     * but not yet flushed; their values are kept and resealed. Slots past the
+     * committed count are adopted only if complete, and the first incomplete one
+     * marks the end of the file.
+     */
+    private void recover() throws IOException {
+        int committed = header.getInt(OFF_HEADER_COUNT);
+        long available = Math.max(0, (channel.size() - HEADER_SIZE) / SLOT_SIZE);
+
+        ensureMapped((int) Math.max(committed, available));
+
+        int resealed = 0;
+        for (int slot = 0; slot < committed; slot++) {
+            ByteBuffer buffer = bufferOf(slot);
+            int base = offsetOf(slot);
+            if (!StatsCodec.isValid(buffer, base + 16)) {
+                if (buffer.getShort(base + 16 + StatsCodec.OFF_MAGIC) != StatsCodec.MAGIC) {
+                    logger.warning("Stats slot " + slot + " has a damaged header, counters may be lost");
+                }
+                StatsCodec.seal(buffer, base + 16);
+                resealed++;
+            }
+            index.put(readUuid(slot), slot);
+        }
+
+        int adopted = 0;
+        int slot = committed;
+        while (slot < available) {
+            ByteBuffer buffer = bufferOf(slot);
+            int base = offsetOf(slot);
+            if (buffer.getLong(base) == 0 && buffer.getLong(base + 8) == 0) {
+                break;
+            }
+            if (!StatsCodec.isValid(buffer, base + 16)) {
+                break;
+            }
+            index.put(readUuid(slot), slot);
+            slot++;
+            adopted++;
+        }
+
+        count = slot;
+        header.putInt(OFF_HEADER_COUNT, count);
+
+        // Zero the partial tail so the next append starts from a clean slot
+        int discarded = 0;
+        for (int i = count; i < available; i++) {
+            ByteBuffer buffer = bufferOf(i);
+            int base = offsetOf(i);
+            if (buffer.getLong(base) != 0 || buffer.getLong(base + 8) != 0
+                    || buffer.getShort(base + 16 + StatsCodec.OFF_MAGIC) != 0) {
+                buffer.put(base, new byte[SLOT_SIZE]);
+                discarded++;
+            }
+        }
+
+        if (resealed > 0 || adopted > 0 || discarded > 0) {
+            logger.info("Recovered stats segment " + file.getFileName() + ": " + count + " slots, " +
+                    resealed + " resealed, " + adopted + " adopted, " + discarded + " discarded");
+
+            for (Chunk chunk : chunks) {
+                chunk.buffer.force();
+            }
+        }
+        header.force();
+    }
+
+    /**
+     * Gets the slot of a player, or -1 if the player has no record yet
+     */
+    public int slotOf(@NonNull UUID uuid) {
+        synchronized (appendLock) {
+            return index.get(uuid);
+        }
+    }
+
+    /**
+     * Gets the slot of a player, appending a zeroed record if needed
+     */
+    public int slotOrAllocate(@NonNull UUID uuid) {
+        synchronized (appendLock) {
+            int slot = index.get(uuid);
+            if (slot >= 0) {
+                return slot;
+            }
+
+            slot = count;
+            ensureMapped(slot + 1);
+
+            ByteBuffer buffer = bufferOf(slot);
+            int base = offsetOf(slot);
+            buffer.put(base, new byte[SLOT_SIZE]);
+            buffer.putLong(base, uuid.getMostSignificantBits());
+            buffer.putLong(base + 8, uuid.getLeastSignificantBits());
+            StatsCodec.seal(buffer, base + 16);
+
+            // Publish only after the slot is complete so recovery never sees half a record
+            count = slot + 1;
+            header.putInt(OFF_HEADER_COUNT, count);
+            index.put(uuid, slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Copies an already sealed record into the player's slot, unless one exists
+     *
+     * @return True if the record was imported
+     */
+    public boolean importRecord(@NonNull UUID uuid, @NonNull ByteBuffer record) {
+        synchronized (appendLock) {
+            if (index.get(uuid) >= 0) {
+                return false;
+            }
+
+            int slot = slotOrAllocate(uuid);
+            ByteBuffer buffer = bufferOf(slot);
+            int base = offsetOf(slot) + 16;
+            buffer.put(base, record, 0, StatsCodec.RECORD_SIZE);
+            StatsCodec.seal(buffer, base);
+            markDirty(slot);
+            return true;
+        }
+    }
+
+    public int getInt(int slot, int field) {
+        return (int) INT.getVolatile(bufferOf(slot), offsetOf(slot) + 16 + field);
+    }
+
+    public long getLong(int slot, int field) {
+        return (long) LONG.getVolatile(bufferOf(slot), offsetOf(slot) + 16 + field);
+    }
+
+    public void setInt(int slot, int field, int value) {
+        INT.setVolatile(bufferOf(slot), offsetOf(slot) + 16 + field, value);
+        markDirty(slot);
+    }
+
+    public void setLong(int slot, int field, long value) {
+        LONG.setVolatile(bufferOf(slot), offsetOf(slot) + 16 + field, value);
+        markDirty(slot);
+    }
+
+    public void addInt(int slot, int field, int delta) {
+        INT.getAndAdd(bufferOf(slot), offsetOf(slot) + 16 + field, delta);
+        markDirty(slot);
+    }
+
+    public void addLong(int slot, int field, long delta) {
+        LONG.getAndAdd(bufferOf(slot), offsetOf(slot) + 16 + field, delta);
+        markDirty(slot);
+    }
+
+    /**
+     * Visits every slot in file order; a sequential scan of the mapping
+     */
+    public void forEach(@NonNull BiConsumer<UUID, Integer> visitor) {
+        int total = count;
+        for (int slot = 0; slot < total; slot++) {
+            visitor.accept(readUuid(slot), slot);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Restamps the CRC of every slot touched since the last flush and forces the mapping to disk
+     */
+    public void flush() {
+        Chunk[] current = chunks;
+        for (int c = 0; c < current.length; c++) {
+            Chunk chunk = current[c];
+            boolean touched = false;
+
+            for (int word = 0; word < chunk.dirty.length(); word++) {
+                long bits = chunk.dirty.getAndSet(word, 0L);
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+
+                    int slot = c * CHUNK_SLOTS + word * 64 + bit;
+                    StatsCodec.seal(chunk.buffer, (slot % CHUNK_SLOTS) * SLOT_SIZE + 16);
+                    touched = true;
+                }
+            }
+
+            if (touched) {
+                chunk.buffer.force();
+            }
+        }
+        header.force();
+    }
+
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warning("Failed to close stats segment: " + e.getMessage());
+        }
+    }
+
+    private void markDirty(int slot) {
+        Chunk chunk = chunks[slot / CHUNK_SLOTS];
+        int local = slot % CHUNK_SLOTS;
+        chunk.dirty.accumulateAndGet(local >>> 6, 1L << (local & 63), (a, b) -> a | b);
+    }
+
+    private @NonNull UUID readUuid(int slot) {
+        ByteBuffer buffer = bufferOf(slot);
+        int base = offsetOf(slot);
+        return new UUID(buffer.getLong(base), buffer.getLong(base + 8));
+    }
+
+    private @NonNull MappedByteBuffer bufferOf(int slot) {
+        return chunks[slot / CHUNK_SLOTS].buffer;
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot % CHUNK_SLOTS) * SLOT_SIZE;
+    }
+
+    private void ensureMapped(int slots) {
+        int needed = (slots + CHUNK_SLOTS - 1) / CHUNK_SLOTS;
+        Chunk[] current = chunks;
+        if (needed <= current.length) {
+            return;
+        }
+
+        List<Chunk> grown = new ArrayList<>(List.of(current));
+        try {
+            for (int c = current.length; c < needed; c++) {
+                long position = HEADER_SIZE + (long) c * CHUNK_BYTES;
+                grown.add(new Chunk(channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to grow stats segment", e);
+        }
+        chunks = grown.toArray(new Chunk[0]);
+    }
+
+    private static final class Chunk {
+        private final @NonNull MappedByteBuffer buffer;
+        private final @NonNull AtomicLongArray dirty;
+
+        private Chunk(@NonNull MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.dirty = new AtomicLongArray(CHUNK_SLOTS / 64);
+        }
+    }
+}
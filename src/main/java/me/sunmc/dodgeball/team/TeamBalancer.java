@@ -0,0 +1,180 @@
+package me.sunmc.dodgeball.team;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Splits players into two teams of near-equal total rating.
+ * <p>
+ * Party members are kept together by treating each party as one unit. Units
+ * are placed greedily, strongest first, on the side with the lower rating
+ * among those with room; the split is then refined by moving single units
+ * and swapping pairs of units between the sides for as long as that lowers
+ * the cost. Team sizes may only differ by one unless a party forces more.
+ */
+public final class TeamBalancer {
+
+    private static final double SIZE_PENALTY = 1_000_000;
+    private static final int MAX_ROUNDS = 64;
+
+    private TeamBalancer() {
+    }
+
+    /**
+     * @param rating   Rating of a member
+     * @param partyKey Party of a member, or null if they play alone
+     */
+    public static <T> @NonNull Split<T> split(@NonNull List<T> members, @NonNull ToDoubleFunction<T> rating,
+                                              @NonNull Function<T, @Nullable Object> partyKey) {
+        List<Unit<T>> units = group(members, rating, partyKey);
+        units.sort(Comparator.comparingDouble((Unit<T> unit) -> unit.rating).reversed());
+
+        boolean[] first = new boolean[units.size()];
+        int total = members.size();
+        int firstCap = (total + 1) / 2;
+        int secondCap = total / 2;
+
+        double firstRating = 0;
+        double secondRating = 0;
+        int firstSize = 0;
+        int secondSize = 0;
+        for (int i = 0; i < units.size(); i++) {
+            Unit<T> unit = units.get(i);
+            boolean firstFits = firstSize + unit.size() <= firstCap;
+            boolean secondFits = secondSize + unit.size() <= secondCap;
+
+            boolean toFirst = firstFits == secondFits
+                    ? firstFits ? firstRating <= secondRating : firstSize <= secondSize
+                    : firstFits;
+            first[i] = toFirst;
+            if (toFirst) {
+                firstRating += unit.rating;
+                firstSize += unit.size();
+            } else {
+                secondRating += unit.rating;
+                secondSize += unit.size();
+            }
+        }
+
+        refine(units, first, firstRating - secondRating, firstSize - secondSize, total % 2);
+
+        Split<T> split = new Split<>();
+        for (int i = 0; i < units.size(); i++) {
+            (first[i] ? split.first : split.second).addAll(units.get(i).members);
+        }
+        return split;
+    }
+
+    /**
+     * Local search: applies the best improving move or swap until none is left
+     */
+    private static <T> void refine(@NonNull List<Unit<T>> units, boolean @NonNull [] first,
+                                   double ratingDiff, int sizeDiff, int allowedSizeDiff) {
+        double cost = cost(ratingDiff, sizeDiff, allowedSizeDiff);
+
+        for (int round = 0; round < MAX_ROUNDS && cost > 0; round++) {
+            int bestI = -1;
+            int bestJ = -1;
+            double bestCost = cost;
+
+            for (int i = 0; i < units.size(); i++) {
+                Unit<T> a = units.get(i);
+                int sign = first[i] ? 1 : -1;
+
+                // Move a to the other side
+                double moved = cost(ratingDiff - 2 * sign * a.rating, sizeDiff - 2 * sign * a.size(), allowedSizeDiff);
+                if (moved < bestCost) {
+                    bestCost = moved;
+                    bestI = i;
+                    bestJ = -1;
+                }
+
+                // Swap a with a unit from the other side
+                for (int j = i + 1; j < units.size(); j++) {
+                    if (first[j] == first[i]) {
+                        continue;
+                    }
+                    Unit<T> b = units.get(j);
+                    double swapped = cost(ratingDiff - 2 * sign * (a.rating - b.rating),
+                            sizeDiff - 2 * sign * (a.size() - b.size()), allowedSizeDiff);
+                    if (swapped < bestCost) {
+                        bestCost = swapped;
+                        bestI = i;
+                        bestJ = j;
+                    }
+                }
+            }
+
+            if (bestI < 0) {
+                return;
+            }
+
+            for (int k : bestJ < 0 ? new int[]{bestI} : new int[]{bestI, bestJ}) {
+                Unit<T> unit = units.get(k);
+                int sign = first[k] ? 1 : -1;
+                ratingDiff -= 2 * sign * unit.rating;
+                sizeDiff -= 2 * sign * unit.size();
+                first[k] = !first[k];
+            }
+            cost = bestCost;
+        }
+    }
+
+    private static double cost(double ratingDiff, int sizeDiff, int allowedSizeDiff) {
+        return Math.abs(ratingDiff) + SIZE_PENALTY * Math.max(0, Math.abs(sizeDiff) - allowedSizeDiff);
+    }
+
+    private static <T> @NonNull List<Unit<T>> group(@NonNull List<T> members, @NonNull ToDoubleFunction<T> rating,
+                                                    @NonNull Function<T, @Nullable Object> partyKey) {
+        Map<Object, Unit<T>> parties = new LinkedHashMap<>();
+        List<Unit<T>> units = new ArrayList<>();
+
+        for (T member : members) {
+            Object party = partyKey.apply(member);
+            Unit<T> unit = party == null ? null : parties.get(party);
+            if (unit == null) {
+                unit = new Unit<>();
+                units.add(unit);
+                if (party != null) {
+                    parties.put(party, unit);
+                }
+            }
+            unit.members.add(member);
+            unit.rating += rating.applyAsDouble(member);
+        }
+        return units;
+    }
+
+    private static class Unit<T> {
+        private final @NonNull List<T> members = new ArrayList<>(1);
+        private double rating;
+
+        private int size() {
+            return members.size();
+        }
+    }
+
+    /**
+     * Result of {@link #split}
+     */
+    public static class Split<T> {
+        private final @NonNull List<T> first = new ArrayList<>();
+        private final @NonNull List<T> second = new ArrayList<>();
+
+        public @NonNull List<T> getFirst() {
+            return first;
+        }
+
+        public @NonNull List<T> getSecond() {
+            return second;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package me.sunmc.dodgeball.timer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel counting in ticks.
+ * <p>
+ * The lowest level has a slot per tick for the next 256 ticks; each level
+ * above has 64 slots, each spanning a whole turn of the level below, so four
+ * levels reach about 39 days ahead. A timer goes straight into the level its
+ * delay falls in, and whenever a level completes a turn the current slot of
+ * the level above is spread out over the levels below. Each slot holds an
+ * intrusive doubly linked list, so scheduling and cancelling are O(1) and
+ * allocate nothing beyond the timer itself, which callers may pool. Not
+ * thread safe: a wheel belongs to whoever advances it.
+ */
+public final class TimerWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int ROOT_MASK = (1 << ROOT_BITS) - 1;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    private static final long MAX_DELAY = 1L << (ROOT_BITS + LEVEL_BITS * (LEVELS - 1));
+
+    private final @Nullable Timer @NonNull [] @NonNull [] levels = new Timer[LEVELS][];
+    private final @NonNull List<Timer> expired = new ArrayList<>();
+    private long now;
+    private int size;
+
+    public TimerWheel() {
+        levels[0] = new Timer[1 << ROOT_BITS];
+        for (int level = 1; level < LEVELS; level++) {
+            levels[level] = new Timer[1 << LEVEL_BITS];
+        }
+    }
+
+    /**
+     * Schedules a timer; a timer that is already scheduled is moved
+     *
+     * @param delay Ticks from now, at least one
+     */
+    public <T extends Timer> @NonNull T schedule(@NonNull T timer, long delay) {
+        Timer node = timer;
+        node.cancel();
+
+        node.deadline = now + Math.max(1, delay);
+        node.wheel = this;
+        place(node);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Schedules a task
+     */
+    public @NonNull Timer runLater(@NonNull Runnable task, long delay) {
+        return schedule(new Timer(task), delay);
+    }
+
+    /**
+     * Links a timer into the slot its deadline falls in; one beyond the top
+     * level waits in its farthest slot and is placed again from there
+     */
+    private void place(@NonNull Timer timer) {
+        long when = Math.min(timer.deadline, now + MAX_DELAY - 1);
+        long delta = when - now;
+
+        int level = 0;
+        int slot;
+        if (delta <= ROOT_MASK) {
+            slot = (int) (when & ROOT_MASK);
+        } else {
+            level = 1;
+            int shift = ROOT_BITS;
+            while (delta >= 1L << (shift + LEVEL_BITS)) {
+                level++;
+                shift += LEVEL_BITS;
+            }
+            slot = (int) ((when >>> shift) & LEVEL_MASK);
+        }
+
+        Timer[] slots = levels[level];
+        Timer head = slots[slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        slots[slot] = timer;
+    }
+
+    /**
+     * Moves the wheel forward, running every timer that comes due
+     */
+    public void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            if (size == 0) {
+                // Nothing to cascade or run, so the clock can jump
+                now += ticks - i;
+                return;
+            }
+
+            now++;
+            int slot = (int) (now & ROOT_MASK);
+            if (slot == 0) {
+                cascade();
+            }
+
+            // Unlink first: a running timer may schedule or cancel others in this slot
+            for (Timer timer = levels[0][slot]; timer != null; ) {
+                Timer next = timer.next;
+                timer.cancel();
+                timer.due = true;
+                expired.add(timer);
+                timer = next;
+            }
+
+            for (int j = 0; j < expired.size(); j++) {
+                // Skip timers an earlier one cancelled or rescheduled
+                Timer timer = expired.get(j);
+                if (timer.due) {
+                    timer.due = false;
+                    timer.run();
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * Spreads out the current slot of each level whose lower level just completed a turn
+     */
+    private void cascade() {
+        int shift = ROOT_BITS;
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((now >>> shift) & LEVEL_MASK);
+            Timer timer = levels[level][slot];
+            levels[level][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                place(timer);
+                timer = next;
+            }
+
+            if (slot != 0) {
+                return;
+            }
+            shift += LEVEL_BITS;
+        }
+    }
+
+    /**
+     * Cancels every timer without running it
+     */
+    public void cancelAll() {
+        for (Timer[] slots : levels) {
+            for (int i = 0; i < slots.length; i++) {
+                for (Timer timer = slots[i]; timer != null; ) {
+                    Timer next = timer.next;
+                    timer.prev = null;
+                    timer.next = null;
+                    timer.wheel = null;
+                    timer = next;
+                }
+                slots[i] = null;
+            }
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Something to run after a delay; subclass and override {@link #run()} to
+     * carry state without a separate task object
+     */
+    public static class Timer {
+
+        private final @Nullable Runnable task;
+        private @Nullable TimerWheel wheel;
+        private @Nullable Timer prev;
+        private @Nullable Timer next;
+        private long deadline;
+        private int level;
+        private int slot;
+        private boolean due;
+
+        public Timer(@Nullable Runnable task) {
+            this.task = task;
+        }
+
+        protected Timer() {
+            this(null);
+        }
+
+        /**
+         * Runs when the timer comes due
+         */
+        protected void run() {
+            if (task != null) {
+                task.run();
+            }
+        }
+
+        /**
+         * @return False if the timer was not scheduled
+         */
+        public boolean cancel() {
+            boolean wasDue = due;
+            due = false;
+            TimerWheel owner = wheel;
+            if (owner == null) {
+                return wasDue;
+            }
+
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                owner.levels[level][slot] = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+            wheel = null;
+            owner.size--;
+            return true;
+        }
+
+        public boolean isScheduled() {
+            return wheel != null;
+        }
+    }
+}